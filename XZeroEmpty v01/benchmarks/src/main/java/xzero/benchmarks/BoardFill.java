@@ -0,0 +1,10 @@
+package xzero.benchmarks;
+
+/**
+ * Заполненность поля в бенчмарке
+ */
+public enum BoardFill {
+    EMPTY,
+    HALF,
+    NEAR_WIN
+}
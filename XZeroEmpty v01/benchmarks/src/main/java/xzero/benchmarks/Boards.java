@@ -0,0 +1,72 @@
+package xzero.benchmarks;
+
+import xzero.model.GameField;
+import xzero.model.Player;
+import xzero.model.factory.CellFactory;
+import xzero.model.labels.Label;
+import xzero.model.labels.NormalLabel;
+import xzero.model.setup.GridFieldInitializer;
+
+/**
+ * Подготовка типовых расстановок на поле для бенчмарков
+ */
+final class Boards {
+
+    private Boards() {
+    }
+
+    /**
+     * Создаёт поле заданной реализации и размера со всеми ячейками
+     */
+    static GameField prepared(FieldKind kind, int width, int height) {
+        GameField field = kind.create();
+        new GridFieldInitializer(width, height).prepare(field, new CellFactory());
+        return field;
+    }
+
+    /**
+     * Расставляет метки по заданному шаблону и возвращает метку последнего хода
+     *
+     * HALF - занята каждая вторая ячейка в шахматном порядке, владельцы чередуются парами
+     * вдоль диагоналей, поэтому ни одной линии длиннее двух меток нет;
+     * NEAR_WIN - в центре поля стоит горизонтальная линия из четырёх меток первого игрока
+     *
+     * @return метка последнего хода или null, если поле пустое
+     */
+    static Label fill(GameField field, BoardFill fill, Player first, Player second) {
+        Label last = null;
+        switch (fill) {
+            case HALF:
+                for (int y = 1; y <= field.height(); y++) {
+                    for (int x = 1; x <= field.width(); x++) {
+                        if ((x + y) % 2 == 0) {
+                            last = new NormalLabel(((x >> 1) & 1) == 0 ? first : second);
+                            field.setLabel(x, y, last);
+                        }
+                    }
+                }
+                break;
+            case NEAR_WIN:
+                int y = (field.height() + 1) / 2;
+                int from = Math.max(1, (field.width() + 1) / 2 - 2);
+                for (int x = from; x < from + 4 && x <= field.width(); x++) {
+                    last = new NormalLabel(first);
+                    field.setLabel(x, y, last);
+                }
+                break;
+            case EMPTY:
+            default:
+                break;
+        }
+        return last;
+    }
+
+    /**
+     * Убирает все метки с поля, сохраняя ячейки
+     */
+    static void removeLabels(GameField field) {
+        for (Label l : field.labels().toArray(new Label[0])) {
+            l.cell().removeLabel();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package xzero.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import xzero.model.GameField;
+import xzero.model.Player;
+import xzero.model.factory.CellFactory;
+import xzero.model.labels.NormalLabel;
+import xzero.model.setup.GridFieldInitializer;
+
+/**
+ * Подготовка поля через GridFieldInitializer.prepare, которую GameModel выполняет при каждом старте;
+ * в режиме reuse поле того же размера только очищается от меток сыгранной партии
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldInitializerBenchmark {
+
+    @Param({"5", "100", "1000"})
+    int size;
+
+    @Param({"GAME_FIELD", "BITBOARD", "TILED"})
+    FieldKind kind;
+
+    @Param({"false", "true"})
+    boolean reuse;
+
+    /** Количество меток, которые партия оставляет на поле перед новым стартом */
+    private static final int MOVES_PER_GAME = 20;
+
+    private GameField field;
+    private GridFieldInitializer initializer;
+    private CellFactory cellFactory;
+    private Player player;
+
+    @Setup
+    public void setup() {
+        field = kind.create();
+        initializer = new GridFieldInitializer(size, size, reuse);
+        cellFactory = new CellFactory();
+        player = new Player(field, "X");
+        initializer.prepare(field, cellFactory);
+    }
+
+    @Benchmark
+    public GameField prepare() {
+        initializer.prepare(field, cellFactory);
+        return field;
+    }
+
+    @Benchmark
+    public GameField prepareAfterGame() {
+        int moves = Math.min(MOVES_PER_GAME, size * size);
+        for (int i = 0; i < moves; i++) {
+            field.setLabel(field.x(i * 7 % (size * size)), field.y(i * 7 % (size * size)), new NormalLabel(player));
+        }
+        initializer.prepare(field, cellFactory);
+        return field;
+    }
+}
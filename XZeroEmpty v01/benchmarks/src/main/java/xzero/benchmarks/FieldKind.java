@@ -0,0 +1,31 @@
+package xzero.benchmarks;
+
+import xzero.model.BitboardGameField;
+import xzero.model.GameField;
+import xzero.model.TiledGameField;
+
+/**
+ * Реализации игрового поля, сравниваемые в бенчмарках
+ */
+public enum FieldKind {
+    GAME_FIELD,
+    BITBOARD,
+    TILED;
+
+    /**
+     * Создаёт пустое поле выбранной реализации
+     *
+     * @return новое игровое поле
+     */
+    public GameField create() {
+        switch (this) {
+            case BITBOARD:
+                return new BitboardGameField();
+            case TILED:
+                return new TiledGameField();
+            case GAME_FIELD:
+            default:
+                return new GameField();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package xzero.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import xzero.model.GameField;
+import xzero.model.Player;
+import xzero.model.labels.Label;
+import xzero.model.labels.NormalLabel;
+import xzero.model.navigation.Direction;
+
+/**
+ * Построение линии GameField.labelLine из центра поля в каждом из восьми направлений;
+ * в центре стоит «звезда» из линий длиной пять меток одного игрока
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LabelLineBenchmark {
+
+    private static final int LINE_LENGTH = 5;
+
+    @Param({"15", "1000"})
+    int size;
+
+    @Param({"GAME_FIELD", "BITBOARD", "TILED"})
+    FieldKind kind;
+
+    @Param({"0", "1", "2", "3", "4", "5", "6", "7"})
+    int direction;
+
+    private GameField field;
+    private Direction direct;
+    private int center;
+
+    @Setup
+    public void setup() {
+        field = Boards.prepared(kind, size, size);
+        Player player = new Player(field, "X");
+        center = (size + 1) / 2;
+
+        field.setLabel(center, center, new NormalLabel(player));
+        for (int i = 0; i < Direction.count(); i++) {
+            for (int step = 1; step < LINE_LENGTH; step++) {
+                field.setLabel(center + step * Direction.dx(i), center + step * Direction.dy(i),
+                        new NormalLabel(player));
+            }
+        }
+        direct = Direction.byIndex(direction);
+    }
+
+    @Benchmark
+    public List<Label> labelLine() {
+        return field.labelLine(center, center, direct);
+    }
+}
@@ -0,0 +1,61 @@
+package xzero.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import xzero.model.GameField;
+import xzero.model.Player;
+import xzero.model.labels.Label;
+
+/**
+ * Получение всех меток поля через GameField.labels() и меток одного игрока через Player.labels()
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LabelsBenchmark {
+
+    @Param({"5", "100", "1000"})
+    int size;
+
+    @Param({"EMPTY", "NEAR_WIN", "HALF"})
+    BoardFill fill;
+
+    @Param({"GAME_FIELD", "BITBOARD", "TILED"})
+    FieldKind kind;
+
+    private GameField field;
+    private Player xPlayer;
+
+    @Setup
+    public void setup() {
+        field = Boards.prepared(kind, size, size);
+        xPlayer = new Player(field, "X");
+        Boards.fill(field, fill, xPlayer, new Player(field, "O"));
+    }
+
+    @Benchmark
+    public List<Label> labels() {
+        return field.labels();
+    }
+
+    @Benchmark
+    public List<Label> playerLabels() {
+        return xPlayer.labels();
+    }
+}
@@ -0,0 +1,60 @@
+package xzero.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import xzero.model.GameField;
+import xzero.model.Player;
+import xzero.model.labels.NormalLabel;
+
+/**
+ * Установка метки игроком через Player.setLabelTo; ячейки обходятся по строкам,
+ * заполненное поле очищается без пересоздания ячеек
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerPlacementBenchmark {
+
+    @Param({"5", "100", "1000"})
+    int size;
+
+    @Param({"GAME_FIELD", "BITBOARD", "TILED"})
+    FieldKind kind;
+
+    private GameField field;
+    private Player player;
+    private int index;
+
+    @Setup
+    public void setup() {
+        field = Boards.prepared(kind, size, size);
+        player = new Player(field, "X");
+        index = 0;
+    }
+
+    @Benchmark
+    public void setLabelTo() {
+        if (index == size * size) {
+            Boards.removeLabels(field);
+            index = 0;
+        }
+        player.setActiveLabel(new NormalLabel(player));
+        player.setLabelTo(index % size + 1, index / size + 1);
+        index++;
+    }
+}
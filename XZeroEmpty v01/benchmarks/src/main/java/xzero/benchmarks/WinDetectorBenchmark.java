@@ -0,0 +1,78 @@
+package xzero.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import xzero.model.Cell;
+import xzero.model.GameField;
+import xzero.model.Player;
+import xzero.model.labels.Label;
+import xzero.model.win.FullScanWinDetector;
+import xzero.model.win.IncrementalWinDetector;
+import xzero.model.win.WinDetector;
+
+/**
+ * Определение победителя после хода (то, что GameModel делает после каждой установки метки)
+ * на пустом, наполовину заполненном и почти выигранном полях
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WinDetectorBenchmark {
+
+    /**
+     * Стратегия определения победителя
+     */
+    public enum Strategy {
+        FULL_SCAN,
+        INCREMENTAL
+    }
+
+    private static final int WINNER_LINE_LENGTH = 5;
+
+    @Param({"5", "50", "500", "1000"})
+    int size;
+
+    @Param({"EMPTY", "HALF", "NEAR_WIN"})
+    BoardFill fill;
+
+    @Param({"FULL_SCAN", "INCREMENTAL"})
+    Strategy strategy;
+
+    @Param({"GAME_FIELD", "BITBOARD", "TILED"})
+    FieldKind kind;
+
+    private GameField field;
+    private WinDetector detector;
+    private Cell lastMove;
+
+    @Setup
+    public void setup() {
+        field = Boards.prepared(kind, size, size);
+        Label last = Boards.fill(field, fill, new Player(field, "X"), new Player(field, "O"));
+        lastMove = last == null ? null : last.cell();
+
+        detector = strategy == Strategy.FULL_SCAN
+                ? new FullScanWinDetector(WINNER_LINE_LENGTH)
+                : new IncrementalWinDetector(WINNER_LINE_LENGTH);
+    }
+
+    @Benchmark
+    public Player determineWinner() {
+        return detector.winnerAfter(field, lastMove);
+    }
+}
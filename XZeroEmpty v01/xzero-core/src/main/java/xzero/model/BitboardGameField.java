@@ -0,0 +1,198 @@
+package xzero.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import xzero.model.labels.Label;
+import xzero.model.navigation.Direction;
+
+/**
+ * Прямоугольное игровое поле для больших досок: помимо плотного массива ячеек
+ * занятость и владельцы меток хранятся в битовых картах (по строкам, один бит на ячейку)
+ */
+public class BitboardGameField extends GameField {
+    private long[] _occupied = new long[0];
+    private final Map<Player, long[]> _ownerBoards = new HashMap<>();
+
+    // ------------------------------ Ячейки ---------------------------------------
+    /**
+     * Устанавливает ячейку в позицию с указанными координатами
+     *
+     * @param x номер столбца
+     * @param y номер строки
+     * @param cell ячейка
+     *
+     * @throws IllegalArgumentException если ячейка равна null
+     * @throws IndexOutOfBoundsException если позиция выходит за пределы поля
+     */
+    @Override
+    public void setCell(int x, int y, Cell cell) {
+        super.setCell(x, y, cell);
+
+        int i = index(x, y);
+        clearBits(i);
+        if (cell.label() != null) {
+            setBits(i, cell.label().owner());
+        }
+    }
+
+    /**
+     * Очищает игровое поле, удаляя все ячейки
+     */
+    @Override
+    public void clear() {
+        super.clear();
+        Arrays.fill(_occupied, 0L);
+        _ownerBoards.clear();
+    }
+
+    // ------------------------------ Метки ---------------------------------------
+    /**
+     * Возвращает метку, размещённую в ячейке с указанным упакованным индексом
+     *
+     * @param index индекс позиции
+     * @return метка или null, если ячейка пуста или не существует
+     */
+    @Override
+    public Label label(int index) {
+        return containsIndex(index) && isSet(_occupied, index) ? cell(index).label() : null;
+    }
+
+    /**
+     * Возвращает последовательность меток одного игрока в заданном направлении,
+     * проверяя принадлежность по битовой карте владельца
+     *
+     * @param x номер столбца начальной позиции
+     * @param y номер строки начальной позиции
+     * @param direct направление поиска
+     * @return список меток, образующих линию
+     */
+    @Override
+    public List<Label> labelLine(int x, int y, Direction direct) {
+        ArrayList<Label> line = new ArrayList<>();
+        if (!containsRange(x, y)) {
+            return line;
+        }
+
+        int i = index(x, y);
+        if (!isSet(_occupied, i)) {
+            return line;
+        }
+
+        Label first = cell(i).label();
+        line.add(first);
+        long[] board = _ownerBoards.get(first.owner());
+
+        int dx = direct.dx();
+        int dy = direct.dy();
+        x += dx;
+        y += dy;
+        while (containsRange(x, y)) {
+            i = index(x, y);
+            if (!isSet(board, i)) {
+                break;
+            }
+            line.add(cell(i).label());
+
+            x += dx;
+            y += dy;
+        }
+
+        return line;
+    }
+
+    /**
+     * Обновляет битовые карты при размещении метки в ячейке поля
+     *
+     * @param cell ячейка, получившая метку
+     */
+    @Override
+    void labelPlaced(Cell cell) {
+        super.labelPlaced(cell);
+        int i = indexOf(cell);
+        if (i >= 0) {
+            setBits(i, cell.label().owner());
+        }
+    }
+
+    /**
+     * Обновляет битовые карты при удалении метки из ячейки поля
+     *
+     * @param cell ячейка, из которой удалена метка
+     * @param label удалённая метка
+     */
+    @Override
+    void labelRemoved(Cell cell, Label label) {
+        int i = indexOf(cell);
+        if (i >= 0) {
+            clearBits(i);
+        }
+    }
+
+    // ----------------------- Ширина и высота поля ------------------------------
+    /**
+     * Устанавливает размеры игрового поля, сохраняя ячейки, попадающие в новые границы
+     *
+     * @param width ширина поля
+     * @param height высота поля
+     */
+    @Override
+    public void setSize(int width, int height) {
+        super.setSize(width, height);
+        rebuildBoards();
+    }
+
+    // ---------------------------- Битовые карты ---------------------------------
+    /**
+     * Заново строит битовые карты по текущему содержимому ячеек
+     */
+    private void rebuildBoards() {
+        int count = width() * height();
+        _occupied = new long[(count + 63) >>> 6];
+        _ownerBoards.clear();
+
+        for (int i = 0; i < count; i++) {
+            Cell obj = cell(i);
+            if (obj != null && obj.label() != null) {
+                setBits(i, obj.label().owner());
+            }
+        }
+    }
+
+    /**
+     * Возвращает номер бита ячейки или -1, если ячейка не принадлежит этому полю
+     */
+    private int indexOf(Cell cell) {
+        int x = cell.x();
+        int y = cell.y();
+        return cell(x, y) == cell ? index(x, y) : -1;
+    }
+
+    private static boolean isSet(long[] board, int i) {
+        return board != null && (board[i >>> 6] & (1L << i)) != 0;
+    }
+
+    private void setBits(int i, Player owner) {
+        _occupied[i >>> 6] |= 1L << i;
+        _ownerBoards.computeIfAbsent(owner, p -> new long[_occupied.length])[i >>> 6] |= 1L << i;
+    }
+
+    private void clearBits(int i) {
+        long mask = ~(1L << i);
+        _occupied[i >>> 6] &= mask;
+        for (long[] board : _ownerBoards.values()) {
+            board[i >>> 6] &= mask;
+        }
+    }
+
+    // ----------------------------------------------------------------------------
+    /**
+     * Создаёт игровое поле с размерами по умолчанию
+     */
+    public BitboardGameField() {
+        rebuildBoards();
+    }
+}
@@ -0,0 +1,404 @@
+package xzero.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+import xzero.model.factory.LabelFactory;
+import xzero.model.labels.DelegatedLabel;
+import xzero.model.labels.HiddenLabel;
+import xzero.model.labels.Label;
+import xzero.model.labels.LabelType;
+
+/**
+ * Неизменяемый снимок расстановки меток на поле. Каждая ячейка упакована в один байт:
+ * номер владельца, номер игрока, поставившего метку, и тип метки; номера игроков
+ * задаются их порядком в списке, по которому снят снимок. Строки хранятся отдельными
+ * массивами, поэтому снимок с одним дополнительным ходом копирует только одну строку,
+ * а остальные разделяет с исходным снимком; все строки без меток ссылаются на один общий
+ * пустой массив. Снимок помнит начало координат поля, поэтому позиции задаются теми же
+ * координатами, что и на поле, в том числе отрицательными для неограниченного поля
+ */
+public final class BoardSnapshot {
+
+    /** Наибольшее количество игроков, номера которых помещаются в упакованную ячейку */
+    public static final int MAX_PLAYERS = 8;
+
+    private static final int TYPE_BITS = 2;
+    private static final int PLAYER_BITS = 3;
+    private static final int TYPE_MASK = (1 << TYPE_BITS) - 1;
+    private static final int PLAYER_MASK = (1 << PLAYER_BITS) - 1;
+    private static final LabelType[] TYPES = LabelType.values();
+
+    private final int _left;
+    private final int _top;
+    private final int _width;
+    private final int _height;
+    private final byte[][] _rows;
+    private final byte[] _emptyRow;
+    private final int _labelCount;
+
+    private BoardSnapshot(int left, int top, int width, int height, byte[][] rows, byte[] emptyRow,
+                          int labelCount) {
+        _left = left;
+        _top = top;
+        _width = width;
+        _height = height;
+        _rows = rows;
+        _emptyRow = emptyRow;
+        _labelCount = labelCount;
+    }
+
+    /**
+     * Создаёт пустой снимок поля заданного размера с позициями, начинающимися с (1, 1)
+     *
+     * @param width ширина поля
+     * @param height высота поля
+     * @return снимок без меток
+     *
+     * @throws IllegalArgumentException если размер не положителен
+     */
+    public static BoardSnapshot empty(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("BoardSnapshot: размер поля должен быть положительным");
+        }
+        byte[] emptyRow = new byte[width];
+        byte[][] rows = new byte[height][];
+        Arrays.fill(rows, emptyRow);
+        return new BoardSnapshot(1, 1, width, height, rows, emptyRow, 0);
+    }
+
+    /**
+     * Снимает расстановку меток с поля; просматриваются только занятые ячейки,
+     * которые поле перечисляет через labels()
+     *
+     * @param field игровое поле
+     * @param players игроки в порядке, задающем их номера
+     * @return снимок поля
+     *
+     * @throws IllegalArgumentException если поле или список игроков не заданы, игроков
+     * больше MAX_PLAYERS или владелец метки отсутствует в списке
+     */
+    public static BoardSnapshot of(GameField field, List<Player> players) {
+        if (field == null || players == null) {
+            throw new IllegalArgumentException("BoardSnapshot: поле и игроки должны быть заданы");
+        }
+        checkPlayerCount(players.size());
+
+        int left = firstColumn(field);
+        int top = firstRow(field);
+        int width = field.width();
+        byte[] emptyRow = new byte[width];
+        byte[][] rows = new byte[field.height()][];
+        Arrays.fill(rows, emptyRow);
+
+        int count = 0;
+        for (Label label : field.labels()) {
+            Cell cell = label.cell();
+            int row = cell.y() - top;
+            if (rows[row] == emptyRow) {
+                rows[row] = new byte[width];
+            }
+            rows[row][cell.x() - left] = encode(label, players);
+            count++;
+        }
+        return new BoardSnapshot(left, top, width, field.height(), rows, emptyRow, count);
+    }
+
+    /**
+     * Возвращает снимок с добавленной меткой; исходный снимок не меняется
+     *
+     * @param x номер столбца
+     * @param y номер строки
+     * @param owner номер владельца метки
+     * @param placedBy номер игрока, поставившего метку
+     * @param type тип метки
+     * @return новый снимок, разделяющий с исходным все строки, кроме строки y
+     *
+     * @throws IllegalArgumentException если позиция вне поля или занята, номера игроков
+     * вне диапазона [0, MAX_PLAYERS) или тип не задан
+     */
+    public BoardSnapshot withLabel(int x, int y, int owner, int placedBy, LabelType type) {
+        checkPosition(x, y);
+        if (!isEmpty(x, y)) {
+            throw new IllegalArgumentException("BoardSnapshot: ячейка (" + x + ", " + y + ") уже занята");
+        }
+        if (type == null) {
+            throw new IllegalArgumentException("BoardSnapshot: тип метки не может быть null");
+        }
+        byte[][] rows = _rows.clone();
+        rows[y - _top] = _rows[y - _top].clone();
+        rows[y - _top][x - _left] = pack(owner, placedBy, type);
+        return new BoardSnapshot(_left, _top, _width, _height, rows, _emptyRow, _labelCount + 1);
+    }
+
+    /**
+     * Возвращает снимок без метки в указанной ячейке; исходный снимок не меняется
+     *
+     * @param x номер столбца
+     * @param y номер строки
+     * @return новый снимок или этот же снимок, если ячейка пуста
+     *
+     * @throws IllegalArgumentException если позиция вне поля
+     */
+    public BoardSnapshot withoutLabel(int x, int y) {
+        checkPosition(x, y);
+        if (isEmpty(x, y)) {
+            return this;
+        }
+        byte[][] rows = _rows.clone();
+        rows[y - _top] = _rows[y - _top].clone();
+        rows[y - _top][x - _left] = 0;
+        return new BoardSnapshot(_left, _top, _width, _height, rows, _emptyRow, _labelCount - 1);
+    }
+
+    /**
+     * Переносит расстановку меток снимка на поле того же размера, создавая метки фабрикой
+     * по умолчанию
+     *
+     * @param field игровое поле
+     * @param players игроки в порядке, задающем их номера
+     *
+     * @throws IllegalArgumentException если поле или игроки не заданы, размер или начало
+     * координат поля отличаются от снимка или в снимке есть номер игрока вне списка
+     */
+    public void restoreInto(GameField field, List<Player> players) {
+        restoreInto(field, players, new LabelFactory());
+    }
+
+    /**
+     * Переносит расстановку меток снимка на поле того же размера; ячейки, совпадающие
+     * со снимком, не затрагиваются. Снимаемые метки находятся по меткам поля, а ставятся
+     * только в строки снимка, в которых есть метки, поэтому время зависит от количества
+     * меток и занятых строк, а не от площади поля
+     *
+     * @param field игровое поле
+     * @param players игроки в порядке, задающем их номера
+     * @param factory фабрика, создающая недостающие метки
+     *
+     * @throws IllegalArgumentException если поле, игроки или фабрика не заданы, размер
+     * или начало координат поля отличаются от снимка или в снимке есть номер игрока вне списка
+     */
+    public void restoreInto(GameField field, List<Player> players, LabelFactory factory) {
+        if (field == null || players == null || factory == null) {
+            throw new IllegalArgumentException("BoardSnapshot: поле, игроки и фабрика меток должны быть заданы");
+        }
+        if (field.width() != _width || field.height() != _height
+                || firstColumn(field) != _left || firstRow(field) != _top) {
+            throw new IllegalArgumentException("BoardSnapshot: размер поля не совпадает с размером снимка");
+        }
+
+        // labels() возвращает неизменяемый снимок, поэтому метки можно снимать во время перебора
+        for (Label label : field.labels()) {
+            Cell cell = label.cell();
+            if (code(cell.x(), cell.y()) != encode(label, players)) {
+                cell.removeLabel();
+            }
+        }
+
+        for (int row = 0; row < _height; row++) {
+            byte[] cells = _rows[row];
+            if (cells == _emptyRow) {
+                continue;
+            }
+            for (int col = 0; col < _width; col++) {
+                int code = cells[col] & 0xFF;
+                if (code == 0 || field.label(_left + col, _top + row) != null) {
+                    continue;
+                }
+                Player owner = players.get(ownerOf(code));
+                Label label = factory.createLabel(owner, typeOf(code));
+                label.setPlacedBy(players.get(placedByOf(code)));
+                field.setLabel(_left + col, _top + row, label);
+            }
+        }
+    }
+
+    /**
+     * Ширина поля снимка
+     *
+     * @return количество столбцов
+     */
+    public int width() {
+        return _width;
+    }
+
+    /**
+     * Высота поля снимка
+     *
+     * @return количество строк
+     */
+    public int height() {
+        return _height;
+    }
+
+    /**
+     * Количество меток в снимке
+     *
+     * @return количество занятых ячеек
+     */
+    public int labelCount() {
+        return _labelCount;
+    }
+
+    /**
+     * Признак пустой ячейки
+     *
+     * @param x номер столбца
+     * @param y номер строки
+     * @return true, если в ячейке нет метки
+     *
+     * @throws IllegalArgumentException если позиция вне поля
+     */
+    public boolean isEmpty(int x, int y) {
+        checkPosition(x, y);
+        return code(x, y) == 0;
+    }
+
+    /**
+     * Номер владельца метки в ячейке
+     *
+     * @param x номер столбца
+     * @param y номер строки
+     * @return номер владельца или -1, если ячейка пуста
+     *
+     * @throws IllegalArgumentException если позиция вне поля
+     */
+    public int owner(int x, int y) {
+        checkPosition(x, y);
+        int code = code(x, y);
+        return code == 0 ? -1 : ownerOf(code);
+    }
+
+    /**
+     * Номер игрока, поставившего метку в ячейку
+     *
+     * @param x номер столбца
+     * @param y номер строки
+     * @return номер игрока или -1, если ячейка пуста
+     *
+     * @throws IllegalArgumentException если позиция вне поля
+     */
+    public int placedBy(int x, int y) {
+        checkPosition(x, y);
+        int code = code(x, y);
+        return code == 0 ? -1 : placedByOf(code);
+    }
+
+    /**
+     * Тип метки в ячейке
+     *
+     * @param x номер столбца
+     * @param y номер строки
+     * @return тип метки или null, если ячейка пуста
+     *
+     * @throws IllegalArgumentException если позиция вне поля
+     */
+    public LabelType labelType(int x, int y) {
+        checkPosition(x, y);
+        int code = code(x, y);
+        return code == 0 ? null : typeOf(code);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof BoardSnapshot)) {
+            return false;
+        }
+        BoardSnapshot snapshot = (BoardSnapshot) other;
+        if (_left != snapshot._left || _top != snapshot._top || _width != snapshot._width
+                || _height != snapshot._height || _labelCount != snapshot._labelCount) {
+            return false;
+        }
+        for (int row = 0; row < _height; row++) {
+            byte[] cells = _rows[row];
+            byte[] same = snapshot._rows[row];
+            boolean bothEmpty = cells == _emptyRow && same == snapshot._emptyRow;
+            if (!bothEmpty && cells != same && !Arrays.equals(cells, same)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 31 * (31 * (31 * _left + _top) + _width) + _height;
+        int emptyHash = Arrays.hashCode(_emptyRow);
+        for (byte[] row : _rows) {
+            hash = 31 * hash + (row == _emptyRow ? emptyHash : Arrays.hashCode(row));
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "BoardSnapshot{" + _width + "x" + _height + ", labels=" + _labelCount + "}";
+    }
+
+    private int code(int x, int y) {
+        return _rows[y - _top][x - _left] & 0xFF;
+    }
+
+    private void checkPosition(int x, int y) {
+        if (x < _left || y < _top || x - _left >= _width || y - _top >= _height) {
+            throw new IllegalArgumentException("BoardSnapshot: позиция (" + x + ", " + y + ") вне поля");
+        }
+    }
+
+    // Начало координат поля; позиции поля без ячеек отсчитываются с единицы
+    private static int firstColumn(GameField field) {
+        return field.containsIndex(0) ? field.x(0) : 1;
+    }
+
+    private static int firstRow(GameField field) {
+        return field.containsIndex(0) ? field.y(0) : 1;
+    }
+
+    private static void checkPlayerCount(int count) {
+        if (count > MAX_PLAYERS) {
+            throw new IllegalArgumentException("BoardSnapshot: поддерживается не больше " + MAX_PLAYERS + " игроков");
+        }
+    }
+
+    private static byte encode(Label label, List<Player> players) {
+        int owner = players.indexOf(label.owner());
+        if (owner < 0) {
+            throw new IllegalArgumentException("BoardSnapshot: владелец метки отсутствует в списке игроков");
+        }
+        int placedBy = label.getPlacedBy() == null ? owner : players.indexOf(label.getPlacedBy());
+        return pack(owner, placedBy < 0 ? owner : placedBy, typeOf(label));
+    }
+
+    private static byte pack(int owner, int placedBy, LabelType type) {
+        if (owner < 0 || owner >= MAX_PLAYERS || placedBy < 0 || placedBy >= MAX_PLAYERS) {
+            throw new IllegalArgumentException("BoardSnapshot: номер игрока вне диапазона [0, " + MAX_PLAYERS + ")");
+        }
+        // Тип хранится со сдвигом на единицу, поэтому нулевой байт означает пустую ячейку
+        return (byte) ((owner << PLAYER_BITS | placedBy) << TYPE_BITS | (type.ordinal() + 1));
+    }
+
+    private static int ownerOf(int code) {
+        return code >>> (TYPE_BITS + PLAYER_BITS);
+    }
+
+    private static int placedByOf(int code) {
+        return code >>> TYPE_BITS & PLAYER_MASK;
+    }
+
+    private static LabelType typeOf(int code) {
+        return TYPES[(code & TYPE_MASK) - 1];
+    }
+
+    private static LabelType typeOf(Label label) {
+        if (label instanceof DelegatedLabel) {
+            return LabelType.DELEGATED;
+        }
+        if (label instanceof HiddenLabel) {
+            return LabelType.HIDDEN;
+        }
+        return LabelType.NORMAL;
+    }
+}
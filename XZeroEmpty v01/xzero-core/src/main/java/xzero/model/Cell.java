@@ -10,7 +10,8 @@ import java.awt.Point;
  */
 public class Cell {
     // --------------------- Позиция метки -----------------------
-    private Point _position;
+    private int _x;
+    private int _y;
 
     /**
      * Устанавливает позицию ячейки на игровом поле
@@ -23,7 +24,18 @@ public class Cell {
         if (pos == null) {
             throw new IllegalArgumentException("Позиция ячейки не может быть null");
         }
-        _position = new Point(pos);
+        setPosition(pos.x, pos.y);
+    }
+
+    /**
+     * Устанавливает координаты ячейки на игровом поле
+     *
+     * @param x номер столбца
+     * @param y номер строки
+     */
+    public void setPosition(int x, int y){
+        _x = x;
+        _y = y;
     }
 
     /**
@@ -32,12 +44,33 @@ public class Cell {
      * @return позиция ячейки
      */
     public Point position(){
-        return (Point)_position.clone();
+        return new Point(_x, _y);
+    }
+
+    /**
+     * Возвращает горизонтальную координату ячейки без копирования позиции
+     *
+     * @return номер столбца
+     */
+    public int x(){
+        return _x;
+    }
+
+    /**
+     * Возвращает вертикальную координату ячейки без копирования позиции
+     *
+     * @return номер строки
+     */
+    public int y(){
+        return _y;
     }
 
     // --------- Поле, которому принадлежит ячейка. Задает само поле --------------
     private GameField _field;
 
+    // Место ячейки в индексе меток поля по владельцам; -1, если ячейка в индексе отсутствует
+    int _indexSlot = -1;
+
     /**
      * Устанавливает игровое поле, к которому принадлежит ячейка
      *
@@ -81,16 +114,29 @@ public class Cell {
 
         _label = label;
         label.setCell(this);
+
+        if (_field != null) {
+            _field.cellLabelPlaced(this);
+        }
     }
 
     /**
-     * Удаляет метку из ячейки с разрывом двусторонней связи
+     * Удаляет метку из ячейки с разрывом двусторонней связи; ячейка покидает индекс меток
+     * поля раньше, чем из неё снимается метка, поэтому читатели индекса из других потоков
+     * не встречают в нём пустую ячейку
      */
     public void removeLabel() {
         if (_label != null) {
             Label old = _label;
+            if (_field != null) {
+                _field.cellLabelRemoving(this, old);
+            }
             _label = null;
             old.unsetCell();
+
+            if (_field != null) {
+                _field.cellLabelRemoved(this, old);
+            }
         }
     }
 
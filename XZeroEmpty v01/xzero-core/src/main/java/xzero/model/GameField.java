@@ -0,0 +1,686 @@
+package xzero.model;
+
+import java.util.List;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import xzero.model.labels.Label;
+import xzero.model.navigation.Direction;
+import xzero.model.win.PatternIndex;
+
+/**
+ *  Прямоугольное игровое поле, состоящее из ячеек и размещённых в них меток.
+ *  Позиции задаются либо точкой, либо парой координат (x, y), начиная с 1, либо
+ *  упакованным индексом (y - 1) * width + (x - 1); перегрузки с примитивными
+ *  аргументами не создают промежуточных объектов
+ */
+public class GameField {
+    // ------------------------------ Ячейки ---------------------------------------
+    // Ячейки хранятся построчно, индекс ячейки совпадает с упакованным индексом позиции
+    private Cell[] _cellPool = new Cell[0];
+    // Признак поля, ячейки которого лежат в массиве базового класса; наследник со своим
+    // хранилищем ячеек массив не использует, а размеры поля берёт у базового класса
+    private final boolean _pooled;
+
+    /**
+     * Возвращает ячейку по указанной позиции
+     *
+     * @param pos позиция ячейки
+     * @return ячейка или null, если позиция пуста или некорректна
+     */
+    Cell cell(Point pos) {
+        if (pos == null) {
+            return null;
+        }
+        return cell(pos.x, pos.y);
+    }
+
+    /**
+     * Возвращает ячейку по указанным координатам
+     *
+     * @param x номер столбца
+     * @param y номер строки
+     * @return ячейка или null, если позиция пуста или некорректна
+     */
+    Cell cell(int x, int y) {
+        return containsRange(x, y) ? _cellPool[index(x, y)] : null;
+    }
+
+    /**
+     * Возвращает ячейку по упакованному индексу
+     *
+     * @param index индекс позиции
+     * @return ячейка или null, если позиция пуста или некорректна
+     */
+    Cell cell(int index) {
+        return containsIndex(index) ? _cellPool[index] : null;
+    }
+
+    /**
+     * Устанавливает ячейку в указанную позицию игрового поля
+     *
+     * @param pos позиция ячейки
+     * @param cell ячейка
+     *
+     * @throws IllegalArgumentException если позиция или ячейка равны null
+     * @throws IndexOutOfBoundsException если позиция выходит за пределы поля
+     */
+    public void setCell(Point pos, Cell cell) {
+        if (pos == null) {
+            throw new IllegalArgumentException("Позиция ячейки не может быть null");
+        }
+        setCell(pos.x, pos.y, cell);
+    }
+
+    /**
+     * Устанавливает ячейку в позицию с указанными координатами
+     *
+     * @param x номер столбца
+     * @param y номер строки
+     * @param cell ячейка
+     *
+     * @throws IllegalArgumentException если ячейка равна null
+     * @throws IndexOutOfBoundsException если позиция выходит за пределы поля
+     */
+    public void setCell(int x, int y, Cell cell) {
+        if (cell == null) {
+            throw new IllegalArgumentException("Ячейка не может быть null");
+        }
+        if (!containsRange(x, y)) {
+            throw new IndexOutOfBoundsException("Позиция вне поля: (" + x + ", " + y + ")");
+        }
+
+        cell.setField(this);
+        cell.setPosition(x, y);
+
+        int index = index(x, y);
+        if (_cellPool[index] == null) {
+            _filledCount++;
+        }
+        reindexCell(_cellPool[index], cell);
+        _cellPool[index] = cell;
+        if (!cell.isEmpty()) {
+            markDirty(index);
+        }
+    }
+
+    /**
+     * Очищает игровое поле, удаляя все ячейки
+     */
+    public void clear(){
+        Arrays.fill(_cellPool, null);
+        _filledCount = 0;
+        _dirtyCount = 0;
+        clearLabelIndex();
+    }
+
+    // Количество позиций, в которые уже поставлены ячейки
+    private int _filledCount;
+
+    /**
+     * Признак поля, во всех позициях которого есть ячейки
+     *
+     * @return true, если ячейка есть в каждой позиции поля
+     */
+    public boolean isFilled() {
+        return _filledCount == _cellPool.length;
+    }
+
+    // Индексы ячеек, получавших метки после последней очистки; могут повторяться
+    // и указывать на уже освободившиеся ячейки
+    private int[] _dirtyCells = new int[16];
+    private int _dirtyCount;
+
+    /**
+     * Удаляет все метки, сохраняя ячейки; просматриваются только ячейки, получавшие метки
+     * после предыдущей очистки, поэтому стоимость пропорциональна числу сделанных ходов
+     */
+    public void clearLabels() {
+        for (int i = 0; i < _dirtyCount; i++) {
+            Cell cell = _cellPool[_dirtyCells[i]];
+            if (cell != null) {
+                cell.removeLabel();
+            }
+        }
+        _dirtyCount = 0;
+    }
+
+    /**
+     * Запоминает индекс ячейки, получившей метку; когда список дорастает до размера поля,
+     * он пересобирается из занятых ячеек, чтобы повторы не накапливались
+     */
+    private void markDirty(int index) {
+        if (_dirtyCount == _dirtyCells.length) {
+            if (_dirtyCount >= _cellPool.length) {
+                rebuildDirtyCells();
+            }
+            if (_dirtyCount == _dirtyCells.length) {
+                _dirtyCells = Arrays.copyOf(_dirtyCells, _dirtyCells.length * 2);
+            }
+        }
+        _dirtyCells[_dirtyCount++] = index;
+    }
+
+    /**
+     * Пересобирает список ячеек с метками просмотром всего поля
+     */
+    private void rebuildDirtyCells() {
+        _dirtyCount = 0;
+        if (_dirtyCells.length < _cellPool.length) {
+            _dirtyCells = new int[_cellPool.length];
+        }
+        for (int i = 0; i < _cellPool.length; i++) {
+            if (_cellPool[i] != null && !_cellPool[i].isEmpty()) {
+                _dirtyCells[_dirtyCount++] = i;
+            }
+        }
+    }
+
+    // ------------------------------ Метки ---------------------------------------
+    /**
+     * Возвращает метку, размещённую в ячейке по указанной позиции
+     *
+     * @param pos позиция ячейки
+     * @return метка или null, если ячейка пуста или не существует
+     */
+    public Label label(Point pos) {
+        if (pos == null) {
+            return null;
+        }
+        return label(pos.x, pos.y);
+    }
+
+    /**
+     * Возвращает метку, размещённую в ячейке с указанными координатами
+     *
+     * @param x номер столбца
+     * @param y номер строки
+     * @return метка или null, если ячейка пуста или не существует
+     */
+    public Label label(int x, int y) {
+        Cell obj = cell(x, y);
+        if(obj != null)     return obj.label();
+
+        return null;
+    }
+
+    /**
+     * Возвращает метку, размещённую в ячейке с указанным упакованным индексом
+     *
+     * @param index индекс позиции
+     * @return метка или null, если ячейка пуста или не существует
+     */
+    public Label label(int index) {
+        Cell obj = cell(index);
+        if(obj != null)     return obj.label();
+
+        return null;
+    }
+
+    /**
+     * Устанавливает метку в ячейку по указанной позиции
+     *
+     * @param pos позиция установки метки
+     * @param label метка
+     *
+     * @throws IllegalArgumentException если метка или позиция равны null
+     * @throws IndexOutOfBoundsException если позиция выходит за пределы поля
+     * @throws IllegalStateException если ячейка не создана или метка уже установлена в другой ячейке
+     */
+    public void setLabel(Point pos, Label label) {
+        if (pos == null) {
+            throw new IllegalArgumentException("Позиция метки не может быть null");
+        }
+        setLabel(pos.x, pos.y, label);
+    }
+
+    /**
+     * Устанавливает метку в ячейку с указанными координатами
+     *
+     * @param x номер столбца
+     * @param y номер строки
+     * @param label метка
+     *
+     * @throws IllegalArgumentException если метка равна null
+     * @throws IndexOutOfBoundsException если позиция выходит за пределы поля
+     * @throws IllegalStateException если ячейка не создана или метка уже установлена в другой ячейке
+     */
+    public void setLabel(int x, int y, Label label) {
+        if (label == null) {
+            throw new IllegalArgumentException("Нельзя установить null-метку");
+        }
+        if (!containsRange(x, y)) {
+            throw new IndexOutOfBoundsException("Позиция вне поля: (" + x + ", " + y + ")");
+        }
+        setLabel(index(x, y), label);
+    }
+
+    /**
+     * Устанавливает метку в ячейку с указанным упакованным индексом
+     *
+     * @param index индекс позиции
+     * @param label метка
+     *
+     * @throws IllegalArgumentException если метка равна null
+     * @throws IndexOutOfBoundsException если индекс выходит за пределы поля
+     * @throws IllegalStateException если ячейка не создана или метка уже установлена в другой ячейке
+     */
+    public void setLabel(int index, Label label) {
+        if (label == null) {
+            throw new IllegalArgumentException("Нельзя установить null-метку");
+        }
+        if (!containsIndex(index)) {
+            throw new IndexOutOfBoundsException("Индекс вне поля: " + index);
+        }
+        Cell obj = _cellPool[index];
+        if (obj == null) {
+            throw new IllegalStateException("Ячейка по позиции (" + x(index) + ", " + y(index) + ") не создана");
+        }
+        if (label.cell() != null && label.cell() != obj) {
+            throw new IllegalStateException("Эта метка уже установлена в другой ячейке");
+        }
+        obj.placeLabel(label);
+    }
+
+    /**
+     * Возвращает список всех меток, размещённых на поле. Список строится по индексу меток
+     * за время, пропорциональное их количеству, и только при первом запросе после изменения
+     * поля; это неизменяемый снимок, который не затрагивается последующими ходами, поэтому
+     * его можно хранить и читать из других потоков. Метки одного владельца идут подряд
+     *
+     * @return неизменяемый снимок меток
+     */
+    public List<Label> labels() {
+        return _labelIndex.all();
+    }
+
+    /**
+     * Возвращает последовательность меток одного игрока в заданном направлении
+     *
+     * @param start начальная позиция
+     * @param direct направление поиска
+     * @return список меток, образующих линию
+     */
+    public List<Label> labelLine(Point start, Direction direct) {
+        return labelLine(start.x, start.y, direct);
+    }
+
+    /**
+     * Возвращает последовательность меток одного игрока в заданном направлении
+     *
+     * @param index упакованный индекс начальной позиции
+     * @param direct направление поиска
+     * @return список меток, образующих линию
+     */
+    public List<Label> labelLine(int index, Direction direct) {
+        if (!containsIndex(index)) {
+            return new ArrayList<>();
+        }
+        return labelLine(x(index), y(index), direct);
+    }
+
+    /**
+     * Возвращает последовательность меток одного игрока в заданном направлении
+     *
+     * @param x номер столбца начальной позиции
+     * @param y номер строки начальной позиции
+     * @param direct направление поиска
+     * @return список меток, образующих линию
+     */
+    public List<Label> labelLine(int x, int y, Direction direct) {
+        ArrayList<Label> line = new ArrayList<>();
+        boolean isLineFinished = false;
+        Player startPlayer = null;
+
+        Label l = label(x, y);
+
+        isLineFinished = (l == null);
+        if(!isLineFinished) {
+            line.add(l);
+            startPlayer = line.get(0).owner();
+        }
+
+        int dx = direct.dx();
+        int dy = direct.dy();
+        x += dx;
+        y += dy;
+        while(!isLineFinished && containsRange(x, y)) {
+            l = label(x, y);
+            isLineFinished = (l == null || !l.owner().equals(startPlayer));
+
+            if(!isLineFinished) {
+                line.add(l);
+            }
+
+            x += dx;
+            y += dy;
+        }
+
+        return line;
+    }
+
+    // ------------------------ Метки по владельцам -------------------------------
+    private final LabelIndex _labelIndex = new LabelIndex();
+
+    /**
+     * Возвращает метки указанного владельца; время пропорционально количеству его меток,
+     * а не размеру поля
+     *
+     * @param owner владелец меток
+     * @return неизменяемый снимок меток, не зависящий от последующих изменений поля
+     */
+    public List<Label> labelsOf(Player owner) {
+        return _labelIndex.of(owner);
+    }
+
+    /**
+     * Количество меток указанного владельца на поле
+     *
+     * @param owner владелец меток
+     * @return количество меток
+     */
+    public int labelCountOf(Player owner) {
+        return _labelIndex.count(owner);
+    }
+
+    /**
+     * Передаёт действию каждую метку указанного владельца, не создавая промежуточных
+     * коллекций; на время перебора изменения меток поля из других потоков ожидают его
+     * окончания, поэтому действие не должно ставить или снимать метки этого поля
+     *
+     * @param owner владелец меток
+     * @param action действие над меткой
+     */
+    public void forEachLabelOf(Player owner, Consumer<? super Label> action) {
+        _labelIndex.forEach(owner, action);
+    }
+
+    /**
+     * Обновляет индекс меток по владельцам при замене ячейки в позиции поля; вызывается
+     * из setCell всех реализаций поля
+     *
+     * @param old прежняя ячейка позиции или null
+     * @param cell новая ячейка позиции или null
+     */
+    final void reindexCell(Cell old, Cell cell) {
+        if (old != null && old.label() != null) {
+            _labelIndex.remove(old, old.label().owner());
+            _patternsStale = true;
+        }
+        if (cell != null && cell.label() != null) {
+            _labelIndex.add(cell, cell.label().owner());
+            _patternsStale = true;
+        }
+    }
+
+    /**
+     * Очищает индекс меток по владельцам; вызывается реализациями поля при удалении всех ячеек
+     */
+    final void clearLabelIndex() {
+        _labelIndex.clear();
+        _patternsStale = true;
+    }
+
+    /**
+     * Принимает от ячейки уведомление о размещении метки: ячейка этого поля попадает
+     * в индексы меток, после чего вызывается переопределяемый labelPlaced
+     *
+     * @param cell ячейка, получившая метку
+     */
+    final void cellLabelPlaced(Cell cell) {
+        if (cell(cell.x(), cell.y()) == cell) {
+            _labelIndex.add(cell, cell.label().owner());
+            if (_patternIndex != null && !_patternsStale) {
+                _patternIndex.update(this, cell.x(), cell.y(), null, cell.label());
+            }
+        }
+        labelPlaced(cell);
+    }
+
+    /**
+     * Принимает от ячейки уведомление о предстоящем удалении метки: ячейка исключается
+     * из индекса меток по владельцам, пока метка ещё в ней
+     *
+     * @param cell ячейка, из которой удаляется метка
+     * @param label удаляемая метка
+     */
+    final void cellLabelRemoving(Cell cell, Label label) {
+        _labelIndex.remove(cell, label.owner());
+    }
+
+    /**
+     * Принимает от ячейки уведомление об удалении метки: обновляется индекс шаблонов,
+     * после чего вызывается переопределяемый labelRemoved
+     *
+     * @param cell ячейка, из которой удалена метка
+     * @param label удалённая метка
+     */
+    final void cellLabelRemoved(Cell cell, Label label) {
+        if (_patternIndex != null && !_patternsStale && cell(cell.x(), cell.y()) == cell) {
+            _patternIndex.update(this, cell.x(), cell.y(), label, null);
+        }
+        labelRemoved(cell, label);
+    }
+
+    // ---------------------------- Индекс шаблонов -------------------------------
+    private PatternIndex _patternIndex;
+    // Признак индекса шаблонов, требующего пересчёта после замены ячеек с метками или очистки поля
+    private boolean _patternsStale;
+
+    /**
+     * Подключает к полю индекс шаблонов, который затем обновляется при каждой установке
+     * и снятии метки; по уже стоящим меткам индекс пересчитывается при первом обращении
+     * через patternIndex. Индекс обновляется
+     * в потоке, который меняет поле, и рассчитан на чтение из того же потока
+     *
+     * @param index индекс шаблонов или null, чтобы отключить индекс
+     */
+    public void setPatternIndex(PatternIndex index) {
+        _patternIndex = index;
+        _patternsStale = index != null;
+    }
+
+    /**
+     * Возвращает подключённый индекс шаблонов, пересчитывая его, если после замены ячеек
+     * с метками или очистки поля он устарел
+     *
+     * @return индекс шаблонов или null, если индекс не подключён
+     */
+    public PatternIndex patternIndex() {
+        if (_patternIndex != null && _patternsStale) {
+            _patternIndex.rebuild(this);
+            _patternsStale = false;
+        }
+        return _patternIndex;
+    }
+
+    // ---------------- Уведомления от ячеек об изменении меток -------------------
+    /**
+     * Вызывается ячейкой поля после того, как в неё помещена метка; наследники, которые
+     * хранят ячейки в хранилище базового класса и переопределяют уведомление, должны
+     * вызывать реализацию базового класса
+     *
+     * @param cell ячейка, получившая метку
+     */
+    void labelPlaced(Cell cell) {
+        int x = cell.x();
+        int y = cell.y();
+        if (containsRange(x, y) && _cellPool[index(x, y)] == cell) {
+            markDirty(index(x, y));
+        }
+    }
+
+    /**
+     * Вызывается ячейкой поля после того, как из неё удалена метка
+     *
+     * @param cell ячейка, из которой удалена метка
+     * @param label удалённая метка
+     */
+    void labelRemoved(Cell cell, Label label) {
+    }
+
+    // ----------------------- Ширина и высота поля ------------------------------
+    private int _width;
+    private int _height;
+
+    /**
+     * Устанавливает размеры игрового поля, сохраняя ячейки, попадающие в новые границы
+     *
+     * @param width ширина поля
+     * @param height высота поля
+     */
+    public void setSize(int width, int height) {
+        resize(width, height);
+    }
+
+    /**
+     * Перестраивает хранилище ячеек под новые размеры; не переопределяется наследниками,
+     * поэтому безопасно вызывается из конструктора
+     */
+    private void resize(int width, int height) {
+        width = Math.max(0, width);
+        height = Math.max(0, height);
+
+        Cell[] oldPool = _cellPool;
+        int oldWidth = _width;
+        int oldHeight = _height;
+
+        _width = width;
+        _height = height;
+        if (!_pooled) {
+            return;
+        }
+        _cellPool = new Cell[width * height];
+
+        int keepWidth = Math.min(oldWidth, width);
+        int keepHeight = Math.min(oldHeight, height);
+        for (int row = 0; row < keepHeight; row++) {
+            System.arraycopy(oldPool, row * oldWidth, _cellPool, row * width, keepWidth);
+        }
+
+        _filledCount = 0;
+        clearLabelIndex();
+        for (Cell cell : _cellPool) {
+            if (cell != null) {
+                _filledCount++;
+                reindexCell(null, cell);
+            }
+        }
+        rebuildDirtyCells();
+    }
+
+    /**
+     * Возвращает ширину игрового поля
+     *
+     * @return ширина поля
+     */
+    public int width() {
+        return _width;
+    }
+
+    /**
+     * Возвращает высоту игрового поля
+     *
+     * @return высота поля
+     */
+    public int height() {
+        return _height;
+    }
+
+    /**
+     * Проверяет, находится ли позиция в пределах игрового поля
+     *
+     * @param p проверяемая позиция
+     * @return true, если позиция допустима, иначе false
+     */
+    public boolean containsRange(Point p) {
+        return containsRange(p.x, p.y);
+    }
+
+    /**
+     * Проверяет, находится ли позиция с указанными координатами в пределах игрового поля
+     *
+     * @param x номер столбца
+     * @param y номер строки
+     * @return true, если позиция допустима, иначе false
+     */
+    public boolean containsRange(int x, int y) {
+        return x >= 1 && x <= _width &&
+                y >= 1 && y <= _height ;
+    }
+
+    /**
+     * Проверяет, есть ли в позиции с указанными координатами ячейка, в которую можно
+     * поставить метку
+     *
+     * @param x номер столбца
+     * @param y номер строки
+     * @return true, если позиция на поле и ячейка в ней существует
+     */
+    public boolean hasCell(int x, int y) {
+        return cell(x, y) != null;
+    }
+
+    /**
+     * Проверяет, соответствует ли упакованный индекс позиции на поле
+     *
+     * @param index индекс позиции
+     * @return true, если индекс допустим, иначе false
+     */
+    public boolean containsIndex(int index) {
+        return index >= 0 && index < _width * _height;
+    }
+
+    // -------------------------- Упакованные индексы -----------------------------
+    /**
+     * Упаковывает координаты позиции в индекс (по строкам, начиная с нуля)
+     *
+     * @param x номер столбца
+     * @param y номер строки
+     * @return индекс позиции
+     */
+    public int index(int x, int y) {
+        return (y - 1) * _width + (x - 1);
+    }
+
+    /**
+     * Возвращает номер столбца для упакованного индекса
+     *
+     * @param index индекс позиции
+     * @return номер столбца
+     */
+    public int x(int index) {
+        return index % _width + 1;
+    }
+
+    /**
+     * Возвращает номер строки для упакованного индекса
+     *
+     * @param index индекс позиции
+     * @return номер строки
+     */
+    public int y(int index) {
+        return index / _width + 1;
+    }
+
+    // ----------------------------------------------------------------------------
+    /**
+     * Создаёт игровое поле с размерами по умолчанию
+     */
+    public GameField() {
+        this(true);
+    }
+
+    /**
+     * Создаёт игровое поле с размерами по умолчанию
+     *
+     * @param pooled true — ячейки хранятся в массиве базового класса; false — наследник
+     *               хранит ячейки сам и переопределяет доступ к ним
+     */
+    GameField(boolean pooled) {
+        _pooled = pooled;
+        resize(5, 5);
+    }
+}
@@ -0,0 +1,753 @@
+package xzero.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import xzero.model.events.GameEvent;
+import xzero.model.events.GameListener;
+import xzero.model.events.ListenerList;
+import xzero.model.events.PlayerActionEvent;
+import xzero.model.events.PlayerActionListener;
+import xzero.model.factory.CellFactory;
+import xzero.model.factory.LabelFactory;
+import xzero.model.labels.Label;
+import xzero.model.labels.LabelType;
+import xzero.model.setup.FieldInitializer;
+import xzero.model.setup.GridFieldInitializer;
+import xzero.model.turn.TurnManager;
+import xzero.model.win.WinCheck;
+import xzero.model.win.WinDetector;
+
+/**
+* Центральная модель игры, управляющая полем, игроками, ходами и завершением партии
+*/
+public class GameModel {
+    // -------------------------------- Поле -------------------------------------
+    private final GameField _field;
+    private final FieldInitializer _fieldInitializer;
+
+    /**
+     * Возвращает игровое поле текущей игры
+     *
+     * @return игровое поле
+     */
+    public GameField field(){
+        return _field;
+    }
+
+    // -------------------------------- Игроки -----------------------------------
+    // Имена игроков в порядке очерёдности; их количество задаёт предел Rules.MAX_PLAYERS
+    private static final String[] PLAYER_NAMES = { "X", "O", "A", "B", "C", "D", "E", "F" };
+
+    private final List<Player> _playerList = new ArrayList<>();
+    private final TurnManager _turnManager;
+
+    private LabelType _activeLabelType = LabelType.NORMAL;
+    private boolean _secretModeEnabled = false;
+
+    /**
+     * Возвращает игрока, чей ход сейчас активен
+     *
+     * @return активный игрок
+     */
+    public Player activePlayer(){
+        return _turnManager.activePlayer();
+    }
+
+    /**
+     * Возвращает участников игры в порядке очерёдности ходов
+     *
+     * @return неизменяемый список игроков
+     */
+    public List<Player> players(){
+        return Collections.unmodifiableList(_playerList);
+    }
+
+    /**
+     * Возвращает номер игрока в порядке очерёдности ходов
+     *
+     * @param player игрок
+     * @return номер игрока или -1, если он не участвует в партии
+     */
+    public int indexOf(Player player) {
+        int id = player == null ? -1 : player.id();
+        return id >= 0 && id < _playerList.size() && _playerList.get(id) == player ? id : -1;
+    }
+
+    /**
+     * Возвращает противника, которому по правилам партии достаётся делегированная метка
+     * указанного игрока
+     *
+     * @param player игрок
+     * @return противник игрока
+     *
+     * @throws IllegalArgumentException если игрок не участвует в партии
+     */
+    public Player opponentOf(Player player) {
+        int index = indexOf(player);
+        if (index < 0) {
+            throw new IllegalArgumentException("Игрок не участвует в партии");
+        }
+        return opponentAt(index);
+    }
+
+    /**
+     * Создаёт модель игры с настройками и зависимостями по умолчанию
+     */
+    public GameModel() {
+        this(Rules.standard());
+    }
+
+    /**
+     * Создаёт модель игры по заданным правилам с зависимостями по умолчанию; поле
+     * подготавливается по размеру из правил
+     *
+     * @param rules правила партии
+     *
+     * @throws IllegalArgumentException если правила равны null
+     */
+    public GameModel(Rules rules) {
+        this(new GameField(), new CellFactory(), new LabelFactory(),
+                new GridFieldInitializer(checked(rules).width(), rules.height(), true), rules);
+    }
+
+    /**
+     * Создаёт модель игры с переданными зависимостями и стратегией инициализации поля
+     *
+     * @param field игровое поле
+     * @param cellFactory фабрика для создания ячеек
+     * @param labelFactory фабрика для создания меток
+     * @param fieldInitializer стратегия подготовки поля
+     *
+     * @throws IllegalArgumentException если любая из зависимостей равна null
+     */
+    public GameModel(GameField field, CellFactory cellFactory, LabelFactory labelFactory,
+                     FieldInitializer fieldInitializer) {
+        this(field, cellFactory, labelFactory, fieldInitializer, Rules.standard());
+    }
+
+    /**
+     * Создаёт модель игры с переданными зависимостями, стратегией инициализации поля
+     * и правилами; размер поля задаёт стратегия инициализации, а из правил берутся
+     * длина выигрышной линии, лимит пасов, отношение к длинным линиям, количество игроков
+     * и правило выбора противника
+     *
+     * @param field игровое поле
+     * @param cellFactory фабрика для создания ячеек
+     * @param labelFactory фабрика для создания меток
+     * @param fieldInitializer стратегия подготовки поля
+     * @param rules правила партии
+     *
+     * @throws IllegalArgumentException если любая из зависимостей равна null
+     */
+    public GameModel(GameField field, CellFactory cellFactory, LabelFactory labelFactory,
+                     FieldInitializer fieldInitializer, Rules rules) {
+        if (field == null || cellFactory == null || labelFactory == null || fieldInitializer == null
+                || rules == null) {
+            throw new IllegalArgumentException("Все зависимости GameModel должны быть заданы");
+        }
+        this._rules = rules;
+        this._winDetector = rules.winDetector(WinCheck.INCREMENTAL);
+        this._field = field;
+        this._cellFactory = cellFactory;
+        this._labelFactory = labelFactory;
+        this._fieldInitializer = fieldInitializer;
+
+        PlayerObserver observer = new PlayerObserver();
+
+        for (int i = 0; i < rules.playerCount(); i++) {
+            Player player = new Player(field(), PLAYER_NAMES[i]);
+            player.setId(i);
+            player.addPlayerActionListener(observer);
+            _playerList.add(player);
+        }
+
+        _turnManager = new TurnManager(_playerList, rules.passLimit());
+    }
+
+    private static Rules checked(Rules rules) {
+        if (rules == null) {
+            throw new IllegalArgumentException("Все зависимости GameModel должны быть заданы");
+        }
+        return rules;
+    }
+
+    // -------------------------------- Правила ----------------------------------
+    private final Rules _rules;
+
+    /**
+     * Возвращает правила текущей игры
+     *
+     * @return правила партии
+     */
+    public Rules rules() {
+        return _rules;
+    }
+
+    private final CellFactory _cellFactory;
+    private final LabelFactory _labelFactory;
+
+    // ---------------------- Порождение обстановки на поле ---------------------
+    /**
+     * Инициализирует игровое поле, создавая ячейки через фабрику
+     */
+    private void generateField() {
+        _fieldInitializer.prepare(field(), _cellFactory);
+    }
+
+    // ----------------------------- Игровой процесс ----------------------------
+    /**
+     * Запускает новую игру, подготавливая поле и назначая активного игрока и метку
+     */
+    public void start() {
+        generateField();
+        _winDetector.attach(field());
+        _winner = null;
+        _history.clear();
+
+        _turnManager.resetForNewGame();
+        _activeLabelType = _turnManager.activeLabelType();
+        refreshActiveLabel();
+        firePlayerExchanged(activePlayer());
+    }
+
+    /**
+     * Переключает ход на следующего игрока и обновляет активную метку
+     */
+    private void exchangePlayer() {
+        _turnManager.advanceToNextPlayer();
+
+        _activeLabelType = _turnManager.activeLabelType();
+        refreshActiveLabel();
+
+        firePlayerExchanged(activePlayer());
+    }
+
+    /**
+     * Передаёт ход следующему игроку, расходуя пас активного игрока
+     *
+     * @throws IllegalStateException если у активного игрока отсутствует активная метка
+     */
+    public void passTurn() {
+        if (activePlayer().activeLabel() == null) {
+            throw new IllegalStateException("Нельзя передать ход: у активного игрока нет активной метки");
+        }
+
+        _turnManager.consumePassOfActive();
+        if (!_replayingHistory) {
+            _history.recordPass(_turnManager.activeIndex());
+        }
+
+        activePlayer().takeActiveLabel();
+
+        _turnManager.advanceToNextPlayer();
+
+        _activeLabelType = _turnManager.activeLabelType();
+        refreshActiveLabel();
+
+        firePlayerExchanged(activePlayer());
+    }
+
+    /**
+     * Устанавливает выбранный тип метки для активного игрока
+     *
+     * @param labelType выбранный тип метки
+     *
+     * @throws IllegalArgumentException если тип метки равен null
+     */
+    public void setActiveLabelType(LabelType labelType) {
+        if (labelType == null) {
+            throw new IllegalArgumentException("Нельзя выбрать пустой тип метки");
+        }
+        _turnManager.setActiveLabelType(labelType);
+        _activeLabelType = labelType;
+        refreshActiveLabel();
+    }
+
+    /**
+     * Включает или выключает режим секретности.
+     *
+     * @param enabled true ¢?" режим секретности включён, false ¢?" выключен
+     */
+    public void setSecretModeEnabled(boolean enabled) {
+        _secretModeEnabled = enabled;
+        refreshActiveLabel();
+    }
+
+    /**
+     * Признак активного режима секретности.
+     *
+     * @return true, если секретность включена
+     */
+    public boolean secretModeEnabled() {
+        return _secretModeEnabled;
+    }
+
+    /**
+     * Возвращает текущий выбранный тип метки активного игрока
+     *
+     * @return тип активной метки
+     */
+    public LabelType activeLabelType() {
+        return _activeLabelType;
+    }
+
+    /**
+     * Пересоздаёт и назначает активную метку текущему активному игроку
+     */
+    private void refreshActiveLabel() {
+        Player opponent = opponentAt(_turnManager.activeIndex());
+        Label newLabel = _secretModeEnabled
+                ? _labelFactory.createSecretLabel(activePlayer(), opponent, _activeLabelType)
+                : _labelFactory.createLabel(activePlayer(), opponent, _activeLabelType);
+        activePlayer().setActiveLabel(newLabel);
+    }
+
+    /**
+     * Возвращает противника игрока с указанным номером по правилу из правил партии
+     *
+     * @param index номер игрока в порядке очерёдности
+     * @return противник игрока
+     */
+    private Player opponentAt(int index) {
+        return _playerList.get(_rules.opponentPolicy().opponentIndex(index, _playerList.size()));
+    }
+
+    // ------------------------- Определение победителя -------------------------
+    private WinDetector _winDetector;
+
+    /**
+     * Переключает проверку победы между просмотром осей последнего хода
+     * и полным просмотром поля (для сверки результатов)
+     *
+     * @param enabled true — просматривать всё поле, false — только оси последнего хода
+     */
+    public void setFullScanWinCheck(boolean enabled) {
+        setWinCheck(enabled ? WinCheck.FULL_SCAN : WinCheck.INCREMENTAL);
+    }
+
+    /**
+     * Выбирает способ проверки победы; стратегия сразу подготавливает поле, например
+     * проверка по шаблонам подключает к нему индекс шаблонов, который остаётся подключённым
+     * и при последующей смене способа
+     *
+     * @param check способ проверки победы
+     *
+     * @throws IllegalArgumentException если способ проверки равен null
+     */
+    public void setWinCheck(WinCheck check) {
+        _winDetector = _rules.winDetector(check);
+        _winDetector.attach(field());
+    }
+
+    /**
+     * Определяет победителя по наличию линии меток заданной длины
+     *
+     * @param placed ячейка, в которую помещена последняя метка
+     * @return победивший игрок или null, если победителя пока нет
+     */
+    private Player determineWinner(Cell placed){
+        return _winDetector.winnerAfter(field(), placed);
+    }
+
+    private Player _winner;
+
+    /**
+     * Возвращает победителя текущей партии
+     *
+     * @return победивший игрок или null, если партия ещё не завершена
+     */
+    public Player winner() {
+        return _winner;
+    }
+
+    /**
+     * Признак завершения текущей партии
+     *
+     * @return true, если победитель уже определён
+     */
+    public boolean isFinished() {
+        return _winner != null;
+    }
+
+    /**
+     * Возвращает количество доступных пасов для указанного игрока
+     *
+     * @param player игрок, для которого запрашивается количество пасов
+     * @return количество оставшихся пасов
+     */
+    public int passesLeftFor(Player player) {
+        return _turnManager.passesLeftFor(player);
+    }
+
+    // ------------------------- Отмена и повтор ходов --------------------------
+    private final MoveHistory _history = new MoveHistory();
+    private boolean _replayingHistory;
+
+    /**
+     * Возвращает историю ходов текущей партии
+     *
+     * @return история ходов
+     */
+    public MoveHistory history() {
+        return _history;
+    }
+
+    /**
+     * Признак наличия хода, который можно отменить
+     *
+     * @return true, если в партии сделан хотя бы один ход
+     */
+    public boolean canUndo() {
+        return _history.size() > 0;
+    }
+
+    /**
+     * Признак наличия отменённого хода, который можно повторить
+     *
+     * @return true, если после отмены не было новых ходов
+     */
+    public boolean canRedo() {
+        return _history.redoSize() > 0;
+    }
+
+    /**
+     * Отменяет последний ход за постоянное время: снимает метку с поля или возвращает
+     * израсходованный пас и передаёт ход игроку, который его сделал
+     *
+     * @throws IllegalStateException если отменять нечего
+     */
+    public void undo() {
+        if (!canUndo()) {
+            throw new IllegalStateException("Нет ходов для отмены");
+        }
+        int move = _history.undo();
+
+        if (activePlayer().activeLabel() != null) {
+            activePlayer().takeActiveLabel();
+        }
+        _turnManager.setActiveIndex(_history.playerIndex(move));
+
+        if (_history.isPass(move)) {
+            _turnManager.returnPassOfActive();
+        } else {
+            _field.cell(_history.x(move), _history.y(move)).removeLabel();
+            _turnManager.setActiveLabelType(_history.labelType(move));
+            _winner = null;
+        }
+
+        _activeLabelType = _turnManager.activeLabelType();
+        refreshActiveLabel();
+        firePlayerExchanged(activePlayer());
+    }
+
+    /**
+     * Повторяет последний отменённый ход тем же путём, что и обычный ход, с проверкой победы.
+     * Метка ставится в том режиме секретности, в котором был сделан ход, а текущий режим
+     * после повтора сохраняется
+     *
+     * @throws IllegalStateException если повторять нечего
+     */
+    public void redo() {
+        if (!canRedo()) {
+            throw new IllegalStateException("Нет ходов для повтора");
+        }
+        int move = _history.redo();
+
+        _replayingHistory = true;
+        try {
+            if (_history.isPass(move)) {
+                passTurn();
+            } else {
+                boolean secretMode = _secretModeEnabled;
+                _secretModeEnabled = _history.isSecret(move);
+                try {
+                    setActiveLabelType(_history.labelType(move));
+                    activePlayer().setLabelTo(_history.x(move), _history.y(move));
+                } finally {
+                    _secretModeEnabled = secretMode;
+                }
+                if (activePlayer().activeLabel() != null) {
+                    refreshActiveLabel();
+                }
+            }
+        } finally {
+            _replayingHistory = false;
+        }
+    }
+
+    // ---------------------------- Позиции партии ------------------------------
+    /**
+     * Снимает текущую позицию партии
+     *
+     * @return позиция партии
+     */
+    public GamePosition position() {
+        int count = _playerList.size();
+        int[] passesLeft = new int[count];
+        LabelType[] labelTypes = new LabelType[count];
+        for (int i = 0; i < count; i++) {
+            passesLeft[i] = _turnManager.passesLeftAt(i);
+            labelTypes[i] = _turnManager.labelTypeAt(i);
+        }
+        return new GamePosition(BoardSnapshot.of(_field, _playerList), _history.size(),
+                _turnManager.activeIndex(), passesLeft, labelTypes, indexOf(_winner), _secretModeEnabled);
+    }
+
+    /**
+     * Возвращает партию к позиции, снятой в этой же модели. Метки на поле меняются только
+     * в ячейках, отличающихся от позиции; ходы истории после позиции становятся доступными
+     * для повтора
+     *
+     * @param position позиция партии
+     *
+     * @throws IllegalArgumentException если позиция не задана, не совпадает с партией по
+     *                                  размеру поля или количеству игроков либо в истории
+     *                                  нет ходов, которые к ней привели
+     */
+    public void restore(GamePosition position) {
+        if (position == null) {
+            throw new IllegalArgumentException("Позиция не может быть null");
+        }
+        if (position.playerCount() != _playerList.size()
+                || position.moveCount() > _history.size() + _history.redoSize()) {
+            throw new IllegalArgumentException("Позиция снята не в этой партии");
+        }
+        if (activePlayer().activeLabel() != null) {
+            activePlayer().takeActiveLabel();
+        }
+        position.board().restoreInto(_field, _playerList, _labelFactory);
+        _turnManager.restore(position.activeIndex(), position.passesLeft(), position.labelTypes());
+        _history.rewind(position.moveCount());
+        _winner = position.winnerIndex() < 0 ? null : _playerList.get(position.winnerIndex());
+        _secretModeEnabled = position.secretMode();
+
+        _activeLabelType = _turnManager.activeLabelType();
+        if (_winner == null) {
+            refreshActiveLabel();
+        }
+        firePlayerExchanged(activePlayer());
+    }
+
+    // ------------------------- Реагируем на действия игрока ------------------
+    /**
+     * Обрабатывает событие размещения метки игроком и проверяет завершение игры
+     *
+     * @param event событие действия игрока
+     */
+    void handleLabelPlaced(PlayerActionEvent event) {
+        if(event.player() == activePlayer()) {
+            fireLabelIsPlaced(event);
+        }
+
+        Label placed = event.label();
+        if (placed != null && placed.cell() != null && !_replayingHistory) {
+            Cell cell = placed.cell();
+            _history.recordPlacement(cell.x(), cell.y(), _activeLabelType, _secretModeEnabled,
+                    _turnManager.activeIndex());
+        }
+        Player winner = determineWinner(placed == null ? null : placed.cell());
+
+        if(winner == null) {
+            exchangePlayer();
+        }
+        else {
+            _winner = winner;
+            fireGameFinished(winner);
+        }
+    }
+
+    /**
+     * Обрабатывает событие получения метки активным игроком
+     *
+     * @param event событие действия игрока
+     */
+    void handleLabelReceived(PlayerActionEvent event) {
+        if(event.player() == activePlayer()) {
+            fireLabelIsReceived(event);
+        }
+    }
+
+    // ------------------------ Порождает события игры ----------------------------
+    private final ListenerList<GameListener> _listenerList = new ListenerList<>(GameListener.class);
+
+    /**
+     * Регистрирует слушателя событий игры
+     *
+     * @param listener слушатель событий игры
+     */
+    public void addGameListener(GameListener listener) {
+        _listenerList.add(listener);
+    }
+
+    /**
+     * Удаляет слушателя событий игры
+     *
+     * @param listener слушатель событий игры
+     */
+    public void removeGameListener(GameListener listener) {
+        _listenerList.remove(listener);
+    }
+
+    // Событие игры, повторно используемое в режиме без создания объектов
+    private boolean _reusableEvents;
+    private GameEvent _event;
+    private boolean _eventInUse;
+
+    /**
+     * Включает режим, в котором оповещения слушателей модели и игроков не создают
+     * объектов: слушателям передаются одни и те же объекты событий, поэтому событие
+     * действительно только во время вызова слушателя и не должно сохраняться.
+     * Асинхронная шина событий копирует содержимое событий и совместима с этим режимом
+     *
+     * @param enabled true — использовать события повторно, false — создавать новые
+     */
+    public void setReusableEvents(boolean enabled) {
+        _reusableEvents = enabled;
+        for (Player player : _playerList) {
+            player.setReusableEvents(enabled);
+        }
+    }
+
+    /**
+     * Признак режима повторного использования событий
+     *
+     * @return true, если события используются повторно
+     */
+    public boolean reusableEvents() {
+        return _reusableEvents;
+    }
+
+    /**
+     * Генерирует событие завершения игры с указанным победителем
+     *
+     * @param winner победивший игрок
+     */
+    protected void fireGameFinished(Player winner) {
+        if (_listenerList.isEmpty()) {
+            return;
+        }
+        GameEvent event = acquireEvent(winner);
+        try {
+            for (GameListener listener : _listenerList.listeners()) {
+                listener.gameFinished(event);
+            }
+        } finally {
+            releaseEvent(event);
+        }
+    }
+
+    /**
+     * Генерирует событие смены активного игрока
+     *
+     * @param player новый активный игрок
+     */
+    protected void firePlayerExchanged(Player player) {
+        if (_listenerList.isEmpty()) {
+            return;
+        }
+        GameEvent event = acquireEvent(player);
+        try {
+            for (GameListener listener : _listenerList.listeners()) {
+                listener.playerExchanged(event);
+            }
+        } finally {
+            releaseEvent(event);
+        }
+    }
+
+    /**
+     * Возвращает событие игры для оповещения; если повторно используемое событие уже
+     * передаётся слушателям (вложенное оповещение), создаётся новое
+     */
+    private GameEvent acquireEvent(Player player) {
+        GameEvent event;
+        if (_reusableEvents && !_eventInUse) {
+            if (_event == null) {
+                _event = new GameEvent(this);
+            }
+            event = _event;
+            _eventInUse = true;
+        } else {
+            event = new GameEvent(this);
+        }
+        event.setPlayer(player);
+        return event;
+    }
+
+    private void releaseEvent(GameEvent event) {
+        if (event == _event) {
+            _eventInUse = false;
+        }
+    }
+
+    // --------------------- Порождает события, связанные с игроками -------------
+    private final ListenerList<PlayerActionListener> _playerListenerList =
+            new ListenerList<>(PlayerActionListener.class);
+
+    /**
+     * Регистрирует слушателя действий игрока
+     *
+     * @param listener слушатель действий игрока
+     */
+    public void addPlayerActionListener(PlayerActionListener listener) {
+        _playerListenerList.add(listener);
+    }
+
+    /**
+     * Удаляет слушателя действий игрока
+     *
+     * @param listener слушатель действий игрока
+     */
+    public void removePlayerActionListener(PlayerActionListener listener) {
+        _playerListenerList.remove(listener);
+    }
+
+    /**
+     * Генерирует событие установки метки игроком
+     *
+     * @param event событие действия игрока
+     */
+    protected void fireLabelIsPlaced(PlayerActionEvent event) {
+        for (PlayerActionListener listener : _playerListenerList.listeners()) {
+            listener.labelIsPlaced(event);
+        }
+    }
+
+    /**
+     * Генерирует событие получения метки игроком
+     *
+     * @param event событие действия игрока
+     */
+    protected void fireLabelIsReceived(PlayerActionEvent event) {
+        for (PlayerActionListener listener : _playerListenerList.listeners()) {
+            listener.labelIsReceived(event);
+        }
+    }
+
+    /**
+     * Внутренний слушатель действий игрока, перенаправляющий события в GameModel
+     */
+    private final class PlayerObserver implements PlayerActionListener {
+
+        /**
+         * Обрабатывает событие установки метки игроком и передаёт его модели игры
+         *
+         * @param event событие действия игрока
+         */
+        @Override
+        public void labelIsPlaced(PlayerActionEvent event) {
+            handleLabelPlaced(event);
+        }
+
+        /**
+         * Обрабатывает событие получения метки игроком и передаёт его модели игры
+         *
+         * @param event событие действия игрока
+         */
+        @Override
+        public void labelIsReceived(PlayerActionEvent event) {
+            handleLabelReceived(event);
+        }
+    }
+}
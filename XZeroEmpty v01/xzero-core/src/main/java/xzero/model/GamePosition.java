@@ -0,0 +1,112 @@
+package xzero.model;
+
+import xzero.model.labels.LabelType;
+
+/**
+ * Неизменяемая позиция партии: расстановка меток в виде {@link BoardSnapshot}, количество
+ * выполненных ходов, состояние очерёдности и победитель. Позиция снимается моделью игры
+ * и может быть восстановлена в той же модели, пока её история содержит эти ходы
+ */
+public final class GamePosition {
+
+    private final BoardSnapshot _board;
+    private final int _moveCount;
+    private final int _activeIndex;
+    private final int[] _passesLeft;
+    private final LabelType[] _labelTypes;
+    private final int _winnerIndex;
+    private final boolean _secretMode;
+
+    GamePosition(BoardSnapshot board, int moveCount, int activeIndex, int[] passesLeft,
+                 LabelType[] labelTypes, int winnerIndex, boolean secretMode) {
+        _board = board;
+        _moveCount = moveCount;
+        _activeIndex = activeIndex;
+        _passesLeft = passesLeft;
+        _labelTypes = labelTypes;
+        _winnerIndex = winnerIndex;
+        _secretMode = secretMode;
+    }
+
+    /**
+     * Снимок меток на поле в этой позиции
+     *
+     * @return расстановка меток
+     */
+    public BoardSnapshot board() {
+        return _board;
+    }
+
+    /**
+     * Количество ходов партии до этой позиции
+     *
+     * @return количество ходов, выполненных до этой позиции
+     */
+    public int moveCount() {
+        return _moveCount;
+    }
+
+    /**
+     * Номер игрока, чей ход в этой позиции
+     *
+     * @return номер активного игрока
+     */
+    public int activeIndex() {
+        return _activeIndex;
+    }
+
+    /**
+     * Количество игроков партии
+     *
+     * @return количество игроков
+     */
+    public int playerCount() {
+        return _passesLeft.length;
+    }
+
+    /**
+     * Количество пасов, оставшихся у игрока
+     *
+     * @param index номер игрока
+     * @return количество оставшихся у игрока пасов
+     */
+    public int passesLeft(int index) {
+        return _passesLeft[index];
+    }
+
+    /**
+     * Тип метки, выбранный игроком к этой позиции
+     *
+     * @param index номер игрока
+     * @return тип метки, выбранный игроком
+     */
+    public LabelType labelType(int index) {
+        return _labelTypes[index];
+    }
+
+    /**
+     * Номер победителя партии
+     *
+     * @return номер победителя или -1, если партия не завершена
+     */
+    public int winnerIndex() {
+        return _winnerIndex;
+    }
+
+    /**
+     * Режим секретности, включённый в этой позиции
+     *
+     * @return true, если был включён секретный режим
+     */
+    public boolean secretMode() {
+        return _secretMode;
+    }
+
+    int[] passesLeft() {
+        return _passesLeft.clone();
+    }
+
+    LabelType[] labelTypes() {
+        return _labelTypes.clone();
+    }
+}
@@ -0,0 +1,175 @@
+package xzero.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import xzero.model.labels.Label;
+
+/**
+ * Индекс меток поля по владельцам: для каждого игрока хранится плотный массив занятых им
+ * ячеек. Ячейка помнит своё место в массиве, поэтому удаляется за O(1) переносом последней
+ * ячейки на освободившееся место, а метки игрока перебираются за время, пропорциональное
+ * их количеству.
+ * <p>
+ * Изменения и чтения индекса выполняются под его монитором, поэтому метки можно читать из
+ * других потоков во время игры. Список всех меток выдаётся неизменяемым снимком, который
+ * строится при первом запросе после изменения и до следующего изменения отдаётся без блокировки
+ */
+final class LabelIndex {
+
+    private final Map<Player, Slots> _byOwner = new LinkedHashMap<>();
+    private int _total;
+    private volatile List<Label> _snapshot = Collections.emptyList();
+
+    /**
+     * Добавляет занятую ячейку в список её владельца
+     *
+     * @param cell ячейка с меткой
+     * @param owner владелец метки
+     */
+    synchronized void add(Cell cell, Player owner) {
+        Slots slots = _byOwner.get(owner);
+        if (slots == null) {
+            slots = new Slots();
+            _byOwner.put(owner, slots);
+        }
+        if (slots._size == slots._cells.length) {
+            slots._cells = Arrays.copyOf(slots._cells, slots._size * 2);
+        }
+        cell._indexSlot = slots._size;
+        slots._cells[slots._size++] = cell;
+        _total++;
+        _snapshot = null;
+    }
+
+    /**
+     * Удаляет ячейку из списка владельца; ячейка, которой нет в индексе, пропускается
+     *
+     * @param cell ячейка, потерявшая метку
+     * @param owner владелец снятой метки
+     */
+    synchronized void remove(Cell cell, Player owner) {
+        Slots slots = _byOwner.get(owner);
+        int slot = cell._indexSlot;
+        if (slots == null || slot < 0 || slot >= slots._size || slots._cells[slot] != cell) {
+            return;
+        }
+        Cell last = slots._cells[--slots._size];
+        slots._cells[slot] = last;
+        last._indexSlot = slot;
+        slots._cells[slots._size] = null;
+        cell._indexSlot = -1;
+        _total--;
+        _snapshot = null;
+    }
+
+    /**
+     * Удаляет из индекса все ячейки
+     */
+    synchronized void clear() {
+        for (Slots slots : _byOwner.values()) {
+            for (int i = 0; i < slots._size; i++) {
+                slots._cells[i]._indexSlot = -1;
+                slots._cells[i] = null;
+            }
+            slots._size = 0;
+        }
+        _total = 0;
+        _snapshot = Collections.emptyList();
+    }
+
+    /**
+     * Количество меток владельца
+     *
+     * @param owner владелец меток
+     * @return количество меток
+     */
+    synchronized int count(Player owner) {
+        Slots slots = _byOwner.get(owner);
+        return slots == null ? 0 : slots._size;
+    }
+
+    /**
+     * Снимок всех меток поля; метки одного владельца идут подряд
+     *
+     * @return неизменяемый список, который не меняется при последующих ходах
+     */
+    List<Label> all() {
+        List<Label> snapshot = _snapshot;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        synchronized (this) {
+            if (_snapshot == null) {
+                Label[] labels = new Label[_total];
+                int n = 0;
+                for (Slots slots : _byOwner.values()) {
+                    n = collect(slots, labels, n);
+                }
+                _snapshot = Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(labels, n)));
+            }
+            return _snapshot;
+        }
+    }
+
+    /**
+     * Снимок меток одного владельца
+     *
+     * @param owner владелец меток
+     * @return неизменяемый список, который не меняется при последующих ходах
+     */
+    synchronized List<Label> of(Player owner) {
+        Slots slots = _byOwner.get(owner);
+        if (slots == null || slots._size == 0) {
+            return Collections.emptyList();
+        }
+        Label[] labels = new Label[slots._size];
+        int n = collect(slots, labels, 0);
+        return Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(labels, n)));
+    }
+
+    /**
+     * Передаёт действию каждую метку владельца; действие выполняется под монитором индекса
+     *
+     * @param owner владелец меток
+     * @param action действие над меткой
+     */
+    synchronized void forEach(Player owner, Consumer<? super Label> action) {
+        Slots slots = _byOwner.get(owner);
+        int count = slots == null ? 0 : slots._size;
+        for (int i = 0; i < count; i++) {
+            Label label = slots._cells[i].label();
+            if (label != null) {
+                action.accept(label);
+            }
+        }
+    }
+
+    /**
+     * Переписывает метки занятых ячеек владельца в массив, пропуская ячейки, метка которых
+     * уже снята, но которые ещё не исключены из индекса
+     *
+     * @return позиция в массиве после последней записанной метки
+     */
+    private static int collect(Slots slots, Label[] labels, int n) {
+        for (int i = 0; i < slots._size; i++) {
+            Label label = slots._cells[i].label();
+            if (label != null) {
+                labels[n++] = label;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Занятые ячейки одного владельца
+     */
+    private static final class Slots {
+        private Cell[] _cells = new Cell[8];
+        private int _size;
+    }
+}
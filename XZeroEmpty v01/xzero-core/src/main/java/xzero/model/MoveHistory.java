@@ -0,0 +1,183 @@
+package xzero.model;
+
+import java.util.Arrays;
+
+import xzero.model.labels.LabelType;
+
+/**
+ * История ходов партии для отмены и повтора. Каждый ход хранится одним числом long
+ * в формате {@link MoveRecord}; записи после текущей позиции доступны для повтора
+ * до первого нового хода
+ */
+public final class MoveHistory {
+
+    private long[] _records = new long[64];
+    private int _size;
+    private int _top;
+
+    /**
+     * Количество ходов, которые можно отменить
+     *
+     * @return количество выполненных ходов
+     */
+    public int size() {
+        return _size;
+    }
+
+    /**
+     * Количество отменённых ходов, которые можно повторить
+     *
+     * @return количество ходов для повтора
+     */
+    public int redoSize() {
+        return _top - _size;
+    }
+
+    /**
+     * Признак паса
+     *
+     * @param i номер хода, от 0 до size() + redoSize() - 1
+     * @return true, если ход — пас
+     *
+     * @throws IndexOutOfBoundsException если номер вне диапазона
+     */
+    public boolean isPass(int i) {
+        return MoveRecord.isPass(record(i));
+    }
+
+    /**
+     * Признак метки, выданной в секретном режиме
+     *
+     * @param i номер хода
+     * @return true, если метка была секретной
+     *
+     * @throws IndexOutOfBoundsException если номер вне диапазона
+     */
+    public boolean isSecret(int i) {
+        return MoveRecord.isSecret(record(i));
+    }
+
+    /**
+     * Номер столбца ячейки, в которую поставлена метка
+     *
+     * @param i номер хода
+     * @return номер столбца; для паса — 0
+     *
+     * @throws IndexOutOfBoundsException если номер вне диапазона
+     */
+    public int x(int i) {
+        return MoveRecord.x(record(i));
+    }
+
+    /**
+     * Номер строки ячейки, в которую поставлена метка
+     *
+     * @param i номер хода
+     * @return номер строки; для паса — 0
+     *
+     * @throws IndexOutOfBoundsException если номер вне диапазона
+     */
+    public int y(int i) {
+        return MoveRecord.y(record(i));
+    }
+
+    /**
+     * Тип поставленной метки
+     *
+     * @param i номер хода
+     * @return тип метки или null для паса
+     *
+     * @throws IndexOutOfBoundsException если номер вне диапазона
+     */
+    public LabelType labelType(int i) {
+        return MoveRecord.labelType(record(i));
+    }
+
+    /**
+     * Номер игрока, сделавшего ход, в порядке очерёдности
+     *
+     * @param i номер хода
+     * @return номер игрока
+     *
+     * @throws IndexOutOfBoundsException если номер вне диапазона
+     */
+    public int playerIndex(int i) {
+        return MoveRecord.playerIndex(record(i));
+    }
+
+    /**
+     * Упакованная запись хода
+     *
+     * @param i номер хода
+     * @return запись в формате MoveRecord
+     *
+     * @throws IndexOutOfBoundsException если номер вне диапазона
+     */
+    public long record(int i) {
+        if (i < 0 || i >= _top) {
+            throw new IndexOutOfBoundsException("MoveHistory: ход " + i + " вне диапазона [0, " + _top + ")");
+        }
+        return _records[i];
+    }
+
+    /**
+     * Записывает установку метки и отбрасывает ходы, доступные для повтора
+     */
+    void recordPlacement(int x, int y, LabelType type, boolean secret, int playerIndex) {
+        push(MoveRecord.placement(x, y, type, secret, playerIndex));
+    }
+
+    /**
+     * Записывает пас и отбрасывает ходы, доступные для повтора
+     */
+    void recordPass(int playerIndex) {
+        push(MoveRecord.pass(playerIndex));
+    }
+
+    /**
+     * Переводит последний ход в отменённые
+     *
+     * @return номер отменённого хода
+     */
+    int undo() {
+        return --_size;
+    }
+
+    /**
+     * Возвращает первый отменённый ход в выполненные
+     *
+     * @return номер повторённого хода
+     */
+    int redo() {
+        return _size++;
+    }
+
+    /**
+     * Делает выполненными первые size ходов; остальные записи становятся доступными
+     * для повтора
+     *
+     * @throws IllegalArgumentException если записей меньше size
+     */
+    void rewind(int size) {
+        if (size < 0 || size > _top) {
+            throw new IllegalArgumentException("MoveHistory: в истории нет хода " + size);
+        }
+        _size = size;
+    }
+
+    /**
+     * Удаляет все записи
+     */
+    void clear() {
+        _size = 0;
+        _top = 0;
+    }
+
+    private void push(long record) {
+        if (_size == _records.length) {
+            _records = Arrays.copyOf(_records, _records.length * 2);
+        }
+        _records[_size++] = record;
+        _top = _size;
+    }
+}
@@ -0,0 +1,112 @@
+package xzero.model;
+
+import xzero.model.labels.LabelType;
+
+/**
+ * Упаковка хода в одно число long, общая для истории ходов и журнала партий:
+ * координаты ячейки (по 24 бита со знаком, что покрывает и неограниченное поле),
+ * тип метки, номер походившего игрока, признак секретного режима и признак паса
+ */
+public final class MoveRecord {
+
+    private static final int COORDINATE_BITS = 24;
+    private static final long COORDINATE_MASK = (1L << COORDINATE_BITS) - 1;
+    private static final int TYPE_SHIFT = 2 * COORDINATE_BITS;
+    private static final int PLAYER_SHIFT = TYPE_SHIFT + 2;
+    private static final long SECRET_FLAG = 1L << 62;
+    private static final long PASS_FLAG = 1L << 63;
+    private static final LabelType[] TYPES = LabelType.values();
+
+    private MoveRecord() {
+    }
+
+    /**
+     * Упаковывает установку метки
+     *
+     * @param x номер столбца
+     * @param y номер строки
+     * @param type тип метки
+     * @param secret true, если метка выдана в секретном режиме
+     * @param playerIndex номер походившего игрока, от 0 до 255
+     * @return запись хода
+     */
+    public static long placement(int x, int y, LabelType type, boolean secret, int playerIndex) {
+        return (long) (playerIndex & 0xFF) << PLAYER_SHIFT | (long) type.ordinal() << TYPE_SHIFT
+                | (y & COORDINATE_MASK) << COORDINATE_BITS | (x & COORDINATE_MASK)
+                | (secret ? SECRET_FLAG : 0);
+    }
+
+    /**
+     * Упаковывает пас
+     *
+     * @param playerIndex номер игрока, передавшего ход
+     * @return запись хода
+     */
+    public static long pass(int playerIndex) {
+        return PASS_FLAG | (long) (playerIndex & 0xFF) << PLAYER_SHIFT;
+    }
+
+    /**
+     * Признак паса в упакованной записи
+     *
+     * @param record запись хода
+     * @return true, если ход — пас
+     */
+    public static boolean isPass(long record) {
+        return (record & PASS_FLAG) != 0;
+    }
+
+    /**
+     * Признак секретного режима в упакованной записи
+     *
+     * @param record запись хода
+     * @return true, если метка выдана в секретном режиме
+     */
+    public static boolean isSecret(long record) {
+        return (record & SECRET_FLAG) != 0;
+    }
+
+    /**
+     * Распаковывает номер столбца
+     *
+     * @param record запись хода
+     * @return номер столбца; для паса — 0
+     */
+    public static int x(long record) {
+        return coordinate(record);
+    }
+
+    /**
+     * Распаковывает номер строки
+     *
+     * @param record запись хода
+     * @return номер строки; для паса — 0
+     */
+    public static int y(long record) {
+        return coordinate(record >>> COORDINATE_BITS);
+    }
+
+    /**
+     * Распаковывает тип метки
+     *
+     * @param record запись хода
+     * @return тип метки или null для паса
+     */
+    public static LabelType labelType(long record) {
+        return isPass(record) ? null : TYPES[(int) (record >>> TYPE_SHIFT) & 3];
+    }
+
+    /**
+     * Распаковывает номер походившего игрока
+     *
+     * @param record запись хода
+     * @return номер походившего игрока
+     */
+    public static int playerIndex(long record) {
+        return (int) (record >>> PLAYER_SHIFT) & 0xFF;
+    }
+
+    private static int coordinate(long bits) {
+        return (int) (bits << (64 - COORDINATE_BITS) >> (64 - COORDINATE_BITS));
+    }
+}
@@ -0,0 +1,293 @@
+package xzero.model;
+
+import java.awt.Point;
+import java.util.List;
+import xzero.model.engine.MoveSource;
+import xzero.model.events.ListenerList;
+import xzero.model.events.PlayerActionEvent;
+import xzero.model.events.PlayerActionListener;
+import xzero.model.labels.Label;
+import xzero.model.labels.SecretLabel;
+
+/**
+ *  Игрок, который получает активную метку и размещает её на игровом поле
+ */
+public class Player {
+
+    private String _name;
+
+    /**
+     * Устанавливает имя игрока
+     *
+     * @param name имя игрока
+     */
+    public void setName(String name) {
+        _name = name;
+    }
+
+    /**
+     * Возвращает имя игрока
+     *
+     * @return имя игрока
+     */
+    public String name() {
+        return _name;
+    }
+
+    private GameField _field;
+
+    // Номер игрока в порядке очерёдности партии; -1, если игрок не участвует в модели
+    private int _id = -1;
+
+    /**
+     * Возвращает номер игрока в порядке очерёдности, назначенный моделью игры
+     *
+     * @return номер игрока или -1, если игрок создан вне модели
+     */
+    public int id() {
+        return _id;
+    }
+
+    /**
+     * Назначает игроку номер в порядке очерёдности
+     *
+     * @param id номер игрока
+     */
+    void setId(int id) {
+        _id = id;
+    }
+
+    /**
+     * Создаёт игрока, связанного с указанным полем и именем
+     *
+     * @param field игровое поле, на котором действует игрок
+     * @param name имя игрока
+     */
+    public Player (GameField field, String name) {
+        _field = field;
+        _name = name;
+    }
+
+    private Label _label;
+
+    /**
+     * Назначает игроку активную метку, которую он должен установить
+     *
+     * @param label метка, назначаемая игроку
+     *
+     * @throws IllegalArgumentException если метка равна null
+     */
+    public void setActiveLabel(Label label) {
+        if (label == null) {
+            throw new IllegalArgumentException("Player: метка не может быть null");
+        }
+        _label = label;
+        _label.setPlacedBy(this);
+
+        fireLabelIsReceived(_label);
+    }
+
+    /**
+     * Забирает у игрока текущую активную метку
+     *
+     * @return активная метка
+     *
+     * @throws IllegalStateException если активная метка отсутствует
+     */
+    public Label takeActiveLabel() {
+        if (_label == null) {
+            throw new IllegalStateException("Player: метка не может быть null");
+        }
+        Label tmp = _label;
+        _label = null;
+        return tmp;
+    }
+
+    /**
+     * Возвращает текущую активную метку игрока
+     *
+     * @return активная метка или null, если метка не назначена
+     */
+    public Label activeLabel() {
+        return _label;
+    }
+
+    /**
+     * Устанавливает активную метку игрока в указанную позицию поля
+     *
+     * @param pos позиция на поле, куда требуется поставить метку
+     *
+     * @throws IllegalStateException если активная метка отсутствует
+     */
+    public void setLabelTo(Point pos){
+        if (_label == null) {
+            throw new IllegalStateException("Player: метка не может быть null");
+        }
+        if (pos == null) {
+            throw new IllegalArgumentException("Player: позиция не может быть null");
+        }
+        setLabelTo(pos.x, pos.y);
+    }
+
+    /**
+     * Устанавливает активную метку игрока в позицию с указанными координатами
+     *
+     * @param x номер столбца
+     * @param y номер строки
+     *
+     * @throws IllegalStateException если активная метка отсутствует
+     */
+    public void setLabelTo(int x, int y){
+        if (_label == null) {
+            throw new IllegalStateException("Player: метка не может быть null");
+        }
+        Label toPlace = _label;
+        if (_label instanceof SecretLabel) {
+            toPlace = ((SecretLabel)_label).reveal();
+            toPlace.setPlacedBy(this);
+        }
+        _field.setLabel(x, y, toPlace);
+
+        fireLabelIsPlaced(toPlace);
+
+        _label = null;
+    }
+
+    private MoveSource _moveSource;
+
+    /**
+     * Назначает игроку стратегию выбора ходов; игрок без стратегии управляется человеком
+     *
+     * @param moveSource источник ходов или null для ручного управления
+     */
+    public void setMoveSource(MoveSource moveSource) {
+        _moveSource = moveSource;
+    }
+
+    /**
+     * Возвращает стратегию выбора ходов игрока
+     *
+     * @return источник ходов или null, если игроком управляет человек
+     */
+    public MoveSource moveSource() {
+        return _moveSource;
+    }
+
+    /**
+     * Возвращает список всех меток, принадлежащих данному игроку на поле; время
+     * пропорционально количеству меток игрока
+     *
+     * @return неизменяемый список меток игрока
+     */
+    public List<Label> labels(){
+        return _field.labelsOf(this);
+    }
+
+    private final ListenerList<PlayerActionListener> _listenerList =
+            new ListenerList<>(PlayerActionListener.class);
+
+    /**
+     * Регистрирует слушателя действий игрока
+     *
+     * @param listener слушатель действий игрока
+     */
+    public void addPlayerActionListener(PlayerActionListener listener) {
+        _listenerList.add(listener);
+    }
+
+    /**
+     * Удаляет слушателя действий игрока
+     *
+     * @param listener слушатель действий игрока
+     */
+    public void removePlayerActionListener(PlayerActionListener listener) {
+        _listenerList.remove(listener);
+    }
+
+    // Событие, повторно используемое при каждом оповещении, и признак того, что оно уже
+    // передаётся слушателям; вложенное оповещение получает новый объект
+    private boolean _reusableEvents;
+    private PlayerActionEvent _event;
+    private boolean _eventInUse;
+
+    /**
+     * Включает режим, в котором оповещения слушателей не создают объектов: игрок передаёт
+     * им один и тот же объект события, поэтому событие действительно только во время
+     * вызова слушателя и не должно сохраняться
+     *
+     * @param enabled true — использовать одно событие повторно, false — создавать новое
+     */
+    public void setReusableEvents(boolean enabled) {
+        _reusableEvents = enabled;
+    }
+
+    /**
+     * Признак режима повторного использования событий
+     *
+     * @return true, если события используются повторно
+     */
+    public boolean reusableEvents() {
+        return _reusableEvents;
+    }
+
+    /**
+     * Генерирует событие установки метки игроком
+     *
+     * @param label метка, которая была установлена
+     */
+    protected void fireLabelIsPlaced(Label label) {
+        if (_listenerList.isEmpty()) {
+            return;
+        }
+        PlayerActionEvent event = acquireEvent(label);
+        try {
+            for (PlayerActionListener listener : _listenerList.listeners()) {
+                listener.labelIsPlaced(event);
+            }
+        } finally {
+            releaseEvent(event);
+        }
+    }
+
+    /**
+     * Генерирует событие получения активной метки игроком
+     *
+     * @param label метка, которая была получена
+     */
+    protected void fireLabelIsReceived(Label label) {
+        if (_listenerList.isEmpty()) {
+            return;
+        }
+        PlayerActionEvent event = acquireEvent(label);
+        try {
+            for (PlayerActionListener listener : _listenerList.listeners()) {
+                listener.labelIsReceived(event);
+            }
+        } finally {
+            releaseEvent(event);
+        }
+    }
+
+    private PlayerActionEvent acquireEvent(Label label) {
+        PlayerActionEvent event;
+        if (_reusableEvents && !_eventInUse) {
+            if (_event == null) {
+                _event = new PlayerActionEvent(this);
+            }
+            event = _event;
+            _eventInUse = true;
+        } else {
+            event = new PlayerActionEvent(this);
+        }
+        event.setPlayer(this);
+        event.setLabel(label);
+        return event;
+    }
+
+    private void releaseEvent(PlayerActionEvent event) {
+        if (event == _event) {
+            event.setLabel(null);
+            _eventInUse = false;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package xzero.model;
+
+import xzero.model.turn.OpponentPolicy;
+import xzero.model.win.FullScanWinDetector;
+import xzero.model.win.IncrementalWinDetector;
+import xzero.model.win.PatternWinDetector;
+import xzero.model.win.WinCheck;
+import xzero.model.win.WinDetector;
+
+/**
+ * Неизменяемый набор правил партии: размер поля, длина выигрышной линии, число пасов
+ * у каждого игрока, признак того, засчитывается ли линия длиннее выигрышной, количество
+ * игроков и правило выбора противника для делегированной метки.
+ * Стратегия определения победы строится по правилам один раз, поэтому проверки
+ * конкретного варианта игры не выполняются заново на каждом ходе
+ */
+public final class Rules {
+
+    /** Наибольшее количество игроков в партии */
+    public static final int MAX_PLAYERS = 8;
+
+    private final int _width;
+    private final int _height;
+    private final int _lineLength;
+    private final int _passLimit;
+    private final boolean _overlineWins;
+    private final int _playerCount;
+    private final OpponentPolicy _opponentPolicy;
+
+    /**
+     * Создаёт набор правил для двух игроков
+     *
+     * @param width ширина поля
+     * @param height высота поля
+     * @param lineLength длина выигрышной линии
+     * @param passLimit количество пасов у каждого игрока за партию
+     * @param overlineWins true, если линия длиннее выигрышной тоже приносит победу;
+     *                     false, если побеждает только линия точной длины
+     *
+     * @throws IllegalArgumentException если размер поля или длина линии не положительны
+     *                                  либо лимит пасов отрицателен
+     */
+    public Rules(int width, int height, int lineLength, int passLimit, boolean overlineWins) {
+        this(width, height, lineLength, passLimit, overlineWins, 2, OpponentPolicy.NEXT);
+    }
+
+    /**
+     * Создаёт набор правил
+     *
+     * @param width ширина поля
+     * @param height высота поля
+     * @param lineLength длина выигрышной линии
+     * @param passLimit количество пасов у каждого игрока за партию
+     * @param overlineWins true, если линия длиннее выигрышной тоже приносит победу;
+     *                     false, если побеждает только линия точной длины
+     * @param playerCount количество игроков, от 2 до MAX_PLAYERS
+     * @param opponentPolicy правило выбора противника для делегированной метки
+     *
+     * @throws IllegalArgumentException если размер поля или длина линии не положительны,
+     *                                  лимит пасов отрицателен, количество игроков вне
+     *                                  допустимого диапазона или правило равно null
+     */
+    public Rules(int width, int height, int lineLength, int passLimit, boolean overlineWins,
+                 int playerCount, OpponentPolicy opponentPolicy) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Rules: размер поля должен быть положительным");
+        }
+        if (lineLength <= 0) {
+            throw new IllegalArgumentException("Rules: длина выигрышной линии должна быть положительной");
+        }
+        if (passLimit < 0) {
+            throw new IllegalArgumentException("Rules: лимит пасов не может быть отрицательным");
+        }
+        if (playerCount < 2 || playerCount > MAX_PLAYERS) {
+            throw new IllegalArgumentException("Rules: количество игроков должно быть от 2 до " + MAX_PLAYERS);
+        }
+        if (opponentPolicy == null) {
+            throw new IllegalArgumentException("Rules: правило выбора противника не может быть null");
+        }
+        _width = width;
+        _height = height;
+        _lineLength = lineLength;
+        _passLimit = passLimit;
+        _overlineWins = overlineWins;
+        _playerCount = playerCount;
+        _opponentPolicy = opponentPolicy;
+    }
+
+    /**
+     * Правила по умолчанию: поле 5x5, линия из пяти меток, один пас, длинная линия засчитывается
+     *
+     * @return стандартные правила
+     */
+    public static Rules standard() {
+        return new Rules(5, 5, 5, 1, true);
+    }
+
+    // ------------------------------- Параметры ------------------------------------
+    /**
+     * Ширина игрового поля
+     *
+     * @return ширина поля
+     */
+    public int width() {
+        return _width;
+    }
+
+    /**
+     * Высота игрового поля
+     *
+     * @return высота поля
+     */
+    public int height() {
+        return _height;
+    }
+
+    /**
+     * Длина линии, приносящей победу
+     *
+     * @return длина выигрышной линии
+     */
+    public int lineLength() {
+        return _lineLength;
+    }
+
+    /**
+     * Лимит пасов, выдаваемых каждому игроку на партию
+     *
+     * @return количество пасов у каждого игрока за партию
+     */
+    public int passLimit() {
+        return _passLimit;
+    }
+
+    /**
+     * Признак того, что линия длиннее выигрышной тоже засчитывается
+     *
+     * @return true, если линия длиннее выигрышной тоже приносит победу
+     */
+    public boolean overlineWins() {
+        return _overlineWins;
+    }
+
+    /**
+     * Количество участников партии
+     *
+     * @return количество игроков
+     */
+    public int playerCount() {
+        return _playerCount;
+    }
+
+    /**
+     * Правило, по которому делегированная метка достаётся противнику
+     *
+     * @return правило выбора противника для делегированной метки
+     */
+    public OpponentPolicy opponentPolicy() {
+        return _opponentPolicy;
+    }
+
+    // ------------------------------ Изменённые копии ------------------------------
+    /**
+     * Возвращает копию правил с другим размером поля
+     *
+     * @param width ширина поля
+     * @param height высота поля
+     * @return новые правила
+     */
+    public Rules withBoardSize(int width, int height) {
+        return new Rules(width, height, _lineLength, _passLimit, _overlineWins, _playerCount, _opponentPolicy);
+    }
+
+    /**
+     * Возвращает копию правил с другой длиной выигрышной линии
+     *
+     * @param lineLength длина выигрышной линии
+     * @return новые правила
+     */
+    public Rules withLineLength(int lineLength) {
+        return new Rules(_width, _height, lineLength, _passLimit, _overlineWins, _playerCount, _opponentPolicy);
+    }
+
+    /**
+     * Возвращает копию правил с другим количеством пасов
+     *
+     * @param passLimit количество пасов у каждого игрока
+     * @return новые правила
+     */
+    public Rules withPassLimit(int passLimit) {
+        return new Rules(_width, _height, _lineLength, passLimit, _overlineWins, _playerCount, _opponentPolicy);
+    }
+
+    /**
+     * Возвращает копию правил с другим отношением к линиям длиннее выигрышной
+     *
+     * @param overlineWins true, если длинная линия приносит победу
+     * @return новые правила
+     */
+    public Rules withOverlineWins(boolean overlineWins) {
+        return new Rules(_width, _height, _lineLength, _passLimit, overlineWins, _playerCount, _opponentPolicy);
+    }
+
+    /**
+     * Возвращает копию правил с другим количеством игроков
+     *
+     * @param playerCount количество игроков
+     * @return новые правила
+     */
+    public Rules withPlayerCount(int playerCount) {
+        return new Rules(_width, _height, _lineLength, _passLimit, _overlineWins, playerCount, _opponentPolicy);
+    }
+
+    /**
+     * Возвращает копию правил с другим правилом выбора противника
+     *
+     * @param opponentPolicy правило выбора противника для делегированной метки
+     * @return новые правила
+     */
+    public Rules withOpponentPolicy(OpponentPolicy opponentPolicy) {
+        return new Rules(_width, _height, _lineLength, _passLimit, _overlineWins, _playerCount, opponentPolicy);
+    }
+
+    // --------------------------- Определение победы -------------------------------
+    /**
+     * Строит стратегию определения победы выбранного способа, настроенную на эти правила
+     *
+     * @param check способ проверки победы
+     * @return стратегия определения победы
+     *
+     * @throws IllegalArgumentException если способ проверки равен null
+     */
+    public WinDetector winDetector(WinCheck check) {
+        if (check == null) {
+            throw new IllegalArgumentException("Способ проверки победы не может быть null");
+        }
+        switch (check) {
+            case FULL_SCAN:
+                return new FullScanWinDetector(_lineLength, _overlineWins);
+            case PATTERN:
+                return new PatternWinDetector(_lineLength, _overlineWins);
+            case INCREMENTAL:
+            default:
+                return new IncrementalWinDetector(_lineLength, _overlineWins);
+        }
+    }
+
+    // ----------------------------------------------------------------------------
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Rules)) {
+            return false;
+        }
+        Rules other = (Rules) o;
+        return _width == other._width && _height == other._height
+                && _lineLength == other._lineLength && _passLimit == other._passLimit
+                && _overlineWins == other._overlineWins && _playerCount == other._playerCount
+                && _opponentPolicy == other._opponentPolicy;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = _width;
+        h = 31 * h + _height;
+        h = 31 * h + _lineLength;
+        h = 31 * h + _passLimit;
+        h = 31 * h + (_overlineWins ? 1 : 0);
+        h = 31 * h + _playerCount;
+        return 31 * h + _opponentPolicy.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return _lineLength + " в ряд на поле " + _width + "x" + _height
+                + ", пасов: " + _passLimit + (_overlineWins ? "" : ", только точная длина")
+                + ", игроков: " + _playerCount;
+    }
+}
@@ -0,0 +1,419 @@
+package xzero.model;
+
+import java.util.ArrayList;
+
+import xzero.model.factory.CellFactory;
+import xzero.model.labels.Label;
+
+/**
+ * Неограниченное поле: координаты могут быть любыми, в том числе отрицательными, в пределах
+ * ±COORDINATE_LIMIT. Ячейки создаются при первой установке метки и хранятся в квадратных
+ * блоках 64x64, которые ищутся по упакованным в long координатам блока; в каждом блоке
+ * строка занятости хранится одним словом long. Размер поля не задаётся, а перебор меток
+ * и линий зависит от количества занятых ячеек, а не от площади поля. Упакованный индекс
+ * позиции отсчитывается от угла (-COORDINATE_LIMIT, -COORDINATE_LIMIT) и помещается в int
+ */
+public class SparseGameField extends GameField {
+
+    /** Наибольшее по модулю значение координаты; квадрат стороны диапазона помещается в int */
+    public static final int COORDINATE_LIMIT = 23_169;
+
+    private static final int SIDE = 2 * COORDINATE_LIMIT + 1;
+
+    private static final int CHUNK_BITS = 6;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final ChunkMap _chunks = new ChunkMap();
+    private final ArrayList<Chunk> _chunkList = new ArrayList<>();
+    private CellFactory _cellFactory = new CellFactory();
+    private int _labelCount;
+
+    /**
+     * Задаёт фабрику, через которую создаются ячейки при первой установке метки
+     *
+     * @param cellFactory фабрика ячеек
+     *
+     * @throws IllegalArgumentException если фабрика равна null
+     */
+    public void setCellFactory(CellFactory cellFactory) {
+        if (cellFactory == null) {
+            throw new IllegalArgumentException("Фабрика ячеек не может быть null");
+        }
+        _cellFactory = cellFactory;
+    }
+
+    // ------------------------------ Ячейки ---------------------------------------
+    @Override
+    Cell cell(int x, int y) {
+        if (!containsRange(x, y)) {
+            return null;
+        }
+        Chunk chunk = _chunks.get(chunkKey(x, y));
+        return chunk == null ? null : chunk._cells[offset(x, y)];
+    }
+
+    @Override
+    Cell cell(int index) {
+        return containsIndex(index) ? cell(x(index), y(index)) : null;
+    }
+
+    /**
+     * Устанавливает ячейку в позицию с указанными координатами
+     *
+     * @param x номер столбца
+     * @param y номер строки
+     * @param cell ячейка
+     *
+     * @throws IllegalArgumentException если ячейка равна null
+     * @throws IndexOutOfBoundsException если координата превышает COORDINATE_LIMIT
+     */
+    @Override
+    public void setCell(int x, int y, Cell cell) {
+        if (cell == null) {
+            throw new IllegalArgumentException("Ячейка не может быть null");
+        }
+        if (!containsRange(x, y)) {
+            throw new IndexOutOfBoundsException("Позиция вне поля: (" + x + ", " + y + ")");
+        }
+        Chunk chunk = chunkFor(x, y);
+        int offset = offset(x, y);
+        Cell old = chunk._cells[offset];
+        reindexCell(old, cell);
+        if (old != null && !old.isEmpty()) {
+            chunk.clearBit(offset);
+            _labelCount--;
+        }
+
+        cell.setField(this);
+        cell.setPosition(x, y);
+        chunk._cells[offset] = cell;
+        if (!cell.isEmpty()) {
+            chunk.setBit(offset);
+            _labelCount++;
+        }
+    }
+
+    /**
+     * Очищает поле, удаляя все блоки ячеек
+     */
+    @Override
+    public void clear() {
+        _chunks.clear();
+        _chunkList.clear();
+        _labelCount = 0;
+        clearLabelIndex();
+    }
+
+    /**
+     * Неограниченное поле никогда не бывает заполнено ячейками целиком
+     *
+     * @return false
+     */
+    @Override
+    public boolean isFilled() {
+        return false;
+    }
+
+    /**
+     * Удаляет все метки, сохраняя созданные ячейки; просматриваются только занятые строки блоков
+     */
+    @Override
+    public void clearLabels() {
+        for (Chunk chunk : _chunkList) {
+            for (int row = 0; row < CHUNK_SIZE && chunk._labelCount > 0; row++) {
+                long bits = chunk._occupied[row];
+                while (bits != 0) {
+                    int col = Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    chunk._cells[row << CHUNK_BITS | col].removeLabel();
+                }
+            }
+        }
+    }
+
+    // ------------------------------ Метки ---------------------------------------
+    @Override
+    public Label label(int x, int y) {
+        Cell cell = cell(x, y);
+        return cell == null ? null : cell.label();
+    }
+
+    /**
+     * Устанавливает метку в позицию с указанными координатами, создавая ячейку при необходимости
+     *
+     * @param x номер столбца
+     * @param y номер строки
+     * @param label метка
+     *
+     * @throws IllegalArgumentException если метка равна null
+     * @throws IndexOutOfBoundsException если координата превышает COORDINATE_LIMIT
+     * @throws IllegalStateException если ячейка занята или метка установлена в другой ячейке
+     */
+    @Override
+    public void setLabel(int x, int y, Label label) {
+        if (label == null) {
+            throw new IllegalArgumentException("Нельзя установить null-метку");
+        }
+        if (!containsRange(x, y)) {
+            throw new IndexOutOfBoundsException("Позиция вне поля: (" + x + ", " + y + ")");
+        }
+        Chunk chunk = chunkFor(x, y);
+        int offset = offset(x, y);
+        Cell cell = chunk._cells[offset];
+        if (cell == null) {
+            cell = _cellFactory.createCell();
+            cell.setField(this);
+            cell.setPosition(x, y);
+            chunk._cells[offset] = cell;
+        }
+        if (label.cell() != null && label.cell() != cell) {
+            throw new IllegalStateException("Эта метка уже установлена в другой ячейке");
+        }
+        cell.placeLabel(label);
+    }
+
+    /**
+     * Устанавливает метку в позицию с указанным упакованным индексом, создавая ячейку
+     * при необходимости
+     *
+     * @param index индекс позиции
+     * @param label метка
+     *
+     * @throws IllegalArgumentException если метка равна null
+     * @throws IndexOutOfBoundsException если индекс выходит за пределы поля
+     * @throws IllegalStateException если ячейка занята или метка установлена в другой ячейке
+     */
+    @Override
+    public void setLabel(int index, Label label) {
+        if (!containsIndex(index)) {
+            throw new IndexOutOfBoundsException("Индекс вне поля: " + index);
+        }
+        setLabel(x(index), y(index), label);
+    }
+
+    /**
+     * Количество меток на поле
+     *
+     * @return количество занятых ячеек
+     */
+    public int labelCount() {
+        return _labelCount;
+    }
+
+    /**
+     * Количество созданных блоков ячеек
+     *
+     * @return количество блоков
+     */
+    public int chunkCount() {
+        return _chunkList.size();
+    }
+
+    // ---------------- Уведомления от ячеек об изменении меток -------------------
+    @Override
+    void labelPlaced(Cell cell) {
+        Chunk chunk = ownChunk(cell);
+        if (chunk != null) {
+            chunk.setBit(offset(cell.x(), cell.y()));
+            _labelCount++;
+        }
+    }
+
+    @Override
+    void labelRemoved(Cell cell, Label label) {
+        Chunk chunk = ownChunk(cell);
+        if (chunk != null) {
+            chunk.clearBit(offset(cell.x(), cell.y()));
+            _labelCount--;
+        }
+    }
+
+    // ----------------------- Ширина и высота поля ------------------------------
+    /**
+     * Размер неограниченного поля не задаётся; вызов ничего не меняет
+     */
+    @Override
+    public void setSize(int width, int height) {
+    }
+
+    /**
+     * Ширина допустимого диапазона координат
+     *
+     * @return количество допустимых значений координаты
+     */
+    @Override
+    public int width() {
+        return SIDE;
+    }
+
+    /**
+     * Высота допустимого диапазона координат
+     *
+     * @return количество допустимых значений координаты
+     */
+    @Override
+    public int height() {
+        return SIDE;
+    }
+
+    @Override
+    public boolean containsRange(int x, int y) {
+        return Math.abs(x) <= COORDINATE_LIMIT && Math.abs(y) <= COORDINATE_LIMIT;
+    }
+
+    /**
+     * Проверяет, можно ли поставить метку в позицию: ячейки создаются при установке
+     * метки, поэтому достаточно попадания в допустимый диапазон
+     *
+     * @param x номер столбца
+     * @param y номер строки
+     * @return true, если позиция в допустимом диапазоне
+     */
+    @Override
+    public boolean hasCell(int x, int y) {
+        return containsRange(x, y);
+    }
+
+    @Override
+    public boolean containsIndex(int index) {
+        return index >= 0 && index < SIDE * SIDE;
+    }
+
+    // -------------------------- Упакованные индексы -----------------------------
+    @Override
+    public int index(int x, int y) {
+        return (y + COORDINATE_LIMIT) * SIDE + (x + COORDINATE_LIMIT);
+    }
+
+    @Override
+    public int x(int index) {
+        return index % SIDE - COORDINATE_LIMIT;
+    }
+
+    @Override
+    public int y(int index) {
+        return index / SIDE - COORDINATE_LIMIT;
+    }
+
+    // ------------------------------ Блоки ---------------------------------------
+    private Chunk ownChunk(Cell cell) {
+        Chunk chunk = _chunks.get(chunkKey(cell.x(), cell.y()));
+        return chunk != null && chunk._cells[offset(cell.x(), cell.y())] == cell ? chunk : null;
+    }
+
+    private Chunk chunkFor(int x, int y) {
+        long key = chunkKey(x, y);
+        Chunk chunk = _chunks.get(key);
+        if (chunk == null) {
+            chunk = new Chunk();
+            _chunks.put(key, chunk);
+            _chunkList.add(chunk);
+        }
+        return chunk;
+    }
+
+    private static long chunkKey(int x, int y) {
+        return (long) (y >> CHUNK_BITS) << 32 | ((x >> CHUNK_BITS) & 0xFFFFFFFFL);
+    }
+
+    private static int offset(int x, int y) {
+        return (y & CHUNK_MASK) << CHUNK_BITS | (x & CHUNK_MASK);
+    }
+
+    /**
+     * Блок 64x64 ячеек с построчными битовыми масками занятости
+     */
+    private static final class Chunk {
+        private final Cell[] _cells = new Cell[CHUNK_SIZE * CHUNK_SIZE];
+        private final long[] _occupied = new long[CHUNK_SIZE];
+        private int _labelCount;
+
+        void setBit(int offset) {
+            _occupied[offset >>> CHUNK_BITS] |= 1L << (offset & CHUNK_MASK);
+            _labelCount++;
+        }
+
+        void clearBit(int offset) {
+            _occupied[offset >>> CHUNK_BITS] &= ~(1L << (offset & CHUNK_MASK));
+            _labelCount--;
+        }
+    }
+
+    /**
+     * Хеш-таблица с открытой адресацией из упакованных координат блока в блок;
+     * ключи хранятся примитивами, поэтому поиск не создаёт объектов
+     */
+    private static final class ChunkMap {
+        private long[] _keys = new long[16];
+        private Chunk[] _values = new Chunk[16];
+        private int _size;
+        private long _lastKey;
+        private Chunk _lastChunk;
+
+        Chunk get(long key) {
+            if (_lastChunk != null && _lastKey == key) {
+                return _lastChunk;
+            }
+            int mask = _keys.length - 1;
+            for (int i = slot(key, mask); _values[i] != null; i = (i + 1) & mask) {
+                if (_keys[i] == key) {
+                    _lastKey = key;
+                    _lastChunk = _values[i];
+                    return _lastChunk;
+                }
+            }
+            return null;
+        }
+
+        void put(long key, Chunk chunk) {
+            if (2 * (_size + 1) > _keys.length) {
+                grow();
+            }
+            insert(key, chunk);
+            _size++;
+        }
+
+        void clear() {
+            _keys = new long[16];
+            _values = new Chunk[16];
+            _size = 0;
+            _lastChunk = null;
+        }
+
+        private void insert(long key, Chunk chunk) {
+            int mask = _keys.length - 1;
+            int i = slot(key, mask);
+            while (_values[i] != null) {
+                i = (i + 1) & mask;
+            }
+            _keys[i] = key;
+            _values[i] = chunk;
+        }
+
+        private void grow() {
+            long[] keys = _keys;
+            Chunk[] values = _values;
+            _keys = new long[keys.length * 2];
+            _values = new Chunk[values.length * 2];
+            for (int i = 0; i < keys.length; i++) {
+                if (values[i] != null) {
+                    insert(keys[i], values[i]);
+                }
+            }
+        }
+
+        private static int slot(long key, int mask) {
+            return (int) ((key * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+        }
+    }
+
+    // ----------------------------------------------------------------------------
+    /**
+     * Создаёт пустое неограниченное поле; ячейки хранятся в блоках, поэтому массив ячеек
+     * базового класса не выделяется
+     */
+    public SparseGameField() {
+        super(false);
+    }
+}
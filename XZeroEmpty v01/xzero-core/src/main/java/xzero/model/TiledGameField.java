@@ -0,0 +1,362 @@
+package xzero.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import xzero.model.labels.Label;
+import xzero.model.navigation.Direction;
+
+/**
+ * Прямоугольное поле для очень больших досок (от миллиона ячеек): поле разбито на
+ * плитки 8x8, ячейки каждой плитки лежат в массивах подряд, поэтому соседние по
+ * вертикали ячейки находятся рядом в памяти. Для каждой плитки хранятся номера владельцев
+ * меток (по байту на ячейку) и маска занятости в одном слове long, а поверх масок — карта
+ * непустых плиток, по которой снятие всех меток пропускает пустые плитки по 64 за раз.
+ * Размеры поля и упакованные построчные индексы позиций берутся у базового поля,
+ * а его массив ячеек не используется
+ */
+public class TiledGameField extends GameField {
+
+    private static final int TILE_BITS = 3;
+    private static final int TILE_SIZE = 1 << TILE_BITS;
+    private static final int TILE_MASK = TILE_SIZE - 1;
+    private static final int TILE_CELLS_BITS = 2 * TILE_BITS;
+
+    /** Наибольшее количество различных владельцев меток на поле */
+    public static final int MAX_OWNERS = 255;
+
+    private int _tilesPerRow;
+
+    // Ячейки и номера владельцев по плиткам: индекс = номер плитки * 64 + смещение в плитке
+    private Cell[] _cells = new Cell[0];
+    private byte[] _owners = new byte[0];
+    // Маска занятых ячеек каждой плитки и карта плиток с ненулевой маской
+    private long[] _occupied = new long[0];
+    private long[] _nonEmptyTiles = new long[0];
+
+    private int _filledCount;
+    private int _labelCount;
+
+    // Владельцы в порядке появления на поле: номер владельца — позиция в массиве плюс 1,
+    // 0 означает пустую ячейку
+    private final Player[] _ownerTable = new Player[MAX_OWNERS];
+    private int _ownerCount;
+
+    // ------------------------------ Ячейки ---------------------------------------
+    @Override
+    Cell cell(int x, int y) {
+        return containsRange(x, y) ? _cells[slot(x, y)] : null;
+    }
+
+    @Override
+    Cell cell(int index) {
+        return containsIndex(index) ? _cells[slot(x(index), y(index))] : null;
+    }
+
+    /**
+     * Устанавливает ячейку в позицию с указанными координатами
+     *
+     * @param x номер столбца
+     * @param y номер строки
+     * @param cell ячейка
+     *
+     * @throws IllegalArgumentException если ячейка равна null
+     * @throws IndexOutOfBoundsException если позиция выходит за пределы поля
+     */
+    @Override
+    public void setCell(int x, int y, Cell cell) {
+        if (cell == null) {
+            throw new IllegalArgumentException("Ячейка не может быть null");
+        }
+        if (!containsRange(x, y)) {
+            throw new IndexOutOfBoundsException("Позиция вне поля: (" + x + ", " + y + ")");
+        }
+
+        cell.setField(this);
+        cell.setPosition(x, y);
+
+        int slot = slot(x, y);
+        if (_cells[slot] == null) {
+            _filledCount++;
+        }
+        reindexCell(_cells[slot], cell);
+        clearSlot(slot);
+        _cells[slot] = cell;
+        if (!cell.isEmpty()) {
+            occupySlot(slot, cell.label().owner());
+        }
+    }
+
+    /**
+     * Очищает игровое поле, удаляя все ячейки
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(_cells, null);
+        Arrays.fill(_owners, (byte) 0);
+        Arrays.fill(_occupied, 0L);
+        Arrays.fill(_nonEmptyTiles, 0L);
+        Arrays.fill(_ownerTable, 0, _ownerCount, null);
+        _ownerCount = 0;
+        _filledCount = 0;
+        _labelCount = 0;
+        clearLabelIndex();
+    }
+
+    @Override
+    public boolean isFilled() {
+        return _filledCount == (long) width() * height();
+    }
+
+    /**
+     * Удаляет все метки, сохраняя ячейки; просматриваются только непустые плитки
+     */
+    @Override
+    public void clearLabels() {
+        for (int word = 0; word < _nonEmptyTiles.length; word++) {
+            long tiles = _nonEmptyTiles[word];
+            while (tiles != 0) {
+                int tile = word << 6 | Long.numberOfTrailingZeros(tiles);
+                tiles &= tiles - 1;
+                long bits = _occupied[tile];
+                while (bits != 0) {
+                    int slot = tile << TILE_CELLS_BITS | Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    _cells[slot].removeLabel();
+                }
+            }
+        }
+    }
+
+    // ------------------------------ Метки ---------------------------------------
+    /**
+     * Устанавливает метку в ячейку с указанным упакованным индексом
+     *
+     * @param index индекс позиции
+     * @param label метка
+     *
+     * @throws IllegalArgumentException если метка равна null
+     * @throws IndexOutOfBoundsException если индекс выходит за пределы поля
+     * @throws IllegalStateException если ячейка не создана или метка уже установлена в другой ячейке
+     */
+    @Override
+    public void setLabel(int index, Label label) {
+        if (label == null) {
+            throw new IllegalArgumentException("Нельзя установить null-метку");
+        }
+        if (!containsIndex(index)) {
+            throw new IndexOutOfBoundsException("Индекс вне поля: " + index);
+        }
+        Cell obj = _cells[slot(x(index), y(index))];
+        if (obj == null) {
+            throw new IllegalStateException("Ячейка по позиции (" + x(index) + ", " + y(index) + ") не создана");
+        }
+        if (label.cell() != null && label.cell() != obj) {
+            throw new IllegalStateException("Эта метка уже установлена в другой ячейке");
+        }
+        obj.placeLabel(label);
+    }
+
+    /**
+     * Возвращает последовательность меток одного игрока в заданном направлении;
+     * владельцы сравниваются по номерам из плиток, без обращения к самим меткам
+     *
+     * @param x номер столбца начальной позиции
+     * @param y номер строки начальной позиции
+     * @param direct направление поиска
+     * @return список меток, образующих линию
+     */
+    @Override
+    public List<Label> labelLine(int x, int y, Direction direct) {
+        ArrayList<Label> line = new ArrayList<>();
+        if (!containsRange(x, y)) {
+            return line;
+        }
+        int slot = slot(x, y);
+        byte owner = _owners[slot];
+        if (owner == 0) {
+            return line;
+        }
+
+        int dx = direct.dx();
+        int dy = direct.dy();
+        do {
+            line.add(_cells[slot].label());
+            x += dx;
+            y += dy;
+        } while (containsRange(x, y) && _owners[slot = slot(x, y)] == owner);
+
+        return line;
+    }
+
+    /**
+     * Количество меток на поле
+     *
+     * @return количество занятых ячеек
+     */
+    public int labelCount() {
+        return _labelCount;
+    }
+
+    /**
+     * Количество плиток, в которых есть хотя бы одна метка
+     *
+     * @return количество непустых плиток
+     */
+    public int occupiedTileCount() {
+        int count = 0;
+        for (long tiles : _nonEmptyTiles) {
+            count += Long.bitCount(tiles);
+        }
+        return count;
+    }
+
+    // ---------------- Уведомления от ячеек об изменении меток -------------------
+    @Override
+    void labelPlaced(Cell cell) {
+        int slot = slotOf(cell);
+        if (slot >= 0) {
+            occupySlot(slot, cell.label().owner());
+        }
+    }
+
+    @Override
+    void labelRemoved(Cell cell, Label label) {
+        int slot = slotOf(cell);
+        if (slot >= 0) {
+            clearSlot(slot);
+        }
+    }
+
+    // ----------------------- Ширина и высота поля ------------------------------
+    /**
+     * Устанавливает размеры игрового поля, сохраняя ячейки, попадающие в новые границы
+     *
+     * @param width ширина поля
+     * @param height высота поля
+     */
+    @Override
+    public void setSize(int width, int height) {
+        int oldWidth = width();
+        int oldHeight = height();
+        super.setSize(width, height);
+        resizeTiles(oldWidth, oldHeight);
+    }
+
+    // ------------------------------ Плитки --------------------------------------
+    /**
+     * Перестраивает плитки под размеры, уже установленные в базовом поле, перенося ячейки
+     * из прежних границ; не переопределяется наследниками, поэтому безопасно вызывается
+     * из конструктора
+     *
+     * @param oldWidth ширина поля до изменения размеров
+     * @param oldHeight высота поля до изменения размеров
+     */
+    private void resizeTiles(int oldWidth, int oldHeight) {
+        int width = width();
+        int height = height();
+        Cell[] oldCells = _cells;
+        int oldTilesPerRow = _tilesPerRow;
+
+        _tilesPerRow = (width + TILE_MASK) >>> TILE_BITS;
+        int tileCount = _tilesPerRow * ((height + TILE_MASK) >>> TILE_BITS);
+        _cells = new Cell[tileCount << TILE_CELLS_BITS];
+        _owners = new byte[_cells.length];
+        _occupied = new long[tileCount];
+        _nonEmptyTiles = new long[(tileCount + 63) >>> 6];
+        Arrays.fill(_ownerTable, 0, _ownerCount, null);
+        _ownerCount = 0;
+        _filledCount = 0;
+        _labelCount = 0;
+        clearLabelIndex();
+
+        int keepWidth = Math.min(oldWidth, width);
+        int keepHeight = Math.min(oldHeight, height);
+        for (int y = 1; y <= keepHeight; y++) {
+            for (int x = 1; x <= keepWidth; x++) {
+                Cell cell = oldCells[slot(x, y, oldTilesPerRow)];
+                if (cell != null) {
+                    int slot = slot(x, y);
+                    _cells[slot] = cell;
+                    _filledCount++;
+                    reindexCell(null, cell);
+                    if (!cell.isEmpty()) {
+                        occupySlot(slot, cell.label().owner());
+                    }
+                }
+            }
+        }
+    }
+
+    private int slot(int x, int y) {
+        return slot(x, y, _tilesPerRow);
+    }
+
+    private static int slot(int x, int y, int tilesPerRow) {
+        int col = x - 1;
+        int row = y - 1;
+        int tile = (row >>> TILE_BITS) * tilesPerRow + (col >>> TILE_BITS);
+        return tile << TILE_CELLS_BITS | (row & TILE_MASK) << TILE_BITS | (col & TILE_MASK);
+    }
+
+    /**
+     * Возвращает место ячейки в плитках или -1, если ячейка не принадлежит этому полю
+     */
+    private int slotOf(Cell cell) {
+        int x = cell.x();
+        int y = cell.y();
+        if (!containsRange(x, y)) {
+            return -1;
+        }
+        int slot = slot(x, y);
+        return _cells[slot] == cell ? slot : -1;
+    }
+
+    private void occupySlot(int slot, Player owner) {
+        int tile = slot >>> TILE_CELLS_BITS;
+        long bit = 1L << (slot & 63);
+        if ((_occupied[tile] & bit) == 0) {
+            _labelCount++;
+        }
+        _occupied[tile] |= bit;
+        _nonEmptyTiles[tile >>> 6] |= 1L << tile;
+        _owners[slot] = (byte) ownerId(owner);
+    }
+
+    private void clearSlot(int slot) {
+        int tile = slot >>> TILE_CELLS_BITS;
+        long bit = 1L << (slot & 63);
+        if ((_occupied[tile] & bit) == 0) {
+            return;
+        }
+        _labelCount--;
+        _owners[slot] = 0;
+        _occupied[tile] &= ~bit;
+        if (_occupied[tile] == 0) {
+            _nonEmptyTiles[tile >>> 6] &= ~(1L << tile);
+        }
+    }
+
+    private int ownerId(Player owner) {
+        for (int i = 0; i < _ownerCount; i++) {
+            if (_ownerTable[i] == owner) {
+                return i + 1;
+            }
+        }
+        if (_ownerCount == MAX_OWNERS) {
+            throw new IllegalStateException("На поле не может быть больше " + MAX_OWNERS + " владельцев меток");
+        }
+        _ownerTable[_ownerCount] = owner;
+        return ++_ownerCount;
+    }
+
+    // ----------------------------------------------------------------------------
+    /**
+     * Создаёт игровое поле с размерами по умолчанию
+     */
+    public TiledGameField() {
+        super(false);
+        resizeTiles(0, 0);
+    }
+}
@@ -0,0 +1,446 @@
+package xzero.model.ai;
+
+import java.util.Arrays;
+
+import xzero.model.Rules;
+import xzero.model.engine.GameEngine;
+import xzero.model.engine.Move;
+import xzero.model.engine.MoveSource;
+import xzero.model.labels.LabelType;
+
+/**
+ * Компьютерный игрок: перебор с альфа-бета отсечением и итеративным углублением
+ * в пределах бюджета времени на ход. Позиции хешируются по Зобристу с учётом владельца
+ * и типа метки и кешируются в таблице транспозиций; ходы упорядочиваются по угрозам —
+ * сначала победные, затем блокирующие и удлиняющие линии. В переборе участвуют пасы
+ * (пока они не израсходованы) и делегированные метки, которые достаются противнику.
+ * Экземпляр хранит состояние поиска и не должен использоваться из нескольких потоков
+ */
+public class AlphaBetaMoveSource implements MoveSource {
+
+    private static final int WIN_SCORE = 1_000_000;
+    private static final int INFINITY = WIN_SCORE + 1;
+    private static final int MAX_PLY = 64;
+    private static final int NO_MOVE = Integer.MIN_VALUE;
+    private static final int PASS_MOVE = -1;
+    private static final int NEIGHBOURHOOD = 2;
+    private static final int DELEGATED_CANDIDATES = 2;
+    private static final int WINNING_ORDER = 1 << 30;
+    private static final int BLOCKING_ORDER = 1 << 29;
+    private static final long ZOBRIST_SEED = 0x5EED_2E80L;
+
+    private static final SearchTimeout TIMEOUT = new SearchTimeout();
+
+    private final long _timeBudgetNanos;
+    private final int _maxDepth;
+    private final TranspositionTable _table;
+    private int _maxCandidates = 16;
+    private boolean _hiddenLabels;
+
+    private Zobrist _zobrist;
+    private int _zobristCells = -1;
+    private int _boardLeft;
+    private int _boardTop;
+    private Rules _boardRules;
+    private SearchBoard _board;
+    private long _deadline;
+    private long _nodes;
+    private int _completedDepth;
+    private int _score;
+    private final int[][] _moves = new int[MAX_PLY][];
+    private final int[][] _orders = new int[MAX_PLY][];
+    private int[] _marks = new int[0];
+    private int _markStamp;
+
+    /**
+     * Создаёт игрока с таблицей транспозиций на 2^20 записей
+     *
+     * @param timeBudgetMillis бюджет времени на ход в миллисекундах
+     * @param maxDepth наибольшая глубина перебора
+     */
+    public AlphaBetaMoveSource(long timeBudgetMillis, int maxDepth) {
+        this(timeBudgetMillis, maxDepth, 20);
+    }
+
+    /**
+     * Создаёт игрока. Длина победной линии и победа длинной линии берутся из правил
+     * партии при выборе каждого хода
+     *
+     * @param timeBudgetMillis бюджет времени на ход в миллисекундах
+     * @param maxDepth наибольшая глубина перебора
+     * @param tableSizeLog2 двоичный логарифм количества записей таблицы транспозиций
+     *
+     * @throws IllegalArgumentException если параметры вне допустимых диапазонов
+     */
+    public AlphaBetaMoveSource(long timeBudgetMillis, int maxDepth, int tableSizeLog2) {
+        if (timeBudgetMillis <= 0) {
+            throw new IllegalArgumentException("Бюджет времени на ход должен быть положительным");
+        }
+        if (maxDepth < 1 || maxDepth >= MAX_PLY) {
+            throw new IllegalArgumentException("Глубина перебора должна быть в диапазоне 1.." + (MAX_PLY - 1));
+        }
+        _timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+        _maxDepth = maxDepth;
+        _table = new TranspositionTable(tableSizeLog2);
+    }
+
+    /**
+     * Ограничивает количество клеток, рассматриваемых в каждом узле перебора
+     *
+     * @param maxCandidates количество лучших по угрозам клеток
+     *
+     * @throws IllegalArgumentException если количество меньше 1
+     */
+    public void setMaxCandidates(int maxCandidates) {
+        if (maxCandidates < 1) {
+            throw new IllegalArgumentException("Количество кандидатов должно быть положительным");
+        }
+        _maxCandidates = maxCandidates;
+    }
+
+    /**
+     * Включает установку собственных меток скрытыми, чтобы не раскрывать противнику
+     * их владельца; на перебор это не влияет
+     *
+     * @param enabled true — ставить скрытые метки вместо обычных
+     */
+    public void setHiddenLabels(boolean enabled) {
+        _hiddenLabels = enabled;
+    }
+
+    /**
+     * Глубина последней полностью завершённой итерации поиска
+     *
+     * @return глубина в полуходах
+     */
+    public int lastDepth() {
+        return _completedDepth;
+    }
+
+    /**
+     * Количество узлов, просмотренных при выборе последнего хода
+     *
+     * @return количество узлов
+     */
+    public long lastNodeCount() {
+        return _nodes;
+    }
+
+    /**
+     * Оценка выбранного хода с точки зрения сделавшего его игрока
+     *
+     * @return оценка позиции
+     */
+    public int lastScore() {
+        return _score;
+    }
+
+    /**
+     * Выбирает ход итеративным углублением в пределах бюджета времени. Таблица транспозиций
+     * очищается при смене правил и на поле больше окна перебора, когда окно сдвигается вслед за метками
+     *
+     * @param engine движок с текущей позицией
+     * @return выбранный ход
+     */
+    @Override
+    public Move nextMove(GameEngine engine) {
+        int cells = SearchBoard.cellCount(engine.field());
+        boolean resized = cells != _zobristCells;
+        if (resized) {
+            _zobrist = new Zobrist(cells, MAX_PLY, ZOBRIST_SEED);
+            _zobristCells = cells;
+            _marks = new int[cells];
+        }
+        Rules rules = engine.model().rules();
+        _board = SearchBoard.of(engine, _zobrist);
+        if (resized || !rules.equals(_boardRules) || _board.left() != _boardLeft || _board.top() != _boardTop) {
+            _table.clear();
+            _boardRules = rules;
+            _boardLeft = _board.left();
+            _boardTop = _board.top();
+        }
+        _deadline = System.nanoTime() + _timeBudgetNanos;
+        _nodes = 0;
+        _completedDepth = 0;
+        _score = 0;
+
+        int count = generateMoves(0, NO_MOVE);
+        if (count == 0) {
+            return Move.pass();
+        }
+        int best = _moves[0][0];
+        if (count == 1 || _orders[0][0] >= WINNING_ORDER) {
+            return toMove(best);
+        }
+
+        for (int depth = 1; depth <= _maxDepth; depth++) {
+            try {
+                best = searchRoot(depth, best);
+            } catch (SearchTimeout e) {
+                break;
+            }
+            _completedDepth = depth;
+            if (Math.abs(_score) > WIN_SCORE - MAX_PLY) {
+                break;
+            }
+        }
+        return toMove(best);
+    }
+
+    private int searchRoot(int depth, int previousBest) {
+        int count = generateMoves(0, previousBest);
+        int alpha = -INFINITY;
+        int best = _moves[0][0];
+        for (int i = 0; i < count; i++) {
+            int move = _moves[0][i];
+            int score = play(move, depth, alpha, INFINITY, 0);
+            if (score > alpha) {
+                alpha = score;
+                best = move;
+            }
+        }
+        _score = alpha;
+        _table.store(_board.hash(), depth, alpha, TranspositionTable.EXACT, best);
+        return best;
+    }
+
+    private int search(int depth, int alpha, int beta, int ply) {
+        if ((++_nodes & 1023) == 0 && System.nanoTime() > _deadline) {
+            throw TIMEOUT;
+        }
+        if (_board.isFull()) {
+            return 0;
+        }
+
+        int originalAlpha = alpha;
+        int ttMove = NO_MOVE;
+        int slot = _table.probe(_board.hash());
+        if (slot >= 0) {
+            ttMove = _table.move(slot);
+            if (_table.depth(slot) >= depth) {
+                int score = fromTable(_table.score(slot), ply);
+                int flag = _table.flag(slot);
+                if (flag == TranspositionTable.EXACT
+                        || flag == TranspositionTable.LOWER && score >= beta
+                        || flag == TranspositionTable.UPPER && score <= alpha) {
+                    return score;
+                }
+            }
+        }
+        if (depth <= 0 || ply >= MAX_PLY - 1) {
+            return _board.evaluate(_board.sideToMove());
+        }
+
+        int count = generateMoves(ply, ttMove);
+        int best = -INFINITY;
+        int bestMove = NO_MOVE;
+        for (int i = 0; i < count; i++) {
+            int move = _moves[ply][i];
+            int score = play(move, depth, alpha, beta, ply);
+            if (score > best) {
+                best = score;
+                bestMove = move;
+            }
+            if (score > alpha) {
+                alpha = score;
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+        }
+
+        int flag = best <= originalAlpha ? TranspositionTable.UPPER
+                : best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+        _table.store(_board.hash(), depth, toTable(best, ply), flag, bestMove);
+        return best;
+    }
+
+    private int play(int move, int depth, int alpha, int beta, int ply) {
+        if (move == PASS_MOVE) {
+            _board.pass();
+            try {
+                return -search(depth - 1, -beta, -alpha, ply + 1);
+            } finally {
+                _board.unpass();
+            }
+        }
+
+        int side = _board.sideToMove();
+        boolean delegated = isDelegated(move);
+        int owner = delegated ? SearchBoard.opponentOf(side) : side;
+        LabelType type = delegated ? LabelType.DELEGATED : LabelType.NORMAL;
+        boolean completed = _board.place(indexOf(move), owner, type.ordinal());
+        try {
+            if (completed) {
+                return owner == side ? WIN_SCORE - ply : -(WIN_SCORE - ply);
+            }
+            return -search(depth - 1, -beta, -alpha, ply + 1);
+        } finally {
+            _board.unplace();
+        }
+    }
+
+    /**
+     * Заполняет буфер ходов уровня ply: свободные клетки рядом с метками по убыванию угроз,
+     * затем пас, если он доступен, и делегированные метки в наименее опасные клетки
+     *
+     * @return количество ходов
+     */
+    private int generateMoves(int ply, int ttMove) {
+        int capacity = _board.size() + DELEGATED_CANDIDATES + 1;
+        if (_moves[ply] == null || _moves[ply].length < capacity) {
+            _moves[ply] = new int[capacity];
+            _orders[ply] = new int[capacity];
+        }
+        int[] moves = _moves[ply];
+        int[] orders = _orders[ply];
+        int side = _board.sideToMove();
+        int other = SearchBoard.opponentOf(side);
+
+        int count = 0;
+        if (_board.stoneCount() == 0) {
+            moves[count++] = placeMove((_board.height() / 2) * _board.width() + _board.width() / 2);
+        } else {
+            int stamp = nextStamp();
+            int width = _board.width();
+            for (int s = 0; s < _board.stoneCount(); s++) {
+                int stone = _board.stone(s);
+                int sx = stone % width;
+                int sy = stone / width;
+                for (int y = Math.max(0, sy - NEIGHBOURHOOD); y <= Math.min(_board.height() - 1, sy + NEIGHBOURHOOD); y++) {
+                    for (int x = Math.max(0, sx - NEIGHBOURHOOD); x <= Math.min(width - 1, sx + NEIGHBOURHOOD); x++) {
+                        int index = y * width + x;
+                        if (_board.owner(index) != SearchBoard.EMPTY || _marks[index] == stamp) {
+                            continue;
+                        }
+                        _marks[index] = stamp;
+                        int move = placeMove(index);
+                        moves[count] = move;
+                        orders[count] = move == ttMove ? Integer.MAX_VALUE : threatOrder(index, side, other);
+                        count++;
+                    }
+                }
+            }
+            if (count == 0) {
+                for (int index = 0; index < _board.size(); index++) {
+                    if (_board.owner(index) == SearchBoard.EMPTY) {
+                        orders[count] = 0;
+                        moves[count++] = placeMove(index);
+                    }
+                }
+            }
+            sortByOrder(moves, orders, count);
+            count = Math.min(count, _maxCandidates);
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        int placements = count;
+        if (_board.passesLeft(side) > 0) {
+            orders[count] = 0;
+            moves[count++] = PASS_MOVE;
+        }
+        for (int i = placements - 1; i >= Math.max(0, placements - DELEGATED_CANDIDATES); i--) {
+            orders[count] = 0;
+            moves[count++] = delegatedMove(indexOf(moves[i]));
+        }
+        return count;
+    }
+
+    private int threatOrder(int index, int side, int other) {
+        int lineLength = _board.lineLength();
+        int attack = _board.longestRun(index, side);
+        if (attack >= lineLength && _board.completesLine(index, side)) {
+            return WINNING_ORDER;
+        }
+        int defence = _board.longestRun(index, other);
+        if (defence >= lineLength && _board.completesLine(index, other)) {
+            return BLOCKING_ORDER;
+        }
+        return attack * attack * 16 + defence * defence * 12;
+    }
+
+    private static void sortByOrder(int[] moves, int[] orders, int count) {
+        for (int i = 1; i < count; i++) {
+            int move = moves[i];
+            int order = orders[i];
+            int j = i - 1;
+            while (j >= 0 && orders[j] < order) {
+                moves[j + 1] = moves[j];
+                orders[j + 1] = orders[j];
+                j--;
+            }
+            moves[j + 1] = move;
+            orders[j + 1] = order;
+        }
+    }
+
+    private int nextStamp() {
+        if (++_markStamp == 0) {
+            Arrays.fill(_marks, 0);
+            _markStamp = 1;
+        }
+        return _markStamp;
+    }
+
+    private Move toMove(int move) {
+        if (move == PASS_MOVE) {
+            return Move.pass();
+        }
+        int index = indexOf(move);
+        int x = _board.x(index);
+        int y = _board.y(index);
+        if (isDelegated(move)) {
+            return Move.place(x, y, LabelType.DELEGATED);
+        }
+        return Move.place(x, y, _hiddenLabels ? LabelType.HIDDEN : LabelType.NORMAL);
+    }
+
+    private static int placeMove(int index) {
+        return index << 1;
+    }
+
+    private static int delegatedMove(int index) {
+        return index << 1 | 1;
+    }
+
+    private static int indexOf(int move) {
+        return move >>> 1;
+    }
+
+    private static boolean isDelegated(int move) {
+        return (move & 1) != 0;
+    }
+
+    private static int toTable(int score, int ply) {
+        if (score > WIN_SCORE - MAX_PLY) {
+            return score + ply;
+        }
+        if (score < -WIN_SCORE + MAX_PLY) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score > WIN_SCORE - MAX_PLY) {
+            return score - ply;
+        }
+        if (score < -WIN_SCORE + MAX_PLY) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    /**
+     * Сигнал исчерпания бюджета времени, прерывающий текущую итерацию поиска
+     */
+    private static final class SearchTimeout extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        SearchTimeout() {
+            super(null, null, false, false);
+        }
+    }
+}
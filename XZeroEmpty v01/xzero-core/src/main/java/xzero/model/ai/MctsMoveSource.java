@@ -0,0 +1,387 @@
+package xzero.model.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import xzero.model.engine.GameEngine;
+import xzero.model.engine.Move;
+import xzero.model.engine.MoveSource;
+import xzero.model.labels.LabelType;
+
+/**
+ * Компьютерный игрок на основе поиска по дереву Монте-Карло (UCT) для больших полей.
+ * Рабочие потоки разделены между несколькими независимыми деревьями (параллелизм по корню),
+ * а каждое дерево наращивается несколькими потоками одновременно (параллелизм по дереву):
+ * статистика узлов обновляется атомарными операциями без блокировок, раскрытие узла
+ * публикуется через CAS, а виртуальная потеря отводит соседние потоки от уже выбранной ветви.
+ * Случайные доигрывания идут на копиях компактной позиции, без объектов ячеек и меток.
+ * Делегированные метки в дереве не рассматриваются: такой ход только усиливает противника.
+ * Рабочие потоки живут в пуле игрока между ходами; закрытие игрока завершает пул
+ */
+public class MctsMoveSource implements MoveSource, AutoCloseable {
+
+    private static final double EXPLORATION = 1.4;
+    private static final int NEIGHBOURHOOD = 2;
+    private static final int EXPANSION_VISITS = 2;
+    private static final int PASS_MOVE = -1;
+
+    private final int _threads;
+    private final int _trees;
+    private final long _timeBudgetNanos;
+    private long _maxPlayouts = Long.MAX_VALUE;
+    private long _seed;
+
+    private final ForkJoinPool _pool;
+    private long _lastPlayouts;
+    private double _lastPlayoutsPerSecond;
+
+    /**
+     * Создаёт игрока с одним общим деревом
+     *
+     * @param threads количество рабочих потоков
+     * @param timeBudgetMillis бюджет времени на ход в миллисекундах
+     */
+    public MctsMoveSource(int threads, long timeBudgetMillis) {
+        this(threads, 1, timeBudgetMillis);
+    }
+
+    /**
+     * Создаёт игрока. Длина победной линии и победа длинной линии берутся из правил
+     * партии при выборе каждого хода
+     *
+     * @param threads количество рабочих потоков
+     * @param trees количество независимых деревьев, между которыми делятся потоки
+     * @param timeBudgetMillis бюджет времени на ход в миллисекундах
+     *
+     * @throws IllegalArgumentException если параметры вне допустимых диапазонов
+     */
+    public MctsMoveSource(int threads, int trees, long timeBudgetMillis) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Количество потоков должно быть положительным");
+        }
+        if (trees < 1 || trees > threads) {
+            throw new IllegalArgumentException("Количество деревьев должно быть в диапазоне 1..количество потоков");
+        }
+        if (timeBudgetMillis <= 0) {
+            throw new IllegalArgumentException("Бюджет времени на ход должен быть положительным");
+        }
+        _threads = threads;
+        _trees = trees;
+        _timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+        _pool = new ForkJoinPool(threads);
+    }
+
+    /**
+     * Ограничивает количество доигрываний на ход; поиск завершается по бюджету времени
+     * или по достижении лимита, смотря что наступит раньше
+     *
+     * @param maxPlayouts наибольшее количество доигрываний
+     *
+     * @throws IllegalArgumentException если лимит меньше 1
+     */
+    public void setMaxPlayouts(long maxPlayouts) {
+        if (maxPlayouts < 1) {
+            throw new IllegalArgumentException("Лимит доигрываний должен быть положительным");
+        }
+        _maxPlayouts = maxPlayouts;
+    }
+
+    /**
+     * Задаёт зерно генераторов случайных чисел рабочих потоков
+     *
+     * @param seed зерно
+     */
+    public void setSeed(long seed) {
+        _seed = seed;
+    }
+
+    /**
+     * Количество доигрываний, выполненных при выборе последнего хода
+     *
+     * @return количество доигрываний
+     */
+    public long lastPlayouts() {
+        return _lastPlayouts;
+    }
+
+    /**
+     * Скорость доигрываний при выборе последнего хода
+     *
+     * @return доигрываний в секунду
+     */
+    public double lastPlayoutsPerSecond() {
+        return _lastPlayoutsPerSecond;
+    }
+
+    /**
+     * Выбирает ход для активного игрока; позиции дерева не хешируются, поэтому память
+     * на ход пропорциональна размеру поля и числу узлов, а не таблице ключей Зобриста
+     *
+     * @param engine движок с текущей позицией
+     * @return выбранный ход
+     *
+     * @throws IllegalStateException если игрок закрыт или поиск завершился ошибкой
+     */
+    @Override
+    public Move nextMove(GameEngine engine) {
+        if (_pool.isShutdown()) {
+            throw new IllegalStateException("Игрок закрыт");
+        }
+        SearchBoard position = SearchBoard.of(engine);
+        if (position.isFull()) {
+            return Move.pass();
+        }
+
+        Node[] roots = new Node[_trees];
+        for (int i = 0; i < _trees; i++) {
+            roots[i] = new Node(PASS_MOVE, SearchBoard.OPPONENT);
+        }
+
+        AtomicLong playouts = new AtomicLong();
+        long started = System.nanoTime();
+        long deadline = started + _timeBudgetNanos;
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < _threads; i++) {
+                Worker worker = new Worker(roots[i % _trees], position, playouts, deadline, _seed + i);
+                workers.add(_pool.submit(worker));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Поиск хода прерван", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Поиск хода завершился ошибкой", e.getCause());
+        }
+
+        long elapsed = Math.max(1, System.nanoTime() - started);
+        _lastPlayouts = Math.min(playouts.get(), _maxPlayouts);
+        _lastPlayoutsPerSecond = _lastPlayouts * 1e9 / elapsed;
+
+        return toMove(bestMove(roots, position), position);
+    }
+
+    /**
+     * Завершает пул рабочих потоков; после закрытия игрок не выбирает ходы
+     */
+    @Override
+    public void close() {
+        _pool.shutdown();
+    }
+
+    /**
+     * Выбирает ход с наибольшим суммарным числом посещений во всех деревьях
+     */
+    private static int bestMove(Node[] roots, SearchBoard position) {
+        int[] moves = new int[position.size() + 1];
+        long[] visits = new long[position.size() + 1];
+        for (Node root : roots) {
+            Node[] children = root._children;
+            if (children == null) {
+                continue;
+            }
+            for (Node child : children) {
+                int slot = child._move + 1;
+                moves[slot] = child._move;
+                visits[slot] += child._visits;
+            }
+        }
+        int best = 0;
+        for (int slot = 1; slot < visits.length; slot++) {
+            if (visits[slot] > visits[best]) {
+                best = slot;
+            }
+        }
+        if (visits[best] > 0) {
+            return moves[best];
+        }
+        return position.cellsNearStones(NEIGHBOURHOOD)[0];
+    }
+
+    private static Move toMove(int move, SearchBoard position) {
+        if (move == PASS_MOVE) {
+            return Move.pass();
+        }
+        return Move.place(position.x(move), position.y(move), LabelType.NORMAL);
+    }
+
+    /**
+     * Рабочий поток: повторяет цикл выбор — раскрытие — доигрывание — обратное распространение
+     * над своей копией позиции
+     */
+    private final class Worker implements Runnable {
+
+        private final Node _root;
+        private final SearchBoard _position;
+        private final SearchBoard _board;
+        private final AtomicLong _playouts;
+        private final long _deadline;
+        private final SplittableRandom _random;
+        private final Node[] _path;
+        private final int[] _empty;
+
+        Worker(Node root, SearchBoard position, AtomicLong playouts, long deadline, long seed) {
+            _root = root;
+            _position = position;
+            _board = position.copy();
+            _playouts = playouts;
+            _deadline = deadline;
+            _random = new SplittableRandom(seed);
+            _path = new Node[position.size() - position.stoneCount()
+                    + position.passesLeft(SearchBoard.SELF) + position.passesLeft(SearchBoard.OPPONENT) + 1];
+            _empty = new int[position.size()];
+        }
+
+        @Override
+        public void run() {
+            while (System.nanoTime() < _deadline && _playouts.getAndIncrement() < _maxPlayouts) {
+                iterate();
+            }
+        }
+
+        private void iterate() {
+            _board.copyFrom(_position);
+            Node node = _root;
+            Node.VISITS.incrementAndGet(node);
+            int length = 0;
+            int winner = SearchBoard.EMPTY;
+            boolean finished = false;
+
+            while (true) {
+                Node[] children = node._children;
+                if (children == null) {
+                    if (node._visits < EXPANSION_VISITS && node != _root) {
+                        break;
+                    }
+                    children = node.expand(_board);
+                }
+                if (children.length == 0) {
+                    finished = true;
+                    break;
+                }
+
+                Node child = select(node, children);
+                Node.VISITS.incrementAndGet(child);
+                _path[length++] = child;
+                node = child;
+
+                if (child._move == PASS_MOVE) {
+                    _board.pass();
+                } else if (_board.place(child._move, child._side, LabelType.NORMAL.ordinal())) {
+                    winner = child._side;
+                    finished = true;
+                    break;
+                }
+            }
+
+            if (!finished) {
+                winner = playout();
+            }
+            for (int i = 0; i < length; i++) {
+                Node visited = _path[i];
+                int reward = winner == visited._side ? 2 : winner == SearchBoard.EMPTY ? 1 : 0;
+                Node.REWARD.addAndGet(visited, reward);
+            }
+        }
+
+        private Node select(Node parent, Node[] children) {
+            double logVisits = Math.log(Math.max(1, parent._visits));
+            Node best = children[0];
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (Node child : children) {
+                int visits = child._visits;
+                if (visits == 0) {
+                    return child;
+                }
+                double value = child._reward / (2.0 * visits) + EXPLORATION * Math.sqrt(logVisits / visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Доигрывает партию случайными установками меток без пасов
+         *
+         * @return сторона-победитель или EMPTY при ничьей
+         */
+        private int playout() {
+            int count = 0;
+            for (int index = 0; index < _board.size(); index++) {
+                if (_board.owner(index) == SearchBoard.EMPTY) {
+                    _empty[count++] = index;
+                }
+            }
+            while (count > 0) {
+                int pick = _random.nextInt(count);
+                int index = _empty[pick];
+                _empty[pick] = _empty[--count];
+                int side = _board.sideToMove();
+                if (_board.place(index, side, LabelType.NORMAL.ordinal())) {
+                    return side;
+                }
+            }
+            return SearchBoard.EMPTY;
+        }
+    }
+
+    /**
+     * Узел дерева: ход, сторона, сделавшая его, и статистика посещений. Счётчики
+     * увеличиваются атомарно, а массив потомков публикуется один раз через CAS
+     */
+    private static final class Node {
+
+        static final AtomicIntegerFieldUpdater<Node> VISITS =
+                AtomicIntegerFieldUpdater.newUpdater(Node.class, "_visits");
+        static final AtomicLongFieldUpdater<Node> REWARD =
+                AtomicLongFieldUpdater.newUpdater(Node.class, "_reward");
+        static final AtomicReferenceFieldUpdater<Node, Node[]> CHILDREN =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Node[].class, "_children");
+
+        final int _move;
+        final int _side;
+        volatile int _visits;
+        volatile long _reward;
+        volatile Node[] _children;
+
+        Node(int move, int side) {
+            _move = move;
+            _side = side;
+        }
+
+        /**
+         * Создаёт потомков для позиции board, в которой ход за противником стороны узла;
+         * если потомков уже создал другой поток, возвращает их
+         */
+        Node[] expand(SearchBoard board) {
+            if (board.isFull()) {
+                CHILDREN.compareAndSet(this, null, new Node[0]);
+                return _children;
+            }
+            int side = board.sideToMove();
+            int[] cells = board.cellsNearStones(NEIGHBOURHOOD);
+            boolean canPass = board.passesLeft(side) > 0;
+            Node[] children = new Node[cells.length + (canPass ? 1 : 0)];
+            for (int i = 0; i < cells.length; i++) {
+                children[i] = new Node(cells[i], side);
+            }
+            if (canPass) {
+                children[cells.length] = new Node(PASS_MOVE, side);
+            }
+            CHILDREN.compareAndSet(this, null, children);
+            return _children;
+        }
+    }
+}
@@ -0,0 +1,551 @@
+package xzero.model.ai;
+
+import java.util.Arrays;
+import java.util.List;
+
+import xzero.model.Cell;
+import xzero.model.GameField;
+import xzero.model.GameModel;
+import xzero.model.Player;
+import xzero.model.Rules;
+import xzero.model.engine.GameEngine;
+import xzero.model.labels.DelegatedLabel;
+import xzero.model.labels.HiddenLabel;
+import xzero.model.labels.Label;
+import xzero.model.labels.LabelType;
+import xzero.model.navigation.Direction;
+
+/**
+ * Компактное представление позиции для перебора: владельцы и типы меток хранятся
+ * в байтовых массивах с индексом (y-top)*width+(x-left), а ходы применяются и отменяются
+ * на месте с пересчётом хеша Зобриста; позиция без ключей хеширования хеш не ведёт.
+ * Позиция рассматривается с точки зрения игрока, для которого она снята: все остальные
+ * игроки объединены в сторону противника, а чужие скрытые метки, владелец которых
+ * неизвестен, считаются нейтральными
+ */
+final class SearchBoard {
+
+    /** Пустая ячейка */
+    static final int EMPTY = 0;
+    /** Сторона игрока, для которого снята позиция */
+    static final int SELF = 1;
+    /** Сторона противника */
+    static final int OPPONENT = 2;
+    /** Метка, не принадлежащая ни одной из сторон с точки зрения перебора */
+    static final int NEUTRAL = 3;
+    /** Количество значений владельца ячейки */
+    static final int SIDES = 4;
+
+    /** Наибольшая сторона окна поля, переносимого в позицию */
+    static final int MAX_SIDE = 64;
+
+    private static final int AXES = Direction.count() / 2;
+
+    private final int _left;
+    private final int _top;
+    private final int _width;
+    private final int _height;
+    private final int _lineLength;
+    private final boolean _overlineWins;
+    private final Zobrist _zobrist;
+    private final byte[] _owners;
+    private final byte[] _types;
+    private final int[] _stones;
+    private final int[] _passesLeft = new int[SIDES];
+    private int _stoneCount;
+    private int _sideToMove = SELF;
+    private long _hash;
+
+    /**
+     * Создаёт пустую позицию
+     *
+     * @param left номер столбца поля, с которого начинается позиция
+     * @param top номер строки поля, с которой начинается позиция
+     * @param width ширина позиции
+     * @param height высота позиции
+     * @param lineLength длина линии, приносящей победу
+     * @param overlineWins true — побеждает и линия длиннее lineLength
+     * @param zobrist ключи хеширования для позиции такого размера или null, если хеш не нужен
+     */
+    SearchBoard(int left, int top, int width, int height, int lineLength, boolean overlineWins,
+            Zobrist zobrist) {
+        _left = left;
+        _top = top;
+        _width = width;
+        _height = height;
+        _lineLength = lineLength;
+        _overlineWins = overlineWins;
+        _zobrist = zobrist;
+        _owners = new byte[width * height];
+        _types = new byte[width * height];
+        _stones = new int[width * height];
+        if (zobrist != null) {
+            _hash = zobrist.passes(SELF, 0) ^ zobrist.passes(OPPONENT, 0);
+        }
+    }
+
+    private SearchBoard(SearchBoard other) {
+        _left = other._left;
+        _top = other._top;
+        _width = other._width;
+        _height = other._height;
+        _lineLength = other._lineLength;
+        _overlineWins = other._overlineWins;
+        _zobrist = other._zobrist;
+        _owners = other._owners.clone();
+        _types = other._types.clone();
+        _stones = other._stones.clone();
+        System.arraycopy(other._passesLeft, 0, _passesLeft, 0, SIDES);
+        _stoneCount = other._stoneCount;
+        _sideToMove = other._sideToMove;
+        _hash = other._hash;
+    }
+
+    /**
+     * Снимает позицию партии с точки зрения активного игрока без ведения хеша
+     *
+     * @param engine движок партии
+     * @return позиция, в которой ход за стороной SELF
+     */
+    static SearchBoard of(GameEngine engine) {
+        return of(engine, null);
+    }
+
+    /**
+     * Снимает позицию партии с точки зрения активного игрока; длина победной линии
+     * и победа длинной линии берутся из правил партии
+     *
+     * @param engine движок партии
+     * @param zobrist ключи хеширования для позиции размера cellCount(field) или null, если хеш не нужен
+     * @return позиция, в которой ход за стороной SELF
+     */
+    static SearchBoard of(GameEngine engine, Zobrist zobrist) {
+        Rules rules = engine.model().rules();
+        return of(engine, rules.lineLength(), rules.overlineWins(), zobrist);
+    }
+
+    /**
+     * Снимает позицию партии с точки зрения активного игрока. Поле со сторонами не больше
+     * MAX_SIDE переносится целиком; на большем, в том числе неограниченном, поле позиция
+     * снимается в окне MAX_SIDE x MAX_SIDE с центром посередине между крайними метками
+     * (на пустом поле — в центре поля), а метки вне окна в переборе не участвуют
+     *
+     * @param engine движок партии
+     * @param lineLength длина линии, приносящей победу
+     * @param overlineWins true — побеждает и линия длиннее lineLength
+     * @param zobrist ключи хеширования для позиции размера cellCount(field) или null, если хеш не нужен
+     * @return позиция, в которой ход за стороной SELF
+     */
+    private static SearchBoard of(GameEngine engine, int lineLength, boolean overlineWins, Zobrist zobrist) {
+        GameField field = engine.field();
+        GameModel model = engine.model();
+        Player self = engine.activePlayer();
+
+        int minX = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        List<Label> labels = field.labels();
+        for (Label label : labels) {
+            Cell cell = label.cell();
+            minX = Math.min(minX, cell.x());
+            maxX = Math.max(maxX, cell.x());
+            minY = Math.min(minY, cell.y());
+            maxY = Math.max(maxY, cell.y());
+        }
+        boolean empty = !field.containsIndex(0);
+        int left = windowStart(empty ? 1 : field.x(0), field.width(), minX, maxX);
+        int top = windowStart(empty ? 1 : field.y(0), field.height(), minY, maxY);
+
+        SearchBoard board = new SearchBoard(left, top, Math.min(field.width(), MAX_SIDE),
+                Math.min(field.height(), MAX_SIDE), lineLength, overlineWins, zobrist);
+        for (Label label : labels) {
+            Cell cell = label.cell();
+            int index = board.index(cell.x(), cell.y());
+            if (index >= 0) {
+                board.put(index, sideOf(label, self), typeOf(label).ordinal());
+            }
+        }
+
+        board.setPassesLeft(SELF, model.passesLeftFor(self));
+        board.setPassesLeft(OPPONENT, model.passesLeftFor(model.opponentOf(self)));
+        return board;
+    }
+
+    /**
+     * Количество ячеек позиции, снимаемой с поля
+     *
+     * @param field игровое поле
+     * @return площадь поля или окна, если поле больше окна
+     */
+    static int cellCount(GameField field) {
+        return Math.min(field.width(), MAX_SIDE) * Math.min(field.height(), MAX_SIDE);
+    }
+
+    /**
+     * Первая координата окна по одной оси поля
+     *
+     * @param first первая координата поля по оси
+     * @param size размер поля по оси
+     * @param min наименьшая координата метки или Integer.MAX_VALUE, если меток нет
+     * @param max наибольшая координата метки
+     */
+    private static int windowStart(int first, int size, int min, int max) {
+        if (size <= MAX_SIDE) {
+            return first;
+        }
+        int centre = min > max ? first + size / 2 : min + (max - min) / 2;
+        return Math.max(first, Math.min(centre - MAX_SIDE / 2, first + size - MAX_SIDE));
+    }
+
+    private static int sideOf(Label label, Player self) {
+        Player owner = label.owner();
+        if (owner == self) {
+            return SELF;
+        }
+        return label instanceof HiddenLabel ? NEUTRAL : OPPONENT;
+    }
+
+    private static LabelType typeOf(Label label) {
+        if (label instanceof DelegatedLabel) {
+            return LabelType.DELEGATED;
+        }
+        if (label instanceof HiddenLabel) {
+            return LabelType.HIDDEN;
+        }
+        return LabelType.NORMAL;
+    }
+
+    /**
+     * Создаёт независимую копию позиции
+     *
+     * @return копия позиции
+     */
+    SearchBoard copy() {
+        return new SearchBoard(this);
+    }
+
+    /**
+     * Переписывает состояние позиции состоянием другой позиции того же размера без выделения памяти
+     *
+     * @param other исходная позиция
+     */
+    void copyFrom(SearchBoard other) {
+        System.arraycopy(other._owners, 0, _owners, 0, _owners.length);
+        System.arraycopy(other._types, 0, _types, 0, _types.length);
+        System.arraycopy(other._stones, 0, _stones, 0, other._stoneCount);
+        System.arraycopy(other._passesLeft, 0, _passesLeft, 0, SIDES);
+        _stoneCount = other._stoneCount;
+        _sideToMove = other._sideToMove;
+        _hash = other._hash;
+    }
+
+    /**
+     * Собирает свободные ячейки на расстоянии не больше radius от поставленных меток,
+     * а на пустом поле — центральную ячейку; если рядом с метками свободных ячеек нет,
+     * возвращаются все свободные ячейки
+     *
+     * @param radius расстояние по строкам и столбцам
+     * @return индексы ячеек
+     */
+    int[] cellsNearStones(int radius) {
+        if (_stoneCount == 0) {
+            return new int[] { (_height / 2) * _width + _width / 2 };
+        }
+        boolean[] seen = new boolean[_owners.length];
+        int[] cells = new int[_owners.length];
+        int count = 0;
+        for (int s = 0; s < _stoneCount; s++) {
+            int sx = _stones[s] % _width;
+            int sy = _stones[s] / _width;
+            for (int y = Math.max(0, sy - radius); y <= Math.min(_height - 1, sy + radius); y++) {
+                for (int x = Math.max(0, sx - radius); x <= Math.min(_width - 1, sx + radius); x++) {
+                    int index = y * _width + x;
+                    if (_owners[index] == EMPTY && !seen[index]) {
+                        seen[index] = true;
+                        cells[count++] = index;
+                    }
+                }
+            }
+        }
+        if (count == 0) {
+            for (int index = 0; index < _owners.length; index++) {
+                if (_owners[index] == EMPTY) {
+                    cells[count++] = index;
+                }
+            }
+        }
+        return Arrays.copyOf(cells, count);
+    }
+
+    int width() {
+        return _width;
+    }
+
+    int left() {
+        return _left;
+    }
+
+    int top() {
+        return _top;
+    }
+
+    /**
+     * Номер столбца поля для ячейки позиции
+     *
+     * @param index индекс ячейки позиции
+     * @return номер столбца на поле
+     */
+    int x(int index) {
+        return _left + index % _width;
+    }
+
+    /**
+     * Номер строки поля для ячейки позиции
+     *
+     * @param index индекс ячейки позиции
+     * @return номер строки на поле
+     */
+    int y(int index) {
+        return _top + index / _width;
+    }
+
+    /**
+     * Индекс ячейки позиции по координатам поля
+     *
+     * @param x номер столбца на поле
+     * @param y номер строки на поле
+     * @return индекс или -1, если ячейка вне позиции
+     */
+    int index(int x, int y) {
+        int col = x - _left;
+        int row = y - _top;
+        if (col < 0 || row < 0 || col >= _width || row >= _height) {
+            return -1;
+        }
+        return row * _width + col;
+    }
+
+    int height() {
+        return _height;
+    }
+
+    int size() {
+        return _owners.length;
+    }
+
+    int lineLength() {
+        return _lineLength;
+    }
+
+    /**
+     * Приносит ли победу линия такой длины: при победе длинной линии — не короче
+     * победной, иначе — ровно победной длины
+     *
+     * @param length длина линии
+     * @return true, если линия победная
+     */
+    boolean completes(int length) {
+        return _overlineWins ? length >= _lineLength : length == _lineLength;
+    }
+
+    /**
+     * Хеш Зобриста позиции
+     *
+     * @return хеш или 0, если позиция создана без ключей хеширования
+     */
+    long hash() {
+        return _hash;
+    }
+
+    int sideToMove() {
+        return _sideToMove;
+    }
+
+    int owner(int index) {
+        return _owners[index];
+    }
+
+    int stoneCount() {
+        return _stoneCount;
+    }
+
+    int stone(int i) {
+        return _stones[i];
+    }
+
+    boolean isFull() {
+        return _stoneCount == _owners.length;
+    }
+
+    int passesLeft(int side) {
+        return _passesLeft[side];
+    }
+
+    static int opponentOf(int side) {
+        return side == SELF ? OPPONENT : SELF;
+    }
+
+    /**
+     * Ставит метку и передаёт ход другой стороне
+     *
+     * @param index индекс свободной ячейки
+     * @param side сторона-владелец метки
+     * @param type тип метки
+     * @return true, если метка завершила победную линию своего владельца
+     */
+    boolean place(int index, int side, int type) {
+        put(index, side, type);
+        switchSide();
+        return side != NEUTRAL && completesLine(index, side);
+    }
+
+    /**
+     * Снимает последнюю поставленную метку и возвращает ход сделавшей его стороне
+     */
+    void unplace() {
+        int index = _stones[--_stoneCount];
+        if (_zobrist != null) {
+            _hash ^= _zobrist.cell(index, _owners[index], _types[index]);
+        }
+        _owners[index] = EMPTY;
+        _types[index] = 0;
+        switchSide();
+    }
+
+    /**
+     * Пропускает ход стороны, у которой ещё остались пасы
+     */
+    void pass() {
+        setPassesLeft(_sideToMove, _passesLeft[_sideToMove] - 1);
+        switchSide();
+    }
+
+    /**
+     * Отменяет последний пас
+     */
+    void unpass() {
+        switchSide();
+        setPassesLeft(_sideToMove, _passesLeft[_sideToMove] + 1);
+    }
+
+    /**
+     * Длина наибольшей линии стороны side, проходящей через ячейку index,
+     * если считать эту ячейку принадлежащей side
+     */
+    int longestRun(int index, int side) {
+        int longest = 0;
+        for (int axis = 0; axis < AXES; axis++) {
+            longest = Math.max(longest, runThrough(index, side, Direction.dx(axis), Direction.dy(axis)));
+        }
+        return longest;
+    }
+
+    /**
+     * Завершает ли ячейка index победную линию стороны side, если считать эту ячейку
+     * принадлежащей side; без победы длинной линии каждое направление проверяется отдельно
+     */
+    boolean completesLine(int index, int side) {
+        for (int axis = 0; axis < AXES; axis++) {
+            if (completes(runThrough(index, side, Direction.dx(axis), Direction.dy(axis)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Оценка позиции с точки зрения стороны side: сумма весов открытых линий
+     * стороны за вычетом такой же суммы противника
+     */
+    int evaluate(int side) {
+        int self = 0;
+        int other = 0;
+        for (int i = 0; i < _stoneCount; i++) {
+            int index = _stones[i];
+            int owner = _owners[index];
+            if (owner == NEUTRAL) {
+                continue;
+            }
+            int weight = runWeights(index, owner);
+            if (owner == side) {
+                self += weight;
+            } else {
+                other += weight;
+            }
+        }
+        return self - other;
+    }
+
+    private int runWeights(int index, int side) {
+        int x = index % _width;
+        int y = index / _width;
+        int sum = 0;
+        for (int axis = 0; axis < AXES; axis++) {
+            int dx = Direction.dx(axis);
+            int dy = Direction.dy(axis);
+            if (ownerAt(x - dx, y - dy) == side) {
+                continue;
+            }
+            int length = 1;
+            while (ownerAt(x + dx * length, y + dy * length) == side) {
+                length++;
+            }
+            int openEnds = (ownerAt(x - dx, y - dy) == EMPTY ? 1 : 0)
+                    + (ownerAt(x + dx * length, y + dy * length) == EMPTY ? 1 : 0);
+            sum += weight(length, openEnds);
+        }
+        return sum;
+    }
+
+    private int weight(int length, int openEnds) {
+        if (openEnds == 0 || length <= 0 || !_overlineWins && length > _lineLength) {
+            return 0;
+        }
+        int base = 1 << 3 * (Math.min(length, _lineLength - 1) - 1);
+        return openEnds == 2 ? base * 4 : base;
+    }
+
+    private int runThrough(int index, int side, int dx, int dy) {
+        int x = index % _width;
+        int y = index / _width;
+        int length = 1;
+        for (int step = 1; ownerAt(x + dx * step, y + dy * step) == side; step++) {
+            length++;
+        }
+        for (int step = 1; ownerAt(x - dx * step, y - dy * step) == side; step++) {
+            length++;
+        }
+        return length;
+    }
+
+    private int ownerAt(int x, int y) {
+        if (x < 0 || y < 0 || x >= _width || y >= _height) {
+            return NEUTRAL;
+        }
+        return _owners[y * _width + x];
+    }
+
+    private void put(int index, int side, int type) {
+        _owners[index] = (byte) side;
+        _types[index] = (byte) type;
+        _stones[_stoneCount++] = index;
+        if (_zobrist != null) {
+            _hash ^= _zobrist.cell(index, side, type);
+        }
+    }
+
+    private void setPassesLeft(int side, int passesLeft) {
+        if (_zobrist != null) {
+            _hash ^= _zobrist.passes(side, _passesLeft[side]) ^ _zobrist.passes(side, passesLeft);
+        }
+        _passesLeft[side] = passesLeft;
+    }
+
+    private void switchSide() {
+        _sideToMove = opponentOf(_sideToMove);
+        if (_zobrist != null) {
+            _hash ^= _zobrist.side();
+        }
+    }
+}
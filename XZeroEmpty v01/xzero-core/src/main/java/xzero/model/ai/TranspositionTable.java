@@ -0,0 +1,90 @@
+package xzero.model.ai;
+
+import java.util.Arrays;
+
+/**
+ * Таблица транспозиций фиксированного размера (степень двойки) на параллельных массивах;
+ * при коллизии сохраняется запись, посчитанная на большую глубину
+ */
+final class TranspositionTable {
+
+    static final int EXACT = 0;
+    static final int LOWER = 1;
+    static final int UPPER = 2;
+
+    private final long[] _keys;
+    private final int[] _scores;
+    private final int[] _moves;
+    private final byte[] _depths;
+    private final byte[] _flags;
+    private final int _mask;
+
+    /**
+     * Создаёт таблицу из 2^sizeLog2 записей
+     *
+     * @param sizeLog2 двоичный логарифм количества записей
+     *
+     * @throws IllegalArgumentException если размер вне диапазона [4, 28]
+     */
+    TranspositionTable(int sizeLog2) {
+        if (sizeLog2 < 4 || sizeLog2 > 28) {
+            throw new IllegalArgumentException("Размер таблицы транспозиций должен быть в диапазоне 2^4..2^28");
+        }
+        int size = 1 << sizeLog2;
+        _keys = new long[size];
+        _scores = new int[size];
+        _moves = new int[size];
+        _depths = new byte[size];
+        _flags = new byte[size];
+        _mask = size - 1;
+    }
+
+    /**
+     * Ищет запись для позиции
+     *
+     * @return номер записи или -1, если позиции в таблице нет
+     */
+    int probe(long key) {
+        int slot = (int) key & _mask;
+        return _keys[slot] == key && key != 0 ? slot : -1;
+    }
+
+    int depth(int slot) {
+        return _depths[slot];
+    }
+
+    int score(int slot) {
+        return _scores[slot];
+    }
+
+    int flag(int slot) {
+        return _flags[slot];
+    }
+
+    int move(int slot) {
+        return _moves[slot];
+    }
+
+    /**
+     * Сохраняет результат поиска позиции
+     */
+    void store(long key, int depth, int score, int flag, int move) {
+        int slot = (int) key & _mask;
+        if (_keys[slot] != key && _depths[slot] > depth) {
+            return;
+        }
+        _keys[slot] = key;
+        _depths[slot] = (byte) depth;
+        _scores[slot] = score;
+        _flags[slot] = (byte) flag;
+        _moves[slot] = move;
+    }
+
+    /**
+     * Удаляет все записи
+     */
+    void clear() {
+        Arrays.fill(_keys, 0L);
+        Arrays.fill(_depths, (byte) 0);
+    }
+}
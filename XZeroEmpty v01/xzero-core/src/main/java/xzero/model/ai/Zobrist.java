@@ -0,0 +1,60 @@
+package xzero.model.ai;
+
+import java.util.SplittableRandom;
+
+import xzero.model.labels.LabelType;
+
+/**
+ * Случайные ключи Зобриста для хеширования позиции: по ключу на каждую комбинацию
+ * (ячейка, сторона-владелец, тип метки), а также на очередь хода и остаток пасов
+ */
+final class Zobrist {
+
+    private static final int TYPES = LabelType.values().length;
+
+    private final long[] _cellKeys;
+    private final long[] _passKeys;
+    private final long _sideKey;
+
+    /**
+     * Создаёт ключи для поля из заданного числа ячеек
+     *
+     * @param cellCount количество ячеек
+     * @param maxPasses наибольший остаток пасов, различаемый в хеше
+     * @param seed зерно генератора ключей
+     */
+    Zobrist(int cellCount, int maxPasses, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        _cellKeys = new long[cellCount * SearchBoard.SIDES * TYPES];
+        for (int i = 0; i < _cellKeys.length; i++) {
+            _cellKeys[i] = random.nextLong();
+        }
+        _passKeys = new long[SearchBoard.SIDES * (maxPasses + 1)];
+        for (int i = 0; i < _passKeys.length; i++) {
+            _passKeys[i] = random.nextLong();
+        }
+        _sideKey = random.nextLong();
+    }
+
+    /**
+     * Ключ метки стороны side типа type в ячейке index
+     */
+    long cell(int index, int side, int type) {
+        return _cellKeys[(index * SearchBoard.SIDES + side) * TYPES + type];
+    }
+
+    /**
+     * Ключ остатка пасов стороны side
+     */
+    long passes(int side, int passesLeft) {
+        int limit = _passKeys.length / SearchBoard.SIDES - 1;
+        return _passKeys[side * (limit + 1) + Math.min(passesLeft, limit)];
+    }
+
+    /**
+     * Ключ очереди хода второй стороны
+     */
+    long side() {
+        return _sideKey;
+    }
+}
@@ -0,0 +1,309 @@
+package xzero.model.engine;
+
+import xzero.model.GameField;
+import xzero.model.GameModel;
+import xzero.model.Player;
+import xzero.model.Rules;
+import xzero.model.factory.CellFactory;
+import xzero.model.factory.LabelFactory;
+import xzero.model.labels.LabelType;
+import xzero.model.setup.FieldInitializer;
+
+/**
+ * Игровой движок без пользовательского интерфейса: принимает поток ходов и сразу
+ * возвращает их результат. Слушатели событий модели не регистрируются, а недопустимые
+ * ходы отклоняются до обращения к модели, без исключений — это позволяет проводить
+ * массовые партии ботов с максимальной пропускной способностью
+ */
+public class GameEngine {
+
+    private final GameModel _model;
+    private int _moveCount;
+    private int _placedCount;
+
+    /**
+     * Создаёт движок над моделью с настройками по умолчанию
+     */
+    public GameEngine() {
+        this(bulk(new GameModel()));
+    }
+
+    /**
+     * Создаёт движок над моделью с заданными правилами и зависимостями по умолчанию
+     *
+     * @param rules правила партии
+     */
+    public GameEngine(Rules rules) {
+        this(bulk(new GameModel(rules)));
+    }
+
+    /**
+     * Создаёт движок над моделью с заданным полем и стратегией его подготовки
+     *
+     * @param field игровое поле
+     * @param fieldInitializer стратегия подготовки поля
+     */
+    public GameEngine(GameField field, FieldInitializer fieldInitializer) {
+        this(bulk(new GameModel(field, new CellFactory(), new LabelFactory(), fieldInitializer)));
+    }
+
+    /**
+     * Переводит созданную движком модель в режим повторного использования событий:
+     * сторонних слушателей у неё нет, а внутренние не сохраняют события
+     */
+    private static GameModel bulk(GameModel model) {
+        model.setReusableEvents(true);
+        return model;
+    }
+
+    /**
+     * Создаёт движок над готовой моделью; слушатели, уже зарегистрированные в модели,
+     * продолжат получать события
+     *
+     * @param model модель игры
+     *
+     * @throws IllegalArgumentException если модель равна null
+     */
+    public GameEngine(GameModel model) {
+        if (model == null) {
+            throw new IllegalArgumentException("GameEngine: модель не может быть null");
+        }
+        _model = model;
+    }
+
+    /**
+     * Начинает новую партию
+     */
+    public void start() {
+        _model.start();
+        _moveCount = 0;
+        _placedCount = 0;
+    }
+
+    /**
+     * Ставит активную метку активного игрока в позицию с указанными координатами
+     *
+     * @param x номер столбца
+     * @param y номер строки
+     * @return результат хода
+     *
+     * @throws IllegalStateException если партия уже завершена
+     */
+    public MoveResult place(int x, int y) {
+        checkNotFinished();
+
+        if (!isFree(x, y)) {
+            return MoveResult.ILLEGAL;
+        }
+
+        _model.activePlayer().setLabelTo(x, y);
+        _moveCount++;
+        _placedCount++;
+
+        return _model.isFinished() ? MoveResult.WIN : MoveResult.CONTINUE;
+    }
+
+    /**
+     * Передаёт ход следующему игроку, расходуя пас активного игрока
+     *
+     * @return CONTINUE или ILLEGAL, если у активного игрока не осталось пасов
+     *
+     * @throws IllegalStateException если партия уже завершена
+     */
+    public MoveResult pass() {
+        checkNotFinished();
+
+        if (_model.passesLeftFor(_model.activePlayer()) <= 0) {
+            return MoveResult.ILLEGAL;
+        }
+
+        _model.passTurn();
+        _moveCount++;
+
+        return MoveResult.CONTINUE;
+    }
+
+    /**
+     * Выполняет ход; тип метки, указанный в ходе, выбирается только для допустимой установки,
+     * поэтому недопустимый ход не меняет состояние активного игрока
+     *
+     * @param move ход
+     * @return результат хода
+     *
+     * @throws IllegalArgumentException если ход равен null
+     * @throws IllegalStateException если партия уже завершена
+     */
+    public MoveResult apply(Move move) {
+        if (move == null) {
+            throw new IllegalArgumentException("GameEngine: ход не может быть null");
+        }
+        if (move.isPass()) {
+            return pass();
+        }
+        if (move.labelType() != null) {
+            checkNotFinished();
+            if (!isFree(move.x(), move.y())) {
+                return MoveResult.ILLEGAL;
+            }
+            selectLabelType(move.labelType());
+        }
+        return place(move.x(), move.y());
+    }
+
+    /**
+     * Отменяет последний ход
+     *
+     * @return false, если отменять нечего
+     */
+    public boolean undo() {
+        if (!_model.canUndo()) {
+            return false;
+        }
+        boolean pass = _model.history().isPass(_model.history().size() - 1);
+        _model.undo();
+        _moveCount--;
+        if (!pass) {
+            _placedCount--;
+        }
+        return true;
+    }
+
+    /**
+     * Повторяет последний отменённый ход
+     *
+     * @return результат хода или ILLEGAL, если повторять нечего
+     */
+    public MoveResult redo() {
+        if (!_model.canRedo()) {
+            return MoveResult.ILLEGAL;
+        }
+        boolean pass = _model.history().isPass(_model.history().size());
+        _model.redo();
+        _moveCount++;
+        if (!pass) {
+            _placedCount++;
+        }
+        return _model.isFinished() ? MoveResult.WIN : MoveResult.CONTINUE;
+    }
+
+    /**
+     * Выполняет ход, выбранный стратегией активного игрока
+     *
+     * @return результат хода
+     *
+     * @throws IllegalStateException если партия уже завершена или у активного игрока нет стратегии
+     */
+    public MoveResult playTurn() {
+        checkNotFinished();
+
+        MoveSource source = activePlayer().moveSource();
+        if (source == null) {
+            throw new IllegalStateException("GameEngine: активным игроком управляет человек");
+        }
+        return apply(source.nextMove(this));
+    }
+
+    /**
+     * Выбирает тип метки для активного игрока
+     *
+     * @param labelType тип метки
+     *
+     * @throws IllegalArgumentException если тип метки равен null
+     */
+    public void selectLabelType(LabelType labelType) {
+        _model.setActiveLabelType(labelType);
+    }
+
+    /**
+     * Включает или выключает режим секретности
+     *
+     * @param enabled true — режим секретности включён
+     */
+    public void setSecretMode(boolean enabled) {
+        _model.setSecretModeEnabled(enabled);
+    }
+
+    /**
+     * Возвращает игрока, чей ход сейчас активен
+     *
+     * @return активный игрок
+     */
+    public Player activePlayer() {
+        return _model.activePlayer();
+    }
+
+    /**
+     * Возвращает победителя партии
+     *
+     * @return победивший игрок или null, если партия не завершена
+     */
+    public Player winner() {
+        return _model.winner();
+    }
+
+    /**
+     * Признак завершения партии
+     *
+     * @return true, если победитель определён
+     */
+    public boolean isFinished() {
+        return _model.isFinished();
+    }
+
+    /**
+     * Количество выполненных ходов (установок меток и пасов) в текущей партии
+     *
+     * @return количество ходов
+     */
+    public int moveCount() {
+        return _moveCount;
+    }
+
+    /**
+     * Признак заполненного поля, на котором больше нельзя поставить метку
+     *
+     * @return true, если свободных ячеек не осталось
+     */
+    public boolean isFieldFull() {
+        return _placedCount >= (long) field().width() * field().height();
+    }
+
+    /**
+     * Возвращает номер игрока в порядке очерёдности ходов
+     *
+     * @param player игрок
+     * @return номер игрока или -1, если он не участвует в партии
+     */
+    public int indexOf(Player player) {
+        return _model.indexOf(player);
+    }
+
+    /**
+     * Возвращает игровое поле
+     *
+     * @return игровое поле
+     */
+    public GameField field() {
+        return _model.field();
+    }
+
+    /**
+     * Возвращает модель, над которой работает движок
+     *
+     * @return модель игры
+     */
+    public GameModel model() {
+        return _model;
+    }
+
+    private boolean isFree(int x, int y) {
+        GameField field = _model.field();
+        return field.hasCell(x, y) && field.label(x, y) == null;
+    }
+
+    private void checkNotFinished() {
+        if (_model.isFinished()) {
+            throw new IllegalStateException("GameEngine: партия уже завершена");
+        }
+    }
+}
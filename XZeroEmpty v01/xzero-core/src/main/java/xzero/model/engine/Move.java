@@ -0,0 +1,122 @@
+package xzero.model.engine;
+
+import xzero.model.labels.LabelType;
+
+/**
+ * Ход игрока: установка метки в позицию (при необходимости с выбором типа метки) или пас
+ */
+public final class Move {
+
+    private static final Move PASS = new Move(false, 0, 0, null);
+
+    private final boolean _placement;
+    private final int _x;
+    private final int _y;
+    private final LabelType _labelType;
+
+    private Move(boolean placement, int x, int y, LabelType labelType) {
+        _placement = placement;
+        _x = x;
+        _y = y;
+        _labelType = labelType;
+    }
+
+    /**
+     * Создаёт ход установки метки текущего выбранного типа
+     *
+     * @param x номер столбца
+     * @param y номер строки
+     * @return ход
+     */
+    public static Move place(int x, int y) {
+        return new Move(true, x, y, null);
+    }
+
+    /**
+     * Создаёт ход установки метки указанного типа
+     *
+     * @param x номер столбца
+     * @param y номер строки
+     * @param labelType тип метки, выбираемый перед установкой
+     * @return ход
+     *
+     * @throws IllegalArgumentException если тип метки равен null
+     */
+    public static Move place(int x, int y, LabelType labelType) {
+        if (labelType == null) {
+            throw new IllegalArgumentException("Move: тип метки не может быть null");
+        }
+        return new Move(true, x, y, labelType);
+    }
+
+    /**
+     * Возвращает ход-пас
+     *
+     * @return ход-пас
+     */
+    public static Move pass() {
+        return PASS;
+    }
+
+    /**
+     * Признак хода-паса
+     *
+     * @return true, если ход является пасом
+     */
+    public boolean isPass() {
+        return !_placement;
+    }
+
+    /**
+     * Номер столбца установки метки
+     *
+     * @return номер столбца
+     */
+    public int x() {
+        return _x;
+    }
+
+    /**
+     * Номер строки установки метки
+     *
+     * @return номер строки
+     */
+    public int y() {
+        return _y;
+    }
+
+    /**
+     * Тип метки, выбираемый перед установкой
+     *
+     * @return тип метки или null, если используется текущий выбранный тип
+     */
+    public LabelType labelType() {
+        return _labelType;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof Move)) {
+            return false;
+        }
+        Move move = (Move) other;
+        return _placement == move._placement && _x == move._x && _y == move._y
+                && _labelType == move._labelType;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = _placement ? 1 : 0;
+        hash = 31 * hash + _x;
+        hash = 31 * hash + _y;
+        return 31 * hash + (_labelType == null ? 0 : _labelType.hashCode());
+    }
+
+    @Override
+    public String toString() {
+        if (!_placement) {
+            return "pass";
+        }
+        return "(" + _x + ", " + _y + ")" + (_labelType == null ? "" : " " + _labelType);
+    }
+}
@@ -0,0 +1,13 @@
+package xzero.model.engine;
+
+/**
+ * Результат хода, выполненного через игровой движок
+ */
+public enum MoveResult {
+    /** Ход выполнен, игра продолжается */
+    CONTINUE,
+    /** Ход выполнен и завершил партию победой */
+    WIN,
+    /** Ход не выполнен: ячейка занята или вне поля, либо пасов не осталось */
+    ILLEGAL,
+}
@@ -0,0 +1,15 @@
+package xzero.model.engine;
+
+/**
+ * Источник ходов для игрока: бот, ИИ или запись партии
+ */
+public interface MoveSource {
+
+    /**
+     * Выбирает ход для активного игрока
+     *
+     * @param engine движок с текущей позицией; источник не должен менять его состояние
+     * @return выбранный ход
+     */
+    Move nextMove(GameEngine engine);
+}
@@ -0,0 +1,369 @@
+package xzero.model.events;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EventObject;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import xzero.model.Player;
+import xzero.model.labels.Label;
+
+/**
+ * Асинхронная шина событий игры. Шина регистрируется у модели или игрока как обычный
+ * слушатель, копирует содержимое каждого события в ограниченный кольцевой буфер и сразу
+ * возвращает управление; собственный поток шины забирает накопившиеся события пачками
+ * и в порядке возникновения передаёт их слушателям, зарегистрированным у шины. Поэтому
+ * медленный слушатель задерживает только доставку, а не ход игрока.
+ * <p>
+ * Что делать при заполненном буфере, задаёт {@link BackPressure}. Слушатели шины
+ * вызываются в её потоке и не должны порождать события в ту же шину в режиме BLOCK:
+ * поток шины будет ждать сам себя
+ */
+public class AsyncEventBus implements GameListener, PlayerActionListener, AutoCloseable {
+
+    private static final int GAME_FINISHED = 0;
+    private static final int PLAYER_EXCHANGED = 1;
+    private static final int LABEL_PLACED = 2;
+    private static final int LABEL_RECEIVED = 3;
+
+    private final BackPressure _backPressure;
+    private final int _maxBatch;
+
+    // Кольцевой буфер: вид события, источник, игрок и метка хранятся параллельными массивами
+    private final int[] _kinds;
+    private final Object[] _sources;
+    private final Player[] _players;
+    private final Label[] _labels;
+    private int _head;
+    private int _size;
+
+    private boolean _closed;
+    private boolean _dispatching;
+    private long _dropped;
+
+    private final ListenerList<GameListener> _gameListeners = new ListenerList<>(GameListener.class);
+    private final ListenerList<PlayerActionListener> _playerListeners =
+            new ListenerList<>(PlayerActionListener.class);
+    private final ListenerList<EventBatchListener> _batchListeners =
+            new ListenerList<>(EventBatchListener.class);
+
+    private final Thread _dispatcher;
+
+    /**
+     * Создаёт шину и запускает её поток доставки
+     *
+     * @param capacity ёмкость очереди событий
+     * @param maxBatch наибольшее количество событий, забираемых из очереди за один раз
+     * @param backPressure поведение при заполненной очереди
+     *
+     * @throws IllegalArgumentException если ёмкость или размер пачки не положительны
+     *                                  либо поведение не задано
+     */
+    public AsyncEventBus(int capacity, int maxBatch, BackPressure backPressure) {
+        if (capacity <= 0 || maxBatch <= 0) {
+            throw new IllegalArgumentException("Ёмкость очереди и размер пачки должны быть положительными");
+        }
+        if (backPressure == null) {
+            throw new IllegalArgumentException("Поведение при заполненной очереди не может быть null");
+        }
+        _backPressure = backPressure;
+        _maxBatch = Math.min(maxBatch, capacity);
+        _kinds = new int[capacity];
+        _sources = new Object[capacity];
+        _players = new Player[capacity];
+        _labels = new Label[capacity];
+
+        _dispatcher = new Thread(this::dispatchLoop, "xzero-event-bus");
+        _dispatcher.setDaemon(true);
+        _dispatcher.start();
+    }
+
+    // ----------------------------- Слушатели шины --------------------------------
+    /**
+     * Регистрирует слушателя событий игры
+     *
+     * @param listener слушатель событий игры
+     */
+    public void addGameListener(GameListener listener) {
+        _gameListeners.add(listener);
+    }
+
+    /**
+     * Удаляет слушателя событий игры
+     *
+     * @param listener слушатель событий игры
+     */
+    public void removeGameListener(GameListener listener) {
+        _gameListeners.remove(listener);
+    }
+
+    /**
+     * Регистрирует слушателя действий игрока
+     *
+     * @param listener слушатель действий игрока
+     */
+    public void addPlayerActionListener(PlayerActionListener listener) {
+        _playerListeners.add(listener);
+    }
+
+    /**
+     * Удаляет слушателя действий игрока
+     *
+     * @param listener слушатель действий игрока
+     */
+    public void removePlayerActionListener(PlayerActionListener listener) {
+        _playerListeners.remove(listener);
+    }
+
+    /**
+     * Регистрирует слушателя пачек событий
+     *
+     * @param listener слушатель пачек
+     */
+    public void addBatchListener(EventBatchListener listener) {
+        _batchListeners.add(listener);
+    }
+
+    /**
+     * Удаляет слушателя пачек событий
+     *
+     * @param listener слушатель пачек
+     */
+    public void removeBatchListener(EventBatchListener listener) {
+        _batchListeners.remove(listener);
+    }
+
+    // ------------------------- Приём событий от модели ---------------------------
+    @Override
+    public void gameFinished(GameEvent event) {
+        publish(GAME_FINISHED, event.getSource(), event.player(), null);
+    }
+
+    @Override
+    public void playerExchanged(GameEvent event) {
+        publish(PLAYER_EXCHANGED, event.getSource(), event.player(), null);
+    }
+
+    @Override
+    public void labelIsPlaced(PlayerActionEvent event) {
+        publish(LABEL_PLACED, event.getSource(), event.player(), event.label());
+    }
+
+    @Override
+    public void labelIsReceived(PlayerActionEvent event) {
+        publish(LABEL_RECEIVED, event.getSource(), event.player(), event.label());
+    }
+
+    /**
+     * Помещает событие в очередь
+     *
+     * @throws IllegalStateException если шина закрыта или ожидание места прервано
+     */
+    private synchronized void publish(int kind, Object source, Player player, Label label) {
+        if (_closed) {
+            throw new IllegalStateException("Шина событий закрыта");
+        }
+        int capacity = _kinds.length;
+        while (_size == capacity) {
+            switch (_backPressure) {
+                case DROP_NEWEST:
+                    _dropped++;
+                    return;
+                case DROP_OLDEST:
+                    release(_head);
+                    _head = (_head + 1) % capacity;
+                    _size--;
+                    _dropped++;
+                    break;
+                default:
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Ожидание места в очереди событий прервано", e);
+                    }
+                    if (_closed) {
+                        throw new IllegalStateException("Шина событий закрыта");
+                    }
+            }
+        }
+        int tail = (_head + _size) % capacity;
+        _kinds[tail] = kind;
+        _sources[tail] = source;
+        _players[tail] = player;
+        _labels[tail] = label;
+        _size++;
+        notifyAll();
+    }
+
+    // ------------------------------- Доставка ------------------------------------
+    private void dispatchLoop() {
+        int[] kinds = new int[_maxBatch];
+        Object[] sources = new Object[_maxBatch];
+        Player[] players = new Player[_maxBatch];
+        Label[] labels = new Label[_maxBatch];
+        List<EventObject> batch = new ArrayList<>(_maxBatch);
+
+        while (true) {
+            int count;
+            synchronized (this) {
+                while (_size == 0 && !_closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        // Поток шины останавливается только закрытием
+                    }
+                }
+                if (_size == 0) {
+                    return;
+                }
+                count = Math.min(_size, _maxBatch);
+                for (int i = 0; i < count; i++) {
+                    int slot = (_head + i) % _kinds.length;
+                    kinds[i] = _kinds[slot];
+                    sources[i] = _sources[slot];
+                    players[i] = _players[slot];
+                    labels[i] = _labels[slot];
+                    release(slot);
+                }
+                _head = (_head + count) % _kinds.length;
+                _size -= count;
+                _dispatching = true;
+                notifyAll();
+            }
+
+            try {
+                boolean batched = !_batchListeners.isEmpty();
+                for (int i = 0; i < count; i++) {
+                    EventObject event = deliver(kinds[i], sources[i], players[i], labels[i]);
+                    if (batched) {
+                        batch.add(event);
+                    }
+                    sources[i] = null;
+                    players[i] = null;
+                    labels[i] = null;
+                }
+                if (batched) {
+                    List<EventObject> view = Collections.unmodifiableList(new ArrayList<>(batch));
+                    for (EventBatchListener listener : _batchListeners.listeners()) {
+                        invoke(() -> listener.eventsDispatched(view));
+                    }
+                    batch.clear();
+                }
+            } finally {
+                synchronized (this) {
+                    _dispatching = false;
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    private EventObject deliver(int kind, Object source, Player player, Label label) {
+        if (kind == GAME_FINISHED || kind == PLAYER_EXCHANGED) {
+            GameEvent event = new GameEvent(source);
+            event.setPlayer(player);
+            for (GameListener listener : _gameListeners.listeners()) {
+                invoke(kind == GAME_FINISHED
+                        ? () -> listener.gameFinished(event)
+                        : () -> listener.playerExchanged(event));
+            }
+            return event;
+        }
+        PlayerActionEvent event = new PlayerActionEvent(source);
+        event.setPlayer(player);
+        event.setLabel(label);
+        for (PlayerActionListener listener : _playerListeners.listeners()) {
+            invoke(kind == LABEL_PLACED
+                    ? () -> listener.labelIsPlaced(event)
+                    : () -> listener.labelIsReceived(event));
+        }
+        return event;
+    }
+
+    /**
+     * Вызывает слушателя; исключение слушателя передаётся обработчику потока шины
+     * и не прерывает доставку остальных событий
+     */
+    private void invoke(Runnable call) {
+        try {
+            call.run();
+        } catch (RuntimeException e) {
+            _dispatcher.getUncaughtExceptionHandler().uncaughtException(_dispatcher, e);
+        }
+    }
+
+    private void release(int slot) {
+        _sources[slot] = null;
+        _players[slot] = null;
+        _labels[slot] = null;
+    }
+
+    // ------------------------------- Состояние -----------------------------------
+    /**
+     * Ждёт, пока все принятые события будут доставлены
+     *
+     * @param timeout наибольшее время ожидания
+     * @param unit единица измерения времени
+     * @return true, если очередь опустела и доставка завершена; false по истечении времени
+     *
+     * @throws IllegalStateException если ожидание прервано
+     */
+    public synchronized boolean awaitIdle(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (_size > 0 || _dispatching) {
+            long left = deadline - System.nanoTime();
+            if (left <= 0) {
+                return false;
+            }
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, left);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Ожидание доставки событий прервано", e);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Количество событий, ожидающих доставки
+     *
+     * @return размер очереди
+     */
+    public synchronized int pendingCount() {
+        return _size;
+    }
+
+    /**
+     * Количество событий, отброшенных из-за заполненной очереди
+     *
+     * @return количество отброшенных событий
+     */
+    public synchronized long droppedCount() {
+        return _dropped;
+    }
+
+    /**
+     * Прекращает приём событий, доставляет уже принятые и останавливает поток шины
+     *
+     * @throws IllegalStateException если ожидание остановки прервано
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            _closed = true;
+            notifyAll();
+        }
+        if (Thread.currentThread() == _dispatcher) {
+            return;
+        }
+        try {
+            _dispatcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ожидание остановки шины событий прервано", e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package xzero.model.events;
+
+/**
+ * Поведение асинхронной шины событий, когда её очередь заполнена
+ */
+public enum BackPressure {
+    /** Поток, порождающий событие, ждёт освобождения места в очереди */
+    BLOCK,
+    /** Новое событие отбрасывается */
+    DROP_NEWEST,
+    /** Из очереди отбрасывается самое старое недоставленное событие */
+    DROP_OLDEST,
+}
@@ -0,0 +1,19 @@
+package xzero.model.events;
+
+import java.util.EventListener;
+import java.util.EventObject;
+import java.util.List;
+
+/**
+ * Слушатель асинхронной шины событий, получающий события пачками — всё, что накопилось
+ * в очереди к моменту очередной выдачи, но не больше размера пачки
+ */
+public interface EventBatchListener extends EventListener {
+
+    /**
+     * Вызывается в потоке шины для каждой пачки событий
+     *
+     * @param events события пачки в порядке их возникновения: GameEvent и PlayerActionEvent
+     */
+    void eventsDispatched(List<EventObject> events);
+}
@@ -4,7 +4,9 @@ import java.util.EventObject;
 import xzero.model.Player;
 
 /**
- * Событие, описывающее изменение состояния игры и связанного с ним игрока
+ * Событие, описывающее изменение состояния игры и связанного с ним игрока.
+ * В режиме повторного использования событий модель передаёт слушателям один и тот же
+ * объект, поэтому сохранять его после возврата из слушателя нельзя
  */
 public class GameEvent extends EventObject {
     
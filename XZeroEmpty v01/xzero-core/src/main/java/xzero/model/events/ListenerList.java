@@ -0,0 +1,111 @@
+package xzero.model.events;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Список слушателей с копированием при записи. Добавление и удаление строят новый массив
+ * и подменяют его атомарной операцией без блокировок, а оповещение перебирает массив,
+ * действовавший на момент его начала, поэтому слушателей можно добавлять и удалять из
+ * других потоков и из самих обработчиков событий. При оповещении ничего не копируется
+ * и не создаётся
+ *
+ * @param <L> тип слушателя
+ */
+public final class ListenerList<L> {
+
+    private final L[] _empty;
+    private final AtomicReference<L[]> _listeners;
+
+    /**
+     * Создаёт пустой список слушателей
+     *
+     * @param type тип слушателя
+     */
+    @SuppressWarnings("unchecked")
+    public ListenerList(Class<L> type) {
+        _empty = (L[]) Array.newInstance(type, 0);
+        _listeners = new AtomicReference<>(_empty);
+    }
+
+    /**
+     * Добавляет слушателя в конец списка; null пропускается
+     *
+     * @param listener слушатель
+     */
+    public void add(L listener) {
+        if (listener == null) {
+            return;
+        }
+        L[] current;
+        L[] updated;
+        do {
+            current = _listeners.get();
+            updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = listener;
+        } while (!_listeners.compareAndSet(current, updated));
+    }
+
+    /**
+     * Удаляет первое вхождение слушателя
+     *
+     * @param listener слушатель
+     * @return true, если слушатель был в списке
+     */
+    public boolean remove(L listener) {
+        L[] current;
+        L[] updated;
+        do {
+            current = _listeners.get();
+            int index = indexOf(current, listener);
+            if (index < 0) {
+                return false;
+            }
+            if (current.length == 1) {
+                updated = _empty;
+            } else {
+                updated = Arrays.copyOf(current, current.length - 1);
+                System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+            }
+        } while (!_listeners.compareAndSet(current, updated));
+        return true;
+    }
+
+    /**
+     * Текущие слушатели в порядке регистрации. Массив разделяется со списком и не должен
+     * изменяться; последующие добавления и удаления на него не влияют
+     *
+     * @return массив слушателей
+     */
+    public L[] listeners() {
+        return _listeners.get();
+    }
+
+    /**
+     * Проверяет, есть ли подписанные слушатели
+     *
+     * @return true, если слушателей нет
+     */
+    public boolean isEmpty() {
+        return _listeners.get().length == 0;
+    }
+
+    /**
+     * Количество подписанных слушателей
+     *
+     * @return количество слушателей
+     */
+    public int size() {
+        return _listeners.get().length;
+    }
+
+    private static int indexOf(Object[] listeners, Object listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i].equals(listener)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -5,7 +5,9 @@ import xzero.model.Player;
 import xzero.model.labels.Label;
 
 /**
- * Событие, описывающее действие игрока и связанную с ним метку
+ * Событие, описывающее действие игрока и связанную с ним метку.
+ * В режиме повторного использования событий игрок передаёт слушателям один и тот же
+ * объект, поэтому сохранять его после возврата из слушателя нельзя
  */
 public class PlayerActionEvent extends EventObject {
     // -------------------------------- Игрок --------------------------------------
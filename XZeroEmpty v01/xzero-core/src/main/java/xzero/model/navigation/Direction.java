@@ -0,0 +1,178 @@
+package xzero.model.navigation;
+
+/**
+ * Direction - абстракция направления в системе координат "север-юг-восток-запад"; 
+ * позволяет сравнивать направления и порождать новые направления относительно 
+ * текущего. Все направления — заранее созданные экземпляры, поэтому навигация
+ * не порождает новых объектов
+ */
+public class Direction {
+    // -------- Таблицы смещений; номер направления - угол, делённый на шаг ---------
+    private static final int ANGLE_STEP = 45;
+    private static final int COUNT = 360 / ANGLE_STEP;
+
+    //                                E  NE   N  NW   W  SW   S  SE
+    private static final int[] DX = { 1,  1,  0, -1, -1, -1,  0,  1 };
+    private static final int[] DY = { 0, -1, -1, -1,  0,  1,  1,  1 };
+
+    private static final Direction[] DIRECTIONS = new Direction[COUNT];
+    static {
+        for (int i = 0; i < COUNT; i++) {
+            DIRECTIONS[i] = new Direction(i);
+        }
+    }
+
+    //--------- Определяем направление как угол в градусах от 0 до 360 ------------
+    private final int _angle;
+    private final int _index;
+    private final Shift _shift;
+
+    private Direction(int index) {
+        _index = index;
+        _angle = index * ANGLE_STEP;
+        _shift = new Shift(DX[index], DY[index]);
+    }
+
+    // --------------------------- Возможные направления --------------------------
+    public static Direction north()
+    { return DIRECTIONS[2]; }
+    
+    public static Direction south()
+    { return DIRECTIONS[6]; }
+
+    public static Direction east()
+    { return DIRECTIONS[0]; }
+
+    public static Direction west()
+    { return DIRECTIONS[4]; }
+    
+    public static Direction northEast()
+    { return DIRECTIONS[1]; }
+
+    public static Direction northWest()
+    { return DIRECTIONS[3]; }
+
+    public static Direction southEast()
+    { return DIRECTIONS[7]; }
+
+    public static Direction southWest()
+    { return DIRECTIONS[5]; }
+
+    /**
+     * Возвращает направление по его номеру: 0 - восток, далее против часовой стрелки
+     *
+     * @param index номер направления от 0 до 7
+     * @return направление
+     *
+     * @throws IndexOutOfBoundsException если номер вне диапазона
+     */
+    public static Direction byIndex(int index)
+    { return DIRECTIONS[index]; }
+
+    /**
+     * Количество различных направлений
+     *
+     * @return количество направлений
+     */
+    public static int count()
+    { return COUNT; }
+    
+    // ---------------- Смещения в декартовой системе координат  ------------------
+    public Shift shift(){
+        return _shift;
+    }
+
+    /**
+     * Номер направления для обращения к таблицам смещений
+     *
+     * @return номер направления от 0 до 7
+     */
+    public int index() {
+        return _index;
+    }
+
+    /**
+     * Смещение по горизонтали
+     *
+     * @return -1, 0 или 1
+     */
+    public int dx() {
+        return DX[_index];
+    }
+
+    /**
+     * Смещение по вертикали
+     *
+     * @return -1, 0 или 1
+     */
+    public int dy() {
+        return DY[_index];
+    }
+
+    /**
+     * Смещение по горизонтали для направления с указанным номером
+     *
+     * @param index номер направления от 0 до 7
+     * @return -1, 0 или 1
+     */
+    public static int dx(int index) {
+        return DX[index];
+    }
+
+    /**
+     * Смещение по вертикали для направления с указанным номером
+     *
+     * @param index номер направления от 0 до 7
+     * @return -1, 0 или 1
+     */
+    public static int dy(int index) {
+        return DY[index];
+    }
+    
+    // ---------------------------- Новые направления -----------------------------
+    @Override
+    public Direction clone(){ 
+        return this; 
+    }
+  
+    public Direction clockwise() { 
+        return DIRECTIONS[(_index + COUNT - 1) % COUNT]; 
+    }
+    
+    public Direction anticlockwise() { 
+        return DIRECTIONS[(_index + 1) % COUNT]; 
+    }
+    
+    public Direction opposite() { 
+        return DIRECTIONS[(_index + COUNT / 2) % COUNT]; 
+    }
+    
+    public Direction rightword()  { 
+        return clockwise(); 
+    }
+    
+    public Direction leftword()  { 
+        return anticlockwise(); 
+    }
+    
+    // --------------------------- Сравнить направления ---------------------------
+    @Override
+    public boolean equals(Object other) {
+
+        if(other instanceof Direction) {
+            Direction otherDirect = (Direction)other;
+            return  _angle == otherDirect._angle;
+        }
+        
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return this._angle;
+    }
+    
+    public boolean isOpposite(Direction other) {
+        return this.opposite().equals(other);
+    }
+}
@@ -4,8 +4,8 @@ package xzero.model.navigation;
  * Смещение в декартовой системе координат
  */
 public class Shift {
-    private int _horizontal;
-    private int _vertical;
+    private final int _horizontal;
+    private final int _vertical;
 
     public Shift(int horiz, int vert){
         _horizontal = horiz;
@@ -0,0 +1,158 @@
+package xzero.model.record;
+
+import xzero.model.MoveRecord;
+import xzero.model.Rules;
+import xzero.model.labels.LabelType;
+
+/**
+ * Партия, прочитанная из журнала: правила, вид поля, номер победителя и ходы в формате
+ * {@link MoveRecord}. Смещение записи и смещение следующей за ней позволяют
+ * перебирать журнал последовательно
+ */
+public final class GameRecord {
+
+    private final long _offset;
+    private final long _nextOffset;
+    private final Rules _rules;
+    private final boolean _sparseField;
+    private final int _winnerIndex;
+    private final long[] _moves;
+
+    GameRecord(long offset, long nextOffset, Rules rules, boolean sparseField, int winnerIndex, long[] moves) {
+        _offset = offset;
+        _nextOffset = nextOffset;
+        _rules = rules;
+        _sparseField = sparseField;
+        _winnerIndex = winnerIndex;
+        _moves = moves;
+    }
+
+    /**
+     * Начало записи партии в файле журнала
+     *
+     * @return смещение записи в журнале
+     */
+    public long offset() {
+        return _offset;
+    }
+
+    /**
+     * Начало записи, следующей за этой партией
+     *
+     * @return смещение следующей записи; равно концу журнала для последней партии
+     */
+    public long nextOffset() {
+        return _nextOffset;
+    }
+
+    /**
+     * Правила, по которым сыграна партия
+     *
+     * @return правила партии
+     */
+    public Rules rules() {
+        return _rules;
+    }
+
+    /**
+     * Признак партии на неограниченном поле
+     *
+     * @return true, если партия сыграна на неограниченном поле
+     */
+    public boolean isSparseField() {
+        return _sparseField;
+    }
+
+    /**
+     * Номер победителя партии
+     *
+     * @return номер победителя в порядке очерёдности или -1, если победителя нет
+     */
+    public int winnerIndex() {
+        return _winnerIndex;
+    }
+
+    /**
+     * Количество записанных ходов
+     *
+     * @return количество ходов партии
+     */
+    public int moveCount() {
+        return _moves.length;
+    }
+
+    /**
+     * Упакованная запись хода
+     *
+     * @param i номер хода
+     * @return запись в формате MoveRecord
+     *
+     * @throws IndexOutOfBoundsException если номер вне диапазона
+     */
+    public long move(int i) {
+        if (i < 0 || i >= _moves.length) {
+            throw new IndexOutOfBoundsException("GameRecord: ход " + i + " вне диапазона [0, " + _moves.length + ")");
+        }
+        return _moves[i];
+    }
+
+    /**
+     * Признак паса в записи хода
+     *
+     * @param i номер хода
+     * @return true, если ход — пас
+     */
+    public boolean isPass(int i) {
+        return MoveRecord.isPass(move(i));
+    }
+
+    /**
+     * Признак секретного режима в записи хода
+     *
+     * @param i номер хода
+     * @return true, если метка выдана в секретном режиме
+     */
+    public boolean isSecret(int i) {
+        return MoveRecord.isSecret(move(i));
+    }
+
+    /**
+     * Столбец ячейки из записи хода
+     *
+     * @param i номер хода
+     * @return номер столбца; для паса — 0
+     */
+    public int x(int i) {
+        return MoveRecord.x(move(i));
+    }
+
+    /**
+     * Строка ячейки из записи хода
+     *
+     * @param i номер хода
+     * @return номер строки; для паса — 0
+     */
+    public int y(int i) {
+        return MoveRecord.y(move(i));
+    }
+
+    /**
+     * Тип метки из записи хода
+     *
+     * @param i номер хода
+     * @return тип метки или null для паса
+     */
+    public LabelType labelType(int i) {
+        return MoveRecord.labelType(move(i));
+    }
+
+    /**
+     * Номер игрока, сделавшего ход
+     *
+     * @param i номер хода
+     * @return номер походившего игрока
+     */
+    public int playerIndex(int i) {
+        return MoveRecord.playerIndex(move(i));
+    }
+}
@@ -0,0 +1,306 @@
+package xzero.model.record;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import xzero.model.GameField;
+import xzero.model.GameModel;
+import xzero.model.MoveHistory;
+import xzero.model.Player;
+import xzero.model.Rules;
+import xzero.model.SparseGameField;
+import xzero.model.turn.OpponentPolicy;
+
+/**
+ * Журнал сыгранных партий в двоичном файле, открытом только на дописывание. Файл
+ * начинается заголовком журнала, за которым подряд идут партии: заголовок партии
+ * фиксированной длины с правилами, видом поля, номером победителя и количеством ходов,
+ * затем ходы по 8 байт в формате {@link xzero.model.MoveRecord}.
+ * <p>
+ * Запись ведётся через отображённые в память участки файла: партия копируется в участок
+ * без системных вызовов, а новый участок отображается, только когда текущий закончился.
+ * Партия становится видимой после того, как в заголовке журнала обновлены конец данных и
+ * количество партий, поэтому при аварийном завершении процесса недописанная партия
+ * в журнал не попадает. Порядок сброса страниц на диск операционная система не
+ * гарантирует: при сбое системы или питания сохранность партий обеспечивается только
+ * после {@link #sync()}, который сбрасывает данные раньше заголовка. Файл растёт
+ * участками; хвост после конца данных не используется
+ */
+public final class MoveLog implements AutoCloseable {
+
+    private static final int MAGIC = 0x585A4D4C;        // "XZML"
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int END_POSITION = 8;
+    private static final int COUNT_POSITION = 16;
+
+    private static final int GAME_MAGIC = 0x47414D45;   // "GAME"
+    private static final int GAME_HEADER_SIZE = 32;
+    private static final int MOVE_SIZE = Long.BYTES;
+    private static final int SPARSE_FIELD = 1;
+    private static final OpponentPolicy[] POLICIES = OpponentPolicy.values();
+
+    /** Размер участка файла, отображаемого в память за один раз, по умолчанию */
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 20;
+
+    private final FileChannel _channel;
+    private final int _segmentSize;
+    private final MappedByteBuffer _header;
+    private MappedByteBuffer _segment;
+    private long _segmentStart;
+    private long _end;
+    private long _gameCount;
+    private boolean _closed;
+
+    private MoveLog(FileChannel channel, int segmentSize) throws IOException {
+        _channel = channel;
+        _segmentSize = segmentSize;
+        boolean created = channel.size() == 0;
+        _header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        if (created) {
+            _header.putInt(0, MAGIC);
+            _header.putShort(4, VERSION);
+            _header.putShort(6, (short) HEADER_SIZE);
+            _header.putLong(END_POSITION, HEADER_SIZE);
+            _header.putLong(COUNT_POSITION, 0);
+        } else if (_header.getInt(0) != MAGIC || _header.getShort(4) != VERSION) {
+            throw new IOException("MoveLog: файл не является журналом партий поддерживаемой версии");
+        }
+        _end = _header.getLong(END_POSITION);
+        _gameCount = _header.getLong(COUNT_POSITION);
+        if (_end < HEADER_SIZE || _end > channel.size()) {
+            throw new IOException("MoveLog: повреждён заголовок журнала");
+        }
+    }
+
+    /**
+     * Открывает журнал, создавая файл при его отсутствии
+     *
+     * @param path путь к файлу журнала
+     * @return журнал, готовый к дописыванию и чтению
+     *
+     * @throws IOException если файл нельзя открыть или он не является журналом
+     */
+    public static MoveLog open(Path path) throws IOException {
+        return open(path, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Открывает журнал с заданным размером отображаемых участков
+     *
+     * @param path путь к файлу журнала
+     * @param segmentSize размер участка файла, отображаемого в память за один раз
+     * @return журнал, готовый к дописыванию и чтению
+     *
+     * @throws IllegalArgumentException если размер участка не положителен
+     * @throws IOException если файл нельзя открыть или он не является журналом
+     */
+    public static MoveLog open(Path path, int segmentSize) throws IOException {
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("MoveLog: размер участка должен быть положительным");
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new MoveLog(channel, segmentSize);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // ------------------------------- Запись --------------------------------------
+    /**
+     * Дописывает в журнал выполненные ходы партии; отменённые ходы не записываются.
+     * В заголовок партии попадает фактический размер поля модели, который может отличаться
+     * от размера в её правилах, если поле подготовлено стратегией инициализации другого размера,
+     * и признак неограниченного поля, по которому партия воспроизводится на таком же поле
+     *
+     * @param model модель партии
+     * @return смещение записи партии
+     *
+     * @throws IOException если не удалось отобразить новый участок файла
+     * @throws IllegalStateException если журнал закрыт
+     */
+    public long append(GameModel model) throws IOException {
+        GameField field = model.field();
+        Player winner = model.winner();
+        int winnerIndex = winner == null ? -1 : model.indexOf(winner);
+        MoveHistory history = model.history();
+        Rules rules = model.rules().withBoardSize(field.width(), field.height());
+        int flags = field instanceof SparseGameField ? SPARSE_FIELD : 0;
+        return append(rules, flags, winnerIndex, history, history.size());
+    }
+
+    /**
+     * Дописывает в журнал первые moveCount ходов истории
+     *
+     * @param rules правила партии
+     * @param winnerIndex номер победителя или -1
+     * @param history история ходов
+     * @param moveCount количество записываемых ходов
+     * @return смещение записи партии
+     *
+     * @throws IOException если не удалось отобразить новый участок файла
+     * @throws IllegalStateException если журнал закрыт
+     * @throws IllegalArgumentException если количество ходов вне истории
+     */
+    public long append(Rules rules, int winnerIndex, MoveHistory history, int moveCount) throws IOException {
+        return append(rules, 0, winnerIndex, history, moveCount);
+    }
+
+    private synchronized long append(Rules rules, int flags, int winnerIndex, MoveHistory history, int moveCount)
+            throws IOException {
+        checkOpen();
+        if (moveCount < 0 || moveCount > history.size() + history.redoSize()) {
+            throw new IllegalArgumentException("MoveLog: количество ходов вне истории: " + moveCount);
+        }
+        long offset = _end;
+        int length = GAME_HEADER_SIZE + moveCount * MOVE_SIZE;
+        ensureSegment(length);
+
+        int p = (int) (offset - _segmentStart);
+        _segment.putInt(p, GAME_MAGIC);
+        _segment.putInt(p + 4, rules.width());
+        _segment.putInt(p + 8, rules.height());
+        _segment.putInt(p + 12, rules.lineLength());
+        _segment.putInt(p + 16, rules.passLimit());
+        _segment.put(p + 20, (byte) (rules.overlineWins() ? 1 : 0));
+        _segment.put(p + 21, (byte) rules.playerCount());
+        _segment.put(p + 22, (byte) rules.opponentPolicy().ordinal());
+        _segment.put(p + 23, (byte) winnerIndex);
+        _segment.putInt(p + 24, moveCount);
+        _segment.putInt(p + 28, flags);
+        p += GAME_HEADER_SIZE;
+        for (int i = 0; i < moveCount; i++, p += MOVE_SIZE) {
+            _segment.putLong(p, history.record(i));
+        }
+
+        _end = offset + length;
+        _gameCount++;
+        _header.putLong(END_POSITION, _end);
+        _header.putLong(COUNT_POSITION, _gameCount);
+        return offset;
+    }
+
+    /**
+     * Отображает новый участок, если в текущем не хватает места для записи; прежний
+     * участок сбрасывается на диск, так как sync() видит только текущий
+     */
+    private void ensureSegment(int length) throws IOException {
+        if (_segment != null && _end + length <= _segmentStart + _segment.capacity()) {
+            return;
+        }
+        if (_segment != null) {
+            _segment.force();
+        }
+        _segmentStart = _end;
+        _segment = _channel.map(FileChannel.MapMode.READ_WRITE, _segmentStart, Math.max(_segmentSize, length));
+    }
+
+    /**
+     * Сбрасывает записанные партии на диск: сначала данные, затем заголовок журнала,
+     * чтобы заголовок на диске не ссылался на несохранённые партии
+     *
+     * @throws IllegalStateException если журнал закрыт
+     */
+    public synchronized void sync() {
+        checkOpen();
+        if (_segment != null) {
+            _segment.force();
+        }
+        _header.force();
+    }
+
+    // ------------------------------- Чтение --------------------------------------
+    /**
+     * @return смещение первой партии журнала
+     */
+    public long firstOffset() {
+        return HEADER_SIZE;
+    }
+
+    /**
+     * @return смещение конца данных; партии лежат в диапазоне [firstOffset(), endOffset())
+     */
+    public synchronized long endOffset() {
+        return _end;
+    }
+
+    /**
+     * @return количество партий в журнале
+     */
+    public synchronized long gameCount() {
+        return _gameCount;
+    }
+
+    /**
+     * Читает партию по смещению её записи
+     *
+     * @param offset смещение, полученное от append или из nextOffset предыдущей партии
+     * @return прочитанная партия
+     *
+     * @throws IllegalArgumentException если по смещению нет записи партии
+     * @throws IOException если файл не удалось прочитать
+     * @throws IllegalStateException если журнал закрыт
+     */
+    public synchronized GameRecord read(long offset) throws IOException {
+        checkOpen();
+        if (offset < HEADER_SIZE || offset + GAME_HEADER_SIZE > _end) {
+            throw new IllegalArgumentException("MoveLog: смещение " + offset + " вне данных журнала");
+        }
+        ByteBuffer header = readFully(offset, GAME_HEADER_SIZE);
+        int moveCount = header.getInt(24);
+        int policy = header.get(22);
+        if (header.getInt(0) != GAME_MAGIC || moveCount < 0 || policy < 0 || policy >= POLICIES.length
+                || offset + GAME_HEADER_SIZE + (long) moveCount * MOVE_SIZE > _end) {
+            throw new IllegalArgumentException("MoveLog: по смещению " + offset + " нет записи партии");
+        }
+        Rules rules = new Rules(header.getInt(4), header.getInt(8), header.getInt(12), header.getInt(16),
+                header.get(20) != 0, header.get(21), POLICIES[policy]);
+        int winnerIndex = header.get(23);
+
+        long[] moves = new long[moveCount];
+        readFully(offset + GAME_HEADER_SIZE, moveCount * MOVE_SIZE).asLongBuffer().get(moves);
+        long next = offset + GAME_HEADER_SIZE + (long) moveCount * MOVE_SIZE;
+        boolean sparseField = (header.getInt(28) & SPARSE_FIELD) != 0;
+        return new GameRecord(offset, next, rules, sparseField, winnerIndex, moves);
+    }
+
+    private ByteBuffer readFully(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (_channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("MoveLog: неожиданный конец файла");
+            }
+        }
+        return buffer.flip();
+    }
+
+    // ----------------------------------------------------------------------------
+    private void checkOpen() {
+        if (_closed) {
+            throw new IllegalStateException("MoveLog: журнал закрыт");
+        }
+    }
+
+    /**
+     * Сбрасывает данные на диск и закрывает файл
+     *
+     * @throws IOException если файл не удалось закрыть
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (_closed) {
+            return;
+        }
+        sync();
+        _closed = true;
+        _segment = null;
+        _channel.close();
+    }
+}
@@ -0,0 +1,242 @@
+package xzero.model.record;
+
+import java.util.Arrays;
+
+import xzero.model.GameField;
+import xzero.model.GameModel;
+import xzero.model.GamePosition;
+import xzero.model.MoveRecord;
+import xzero.model.Rules;
+import xzero.model.SparseGameField;
+import xzero.model.factory.CellFactory;
+import xzero.model.factory.LabelFactory;
+import xzero.model.labels.LabelType;
+import xzero.model.setup.SparseFieldInitializer;
+
+/**
+ * Воспроизведение записанной партии над собственной моделью игры. Модель создаётся без
+ * слушателей и с повторным использованием событий, поэтому ходы проигрываются без
+ * оповещения интерфейса. Каждый ход перед выполнением проверяется: партия не завершена,
+ * ходит активный игрок, у него остались пасы, ячейка лежит на поле и свободна.
+ * <p>
+ * Через каждые interval ходов снимается позиция партии; переход к ходу N восстанавливает
+ * ближайшую предшествующую позицию и доигрывает не больше interval ходов, поэтому
+ * повторные переходы по уже просмотренной партии не зависят от её длины
+ */
+public final class ReplayEngine {
+
+    /** Количество ходов между сохранёнными позициями по умолчанию */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 64;
+
+    private final GameModel _model;
+    private final long[] _moves;
+    private final int _interval;
+
+    // Позиция k снята после k * interval ходов; заполняются подряд по мере продвижения
+    private GamePosition[] _checkpoints = new GamePosition[4];
+    private int _checkpointCount;
+    private int _position;
+
+    /**
+     * Создаёт воспроизведение партии из журнала; партия, сыгранная на неограниченном поле,
+     * воспроизводится на таком же поле
+     *
+     * @param record партия
+     */
+    public ReplayEngine(GameRecord record) {
+        this(modelOf(record), movesOf(record), DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * Создаёт воспроизведение последовательности ходов
+     *
+     * @param rules правила партии
+     * @param moves ходы в формате MoveRecord
+     * @param checkpointInterval количество ходов между сохранёнными позициями
+     *
+     * @throws IllegalArgumentException если правила или ходы не заданы либо интервал
+     *                                  не положителен
+     */
+    public ReplayEngine(Rules rules, long[] moves, int checkpointInterval) {
+        this(rules == null ? null : new GameModel(rules), moves, checkpointInterval);
+    }
+
+    private ReplayEngine(GameModel model, long[] moves, int checkpointInterval) {
+        if (model == null || moves == null) {
+            throw new IllegalArgumentException("ReplayEngine: правила и ходы должны быть заданы");
+        }
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("ReplayEngine: интервал между позициями должен быть положительным");
+        }
+        _moves = moves.clone();
+        _interval = checkpointInterval;
+        _model = model;
+        _model.setReusableEvents(true);
+        _model.start();
+        _checkpoints[_checkpointCount++] = _model.position();
+    }
+
+    private static GameModel modelOf(GameRecord record) {
+        if (!record.isSparseField()) {
+            return new GameModel(record.rules());
+        }
+        return new GameModel(new SparseGameField(), new CellFactory(), new LabelFactory(),
+                new SparseFieldInitializer(), record.rules());
+    }
+
+    private static long[] movesOf(GameRecord record) {
+        long[] moves = new long[record.moveCount()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = record.move(i);
+        }
+        return moves;
+    }
+
+    // ------------------------------- Состояние -----------------------------------
+    /**
+     * Модель, в которой воспроизводится партия; изменять её напрямую нельзя
+     *
+     * @return модель игры
+     */
+    public GameModel model() {
+        return _model;
+    }
+
+    /**
+     * @return количество ходов, выполненных к текущей позиции
+     */
+    public int position() {
+        return _position;
+    }
+
+    /**
+     * @return количество ходов в партии
+     */
+    public int moveCount() {
+        return _moves.length;
+    }
+
+    // ------------------------------- Переходы ------------------------------------
+    /**
+     * Переходит к позиции после moveIndex ходов
+     *
+     * @param moveIndex количество выполненных ходов, от 0 до moveCount()
+     *
+     * @throws IllegalArgumentException если номер вне диапазона
+     * @throws IllegalStateException если по пути встретился недопустимый ход; воспроизведение
+     *                               остаётся перед этим ходом
+     */
+    public void seek(int moveIndex) {
+        if (moveIndex < 0 || moveIndex > _moves.length) {
+            throw new IllegalArgumentException("ReplayEngine: ход " + moveIndex + " вне диапазона [0, "
+                    + _moves.length + "]");
+        }
+        int checkpoint = Math.min(moveIndex / _interval, _checkpointCount - 1);
+        if (moveIndex < _position || _position < checkpoint * _interval) {
+            _model.restore(_checkpoints[checkpoint]);
+            _position = checkpoint * _interval;
+        }
+        while (_position < moveIndex) {
+            String violation = violation(_moves[_position]);
+            if (violation != null) {
+                throw new IllegalStateException("ReplayEngine: недопустимый ход №" + _position + ": " + violation);
+            }
+            apply(_moves[_position]);
+        }
+    }
+
+    /**
+     * Выполняет следующий ход
+     *
+     * @throws IllegalStateException если ходов больше нет или ход недопустим
+     */
+    public void next() {
+        if (_position == _moves.length) {
+            throw new IllegalStateException("ReplayEngine: партия воспроизведена до конца");
+        }
+        seek(_position + 1);
+    }
+
+    /**
+     * Доигрывает партию от текущей позиции, проверяя ходы
+     *
+     * @return номер первого недопустимого хода или -1, если все ходы допустимы; воспроизведение
+     *         остаётся перед недопустимым ходом или в конце партии
+     */
+    public int validate() {
+        while (_position < _moves.length) {
+            if (violation(_moves[_position]) != null) {
+                return _position;
+            }
+            apply(_moves[_position]);
+        }
+        return -1;
+    }
+
+    /**
+     * Проверяет допустимость хода в текущей позиции
+     *
+     * @return описание нарушения или null, если ход допустим
+     */
+    private String violation(long move) {
+        if (_model.isFinished()) {
+            return "партия уже завершена";
+        }
+        int player = MoveRecord.playerIndex(move);
+        int active = _model.indexOf(_model.activePlayer());
+        if (player != active) {
+            return "ходит игрок " + player + ", а очередь игрока " + active;
+        }
+        if (MoveRecord.isPass(move)) {
+            return _model.passesLeftFor(_model.activePlayer()) > 0 ? null : "лимит пасов исчерпан";
+        }
+        int x = MoveRecord.x(move);
+        int y = MoveRecord.y(move);
+        GameField field = _model.field();
+        if (!field.containsRange(x, y)) {
+            return "ячейка (" + x + ", " + y + ") вне поля";
+        }
+        if (field.label(x, y) != null) {
+            return "ячейка (" + x + ", " + y + ") занята";
+        }
+        return null;
+    }
+
+    /**
+     * Выполняет допустимый ход и при необходимости сохраняет позицию. После возврата
+     * к сохранённой позиции история модели ещё содержит следующие ходы партии; они
+     * повторяются через redo, чтобы история сохраняла ходы до более поздних позиций
+     */
+    private void apply(long move) {
+        boolean redo = _model.canRedo();
+        if (MoveRecord.isPass(move)) {
+            if (redo) {
+                _model.redo();
+            } else {
+                _model.passTurn();
+            }
+        } else {
+            boolean secret = MoveRecord.isSecret(move);
+            if (secret != _model.secretModeEnabled()) {
+                _model.setSecretModeEnabled(secret);
+            }
+            LabelType type = MoveRecord.labelType(move);
+            if (type != _model.activeLabelType()) {
+                _model.setActiveLabelType(type);
+            }
+            if (redo) {
+                _model.redo();
+            } else {
+                _model.activePlayer().setLabelTo(MoveRecord.x(move), MoveRecord.y(move));
+            }
+        }
+        _position++;
+
+        if (_position % _interval == 0 && _position / _interval == _checkpointCount) {
+            if (_checkpointCount == _checkpoints.length) {
+                _checkpoints = Arrays.copyOf(_checkpoints, _checkpointCount * 2);
+            }
+            _checkpoints[_checkpointCount++] = _model.position();
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package xzero.model.setup;
 
-import java.awt.Point;
-
 import xzero.model.GameField;
 import xzero.model.factory.CellFactory;
 
@@ -12,6 +10,7 @@ public class GridFieldInitializer implements FieldInitializer {
 
     private final int width;
     private final int height;
+    private final boolean reuseCells;
 
     /**
      * Создаёт инициализатор с заданными размерами игрового поля
@@ -22,26 +21,48 @@ public class GridFieldInitializer implements FieldInitializer {
      * @throws IllegalArgumentException если ширина или длина отрицательны
      */
     public GridFieldInitializer(int width, int height) {
+        this(width, height, false);
+    }
+
+    /**
+     * Создаёт инициализатор с заданными размерами игрового поля и режимом повторного
+     * использования ячеек
+     *
+     * @param width ширина
+     * @param height высота
+     * @param reuseCells true — если поле уже заполнено ячейками нужного размера,
+     *                   только снимать метки, не создавая ячейки заново
+     *
+     * @throws IllegalArgumentException если ширина или длина отрицательны
+     */
+    public GridFieldInitializer(int width, int height, boolean reuseCells) {
         if (width <= 0 || height <= 0) {
             throw new IllegalArgumentException("Размеры поля должны быть положительными");
         }
         this.width = width;
         this.height = height;
+        this.reuseCells = reuseCells;
     }
 
     /**
-     * Подготавливает игровое поле, очищая его и заполняя ячейками через фабрику
+     * Подготавливает игровое поле, очищая его и заполняя ячейками через фабрику;
+     * в режиме повторного использования поле того же размера только очищается от меток
      *
      * @param field игровое поле, которое необходимо инициализировать
      * @param cellFactory фабрика для создания ячеек
      */
     @Override
     public void prepare(GameField field, CellFactory cellFactory) {
+        if (reuseCells && field.width() == width && field.height() == height && field.isFilled()) {
+            field.clearLabels();
+            return;
+        }
+
         field.clear();
         field.setSize(width, height);
         for (int row = 1; row <= field.height(); row++) {
             for (int col = 1; col <= field.width(); col++) {
-                field.setCell(new Point(col, row), cellFactory.createCell());
+                field.setCell(col, row, cellFactory.createCell());
             }
         }
     }
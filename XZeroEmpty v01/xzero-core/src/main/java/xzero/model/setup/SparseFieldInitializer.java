@@ -0,0 +1,30 @@
+package xzero.model.setup;
+
+import xzero.model.GameField;
+import xzero.model.SparseGameField;
+import xzero.model.factory.CellFactory;
+
+/**
+ * Инициализатор неограниченного поля: снимает все ячейки и передаёт полю фабрику,
+ * через которую ячейки будут создаваться при первой установке меток
+ */
+public class SparseFieldInitializer implements FieldInitializer {
+
+    /**
+     * Подготавливает неограниченное поле к новой игре
+     *
+     * @param field игровое поле, которое необходимо инициализировать
+     * @param cellFactory фабрика для создания ячеек
+     *
+     * @throws IllegalArgumentException если поле не является неограниченным
+     */
+    @Override
+    public void prepare(GameField field, CellFactory cellFactory) {
+        if (!(field instanceof SparseGameField)) {
+            throw new IllegalArgumentException("SparseFieldInitializer подготавливает только SparseGameField");
+        }
+        SparseGameField sparse = (SparseGameField) field;
+        sparse.setCellFactory(cellFactory);
+        sparse.clear();
+    }
+}
@@ -0,0 +1,68 @@
+package xzero.model.simulation;
+
+import java.util.Random;
+
+import xzero.model.GameField;
+import xzero.model.engine.GameEngine;
+import xzero.model.engine.Move;
+import xzero.model.engine.MoveSource;
+
+/**
+ * Бот, ставящий метку в случайную свободную ячейку и изредка пасующий
+ */
+public class RandomMoveSource implements MoveSource {
+
+    private static final int RANDOM_PROBES = 16;
+
+    private final Random _random;
+    private final double _passProbability;
+
+    /**
+     * Создаёт бота с заданным зерном генератора случайных чисел
+     *
+     * @param seed зерно генератора
+     * @param passProbability вероятность паса, если он ещё доступен
+     *
+     * @throws IllegalArgumentException если вероятность вне диапазона [0, 1]
+     */
+    public RandomMoveSource(long seed, double passProbability) {
+        if (passProbability < 0 || passProbability > 1) {
+            throw new IllegalArgumentException("Вероятность паса должна быть в диапазоне [0, 1]");
+        }
+        _random = new Random(seed);
+        _passProbability = passProbability;
+    }
+
+    /**
+     * Выбирает случайную свободную ячейку; сначала пробует несколько случайных позиций,
+     * затем ищет свободную ячейку перебором от случайной стартовой
+     *
+     * @param engine движок с текущей позицией
+     * @return выбранный ход
+     */
+    @Override
+    public Move nextMove(GameEngine engine) {
+        if (_passProbability > 0 && _random.nextDouble() < _passProbability
+                && engine.model().passesLeftFor(engine.activePlayer()) > 0) {
+            return Move.pass();
+        }
+
+        GameField field = engine.field();
+        int count = field.width() * field.height();
+        for (int probe = 0; probe < RANDOM_PROBES; probe++) {
+            int index = _random.nextInt(count);
+            if (field.label(index) == null) {
+                return Move.place(field.x(index), field.y(index));
+            }
+        }
+
+        int start = _random.nextInt(count);
+        for (int i = 0; i < count; i++) {
+            int index = (start + i) % count;
+            if (field.label(index) == null) {
+                return Move.place(field.x(index), field.y(index));
+            }
+        }
+        return Move.pass();
+    }
+}
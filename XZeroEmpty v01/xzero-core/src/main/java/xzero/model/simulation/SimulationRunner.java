@@ -0,0 +1,189 @@
+package xzero.model.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import xzero.model.engine.GameEngine;
+import xzero.model.engine.Move;
+import xzero.model.engine.MoveResult;
+import xzero.model.engine.MoveSource;
+
+/**
+ * Параллельный прогон независимых партий ботов. Каждая задача создаёт собственный
+ * граф объектов (движок, модель, поле, менеджер ходов) и переиспользует его для своих
+ * партий, начиная каждую вызовом start(), а боты создаются для каждой партии, поэтому
+ * изменяемое состояние между потоками не разделяется. Партии распределяются по задачам
+ * пачками, каждая задача копит свою статистику, итог объединяется в конце
+ */
+public class SimulationRunner {
+
+    /**
+     * Фабрика ботов; вызывается для каждой партии и каждого игрока
+     */
+    public interface MoveSourceFactory {
+
+        /**
+         * Создаёт бота для игрока партии
+         *
+         * @param gameIndex номер партии в серии
+         * @param playerIndex номер игрока в порядке очерёдности ходов
+         * @return бот
+         */
+        MoveSource create(long gameIndex, int playerIndex);
+    }
+
+    private static final int MAX_ILLEGAL_MOVES_IN_ROW = 100;
+    private static final int BATCHES_PER_THREAD = 4;
+
+    private final Supplier<GameEngine> _engineFactory;
+    private final MoveSourceFactory _moveSourceFactory;
+    private final int _playerCount;
+
+    /**
+     * Создаёт прогонщик партий
+     *
+     * @param engineFactory фабрика движков; должна каждый раз возвращать новый движок над новой моделью,
+     *                      движок используется для всех партий одной задачи
+     * @param moveSourceFactory фабрика ботов
+     *
+     * @throws IllegalArgumentException если любая из фабрик равна null
+     */
+    public SimulationRunner(Supplier<GameEngine> engineFactory, MoveSourceFactory moveSourceFactory) {
+        if (engineFactory == null || moveSourceFactory == null) {
+            throw new IllegalArgumentException("Фабрики движков и ботов должны быть заданы");
+        }
+        _engineFactory = engineFactory;
+        _moveSourceFactory = moveSourceFactory;
+        _playerCount = engineFactory.get().model().players().size();
+    }
+
+    /**
+     * Прогоняет партии в пуле fork-join с заданным числом потоков
+     *
+     * @param games количество партий
+     * @param parallelism количество потоков
+     * @return сводная статистика
+     *
+     * @throws IllegalArgumentException если количество партий отрицательно или потоков меньше одного
+     */
+    public SimulationStats run(long games, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Количество потоков должно быть положительным");
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return run(games, pool, parallelism * BATCHES_PER_THREAD);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Прогоняет партии на переданном исполнителе, например на исполнителе виртуальных потоков;
+     * исполнитель не останавливается
+     *
+     * @param games количество партий
+     * @param executor исполнитель задач
+     * @param batches количество задач, на которые делится серия
+     * @return сводная статистика
+     *
+     * @throws IllegalArgumentException если количество партий отрицательно или задач меньше одной
+     * @throws IllegalStateException если партия завершилась исключением или ожидание прервано
+     */
+    public SimulationStats run(long games, ExecutorService executor, int batches) {
+        if (games < 0) {
+            throw new IllegalArgumentException("Количество партий не может быть отрицательным");
+        }
+        if (batches < 1) {
+            throw new IllegalArgumentException("Количество задач должно быть положительным");
+        }
+
+        List<Future<SimulationStats>> futures = new ArrayList<>();
+        long batchSize = (games + batches - 1) / batches;
+        for (long from = 0; from < games; from += batchSize) {
+            long first = from;
+            long last = Math.min(games, from + batchSize);
+            futures.add(executor.submit(() -> runBatch(first, last)));
+        }
+
+        SimulationStats total = new SimulationStats(_playerCount);
+        try {
+            for (Future<SimulationStats> future : futures) {
+                total.merge(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Прогон партий прерван", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Партия завершилась ошибкой", e.getCause());
+        }
+        return total;
+    }
+
+    /**
+     * Прогоняет партии последовательно в текущем потоке
+     *
+     * @param games количество партий
+     * @return сводная статистика
+     */
+    public SimulationStats runSequential(long games) {
+        return runBatch(0, games);
+    }
+
+    /**
+     * Прогоняет партии с номерами из диапазона [first, last)
+     */
+    private SimulationStats runBatch(long first, long last) {
+        SimulationStats stats = new SimulationStats(_playerCount);
+        GameEngine engine = _engineFactory.get();
+        for (long game = first; game < last; game++) {
+            playGame(engine, game, stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Играет одну партию на движке задачи
+     */
+    private void playGame(GameEngine engine, long gameIndex, SimulationStats stats) {
+        MoveSource[] sources = new MoveSource[_playerCount];
+        for (int i = 0; i < _playerCount; i++) {
+            sources[i] = _moveSourceFactory.create(gameIndex, i);
+        }
+
+        engine.start();
+        int illegalInRow = 0;
+        while (!engine.isFieldFull()) {
+            int active = engine.indexOf(engine.activePlayer());
+            Move move = sources[active].nextMove(engine);
+            MoveResult result = engine.apply(move);
+
+            if (result == MoveResult.ILLEGAL) {
+                stats.recordIllegalMove();
+                if (++illegalInRow >= MAX_ILLEGAL_MOVES_IN_ROW) {
+                    stats.recordAborted();
+                    return;
+                }
+                continue;
+            }
+            illegalInRow = 0;
+
+            if (move.isPass()) {
+                stats.recordPass();
+            } else {
+                stats.recordMove();
+            }
+
+            if (result == MoveResult.WIN) {
+                stats.recordWin(engine.indexOf(engine.winner()));
+                return;
+            }
+        }
+        stats.recordDraw();
+    }
+}
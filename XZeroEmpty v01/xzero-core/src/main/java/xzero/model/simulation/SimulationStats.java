@@ -0,0 +1,187 @@
+package xzero.model.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Сводная статистика серии партий: победы по игрокам, ничьи, ходы и пасы.
+ * Экземпляр не потокобезопасен: каждая задача накапливает свою статистику,
+ * которая затем объединяется через merge
+ */
+public class SimulationStats {
+
+    private final long[] _wins;
+    private long _games;
+    private long _draws;
+    private long _aborted;
+    private long _moves;
+    private long _passes;
+    private long _illegalMoves;
+
+    /**
+     * Создаёт пустую статистику
+     *
+     * @param playerCount количество игроков в партии
+     */
+    public SimulationStats(int playerCount) {
+        _wins = new long[playerCount];
+    }
+
+    // ----------------------------- Накопление ----------------------------------
+    /**
+     * Учитывает партию, завершившуюся победой
+     *
+     * @param playerIndex номер победившего игрока
+     */
+    void recordWin(int playerIndex) {
+        _games++;
+        _wins[playerIndex]++;
+    }
+
+    /**
+     * Учитывает партию, завершившуюся заполнением поля без победителя
+     */
+    void recordDraw() {
+        _games++;
+        _draws++;
+    }
+
+    /**
+     * Учитывает партию, прерванную из-за слишком большого числа недопустимых ходов
+     */
+    void recordAborted() {
+        _games++;
+        _aborted++;
+    }
+
+    /**
+     * Учитывает выполненную установку метки
+     */
+    void recordMove() {
+        _moves++;
+    }
+
+    /**
+     * Учитывает выполненный пас
+     */
+    void recordPass() {
+        _moves++;
+        _passes++;
+    }
+
+    /**
+     * Учитывает отклонённый недопустимый ход
+     */
+    void recordIllegalMove() {
+        _illegalMoves++;
+    }
+
+    /**
+     * Добавляет к статистике результаты другой серии партий
+     *
+     * @param other статистика другой серии
+     *
+     * @throws IllegalArgumentException если количество игроков различается
+     */
+    public void merge(SimulationStats other) {
+        if (other._wins.length != _wins.length) {
+            throw new IllegalArgumentException("Нельзя объединить статистику с разным числом игроков");
+        }
+        for (int i = 0; i < _wins.length; i++) {
+            _wins[i] += other._wins[i];
+        }
+        _games += other._games;
+        _draws += other._draws;
+        _aborted += other._aborted;
+        _moves += other._moves;
+        _passes += other._passes;
+        _illegalMoves += other._illegalMoves;
+    }
+
+    // ------------------------------- Чтение ------------------------------------
+    /**
+     * Количество сыгранных партий
+     *
+     * @return количество партий
+     */
+    public long games() {
+        return _games;
+    }
+
+    /**
+     * Количество побед игрока
+     *
+     * @param playerIndex номер игрока в порядке очерёдности ходов
+     * @return количество побед
+     */
+    public long winsOf(int playerIndex) {
+        return _wins[playerIndex];
+    }
+
+    /**
+     * Количество партий, закончившихся заполнением поля без победителя
+     *
+     * @return количество ничьих
+     */
+    public long draws() {
+        return _draws;
+    }
+
+    /**
+     * Количество прерванных партий
+     *
+     * @return количество прерванных партий
+     */
+    public long aborted() {
+        return _aborted;
+    }
+
+    /**
+     * Общее количество выполненных ходов, включая пасы
+     *
+     * @return количество ходов
+     */
+    public long moves() {
+        return _moves;
+    }
+
+    /**
+     * Общее количество пасов
+     *
+     * @return количество пасов
+     */
+    public long passes() {
+        return _passes;
+    }
+
+    /**
+     * Общее количество отклонённых недопустимых ходов
+     *
+     * @return количество недопустимых ходов
+     */
+    public long illegalMoves() {
+        return _illegalMoves;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof SimulationStats)) {
+            return false;
+        }
+        SimulationStats stats = (SimulationStats) other;
+        return Arrays.equals(_wins, stats._wins) && _games == stats._games && _draws == stats._draws
+                && _aborted == stats._aborted && _moves == stats._moves && _passes == stats._passes
+                && _illegalMoves == stats._illegalMoves;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(_wins) * 31 + Long.hashCode(_moves);
+    }
+
+    @Override
+    public String toString() {
+        return "games=" + _games + ", wins=" + Arrays.toString(_wins) + ", draws=" + _draws
+                + ", aborted=" + _aborted + ", moves=" + _moves + ", passes=" + _passes
+                + ", illegal=" + _illegalMoves;
+    }
+}
@@ -0,0 +1,31 @@
+package xzero.model.turn;
+
+/**
+ * Правило выбора противника, которому достаётся делегированная метка активного игрока;
+ * при двух игроках оба правила указывают на второго игрока
+ */
+public enum OpponentPolicy {
+    /** Противник — следующий игрок в порядке очерёдности */
+    NEXT {
+        @Override
+        public int opponentIndex(int index, int playerCount) {
+            return index + 1 == playerCount ? 0 : index + 1;
+        }
+    },
+    /** Противник — предыдущий игрок в порядке очерёдности */
+    PREVIOUS {
+        @Override
+        public int opponentIndex(int index, int playerCount) {
+            return index == 0 ? playerCount - 1 : index - 1;
+        }
+    };
+
+    /**
+     * Возвращает номер противника за постоянное время
+     *
+     * @param index номер игрока в порядке очерёдности
+     * @param playerCount количество игроков
+     * @return номер противника
+     */
+    public abstract int opponentIndex(int index, int playerCount);
+}
@@ -1,17 +1,18 @@
 package xzero.model.turn;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import xzero.model.Player;
 import xzero.model.labels.LabelType;
 
 /**
- * Управляет очередностью ходов игроков, типами используемых меток и лимитами пасов
+ * Управляет очередностью ходов игроков, типами используемых меток и лимитами пасов.
+ * Состояния игроков лежат в массиве в порядке очерёдности, поэтому смена хода и поиск
+ * состояния игрока по его номеру выполняются за постоянное время при любом числе игроков
  */
 public class TurnManager {
 
-    private final List<PlayerState> states = new ArrayList<>();
+    private final PlayerState[] states;
     private int activeIndex;
     private final int passLimitPerPlayer;
 
@@ -31,10 +32,35 @@ public class TurnManager {
             throw new IllegalArgumentException("Лимит пасов не может быть отрицательным");
         }
         this.passLimitPerPlayer = passLimitPerPlayer;
-        for (Player player : players) {
-            states.add(new PlayerState(player, passLimitPerPlayer));
+        states = new PlayerState[players.size()];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = new PlayerState(players.get(i), passLimitPerPlayer);
         }
-        activeIndex = states.size() - 1;
+        activeIndex = states.length - 1;
+    }
+
+    /**
+     * Возвращает количество игроков
+     *
+     * @return количество игроков
+     */
+    public int playerCount() {
+        return states.length;
+    }
+
+    /**
+     * Возвращает игрока с указанным номером в порядке очерёдности
+     *
+     * @param index номер игрока
+     * @return игрок
+     *
+     * @throws IllegalArgumentException если номер вне диапазона
+     */
+    public Player playerAt(int index) {
+        if (index < 0 || index >= states.length) {
+            throw new IllegalArgumentException("Номер игрока вне диапазона: " + index);
+        }
+        return states[index].player();
     }
 
     /**
@@ -43,7 +69,7 @@ public class TurnManager {
      * @return активный игрок
      */
     public Player activePlayer() {
-        return states.get(activeIndex).player();
+        return states[activeIndex].player();
     }
 
     /**
@@ -52,7 +78,7 @@ public class TurnManager {
      * @return тип метки активного игрока
      */
     public LabelType activeLabelType() {
-        return states.get(activeIndex).labelType();
+        return states[activeIndex].labelType();
     }
 
     /**
@@ -62,7 +88,7 @@ public class TurnManager {
         for (PlayerState state : states) {
             state.reset(passLimitPerPlayer);
         }
-        activeIndex = states.size() - 1;
+        activeIndex = states.length - 1;
         advanceToNextPlayer();
     }
 
@@ -71,17 +97,46 @@ public class TurnManager {
      */
     public void advanceToNextPlayer() {
         activeIndex++;
-        if (activeIndex >= states.size()) {
+        if (activeIndex == states.length) {
             activeIndex = 0;
         }
     }
 
+    /**
+     * Возвращает номер активного игрока в порядке очерёдности
+     *
+     * @return номер активного игрока
+     */
+    public int activeIndex() {
+        return activeIndex;
+    }
+
+    /**
+     * Делает активным игрока с указанным номером, например при отмене хода
+     *
+     * @param index номер игрока в порядке очерёдности
+     *
+     * @throws IllegalArgumentException если номер вне диапазона
+     */
+    public void setActiveIndex(int index) {
+        if (index < 0 || index >= states.length) {
+            throw new IllegalArgumentException("Номер игрока вне диапазона: " + index);
+        }
+        activeIndex = index;
+    }
+
     /**
      * Уменьшает количество оставшихся пасов у активного игрока
      */
     public void consumePassOfActive() {
-        PlayerState state = states.get(activeIndex);
-        state.consumePass();
+        states[activeIndex].consumePass();
+    }
+
+    /**
+     * Возвращает активному игроку ранее израсходованный пас
+     */
+    public void returnPassOfActive() {
+        states[activeIndex].returnPass(passLimitPerPlayer);
     }
 
     /**
@@ -101,7 +156,7 @@ public class TurnManager {
      * @param labelType тип метки
      */
     public void setActiveLabelType(LabelType labelType) {
-        states.get(activeIndex).setLabelType(labelType);
+        states[activeIndex].setLabelType(labelType);
     }
 
     /**
@@ -116,12 +171,81 @@ public class TurnManager {
     }
 
     /**
-     * Возвращает внутреннее состояние для указанного игрока
+     * Возвращает количество оставшихся пасов игрока с указанным номером
+     *
+     * @param index номер игрока в порядке очерёдности
+     * @return количество пасов
+     *
+     * @throws IllegalArgumentException если номер вне диапазона
+     */
+    public int passesLeftAt(int index) {
+        checkIndex(index);
+        return states[index].passesLeft();
+    }
+
+    /**
+     * Возвращает тип метки, выбранный игроком с указанным номером
+     *
+     * @param index номер игрока в порядке очерёдности
+     * @return тип метки
+     *
+     * @throws IllegalArgumentException если номер вне диапазона
+     */
+    public LabelType labelTypeAt(int index) {
+        checkIndex(index);
+        return states[index].labelType();
+    }
+
+    /**
+     * Восстанавливает ранее сохранённое состояние очерёдности, например при переходе
+     * к сохранённой позиции партии
+     *
+     * @param activeIndex номер активного игрока
+     * @param passesLeft оставшиеся пасы игроков в порядке очерёдности
+     * @param labelTypes выбранные типы меток игроков в порядке очерёдности
+     *
+     * @throws IllegalArgumentException если номер вне диапазона, размеры массивов не совпадают
+     *                                  с количеством игроков, пасов больше лимита или тип не задан
+     */
+    public void restore(int activeIndex, int[] passesLeft, LabelType[] labelTypes) {
+        checkIndex(activeIndex);
+        if (passesLeft.length != states.length || labelTypes.length != states.length) {
+            throw new IllegalArgumentException("Состояние не соответствует количеству игроков");
+        }
+        for (int i = 0; i < states.length; i++) {
+            if (passesLeft[i] < 0 || passesLeft[i] > passLimitPerPlayer) {
+                throw new IllegalArgumentException("Количество пасов вне диапазона: " + passesLeft[i]);
+            }
+        }
+        for (int i = 0; i < states.length; i++) {
+            states[i].setLabelType(labelTypes[i]);
+            states[i].passesLeft = passesLeft[i];
+        }
+        this.activeIndex = activeIndex;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= states.length) {
+            throw new IllegalArgumentException("Номер игрока вне диапазона: " + index);
+        }
+    }
+
+    /**
+     * Возвращает внутреннее состояние для указанного игрока. Номер игрока, назначенный
+     * моделью, совпадает с номером его ячейки в массиве; игроки без номера или с чужим
+     * номером ищутся просмотром массива
      *
      * @param player игрок, состояние которого требуется получить
      * @return состояние игрока или null, если игрок не найден
      */
     private PlayerState stateFor(Player player) {
+        if (player == null) {
+            return null;
+        }
+        int id = player.id();
+        if (id >= 0 && id < states.length && states[id].player() == player) {
+            return states[id];
+        }
         for (PlayerState state : states) {
             if (state.player().equals(player)) {
                 return state;
@@ -216,6 +340,20 @@ public class TurnManager {
             }
             passesLeft--;
         }
+
+        /**
+         * Возвращает игроку один израсходованный пас
+         *
+         * @param passLimitPerPlayer лимит пасов
+         *
+         * @throws IllegalStateException если игрок не расходовал пасов
+         */
+        void returnPass(int passLimitPerPlayer) {
+            if (passesLeft >= passLimitPerPlayer) {
+                throw new IllegalStateException("Игрок не расходовал пасов");
+            }
+            passesLeft++;
+        }
     }
 }
 
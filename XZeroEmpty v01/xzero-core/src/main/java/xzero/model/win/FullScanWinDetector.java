@@ -0,0 +1,80 @@
+package xzero.model.win;
+
+import java.util.List;
+
+import xzero.model.Cell;
+import xzero.model.GameField;
+import xzero.model.Player;
+import xzero.model.labels.Label;
+import xzero.model.navigation.Direction;
+
+/**
+ * Определение победителя просмотром всех серий меток поля; используется для проверки
+ * результатов более быстрых стратегий. Линия от пустой ячейки пуста, поэтому достаточно
+ * перебрать занятые ячейки, и на неограниченном поле стоимость зависит от количества
+ * меток, а не от площади. Каждая серия измеряется один раз — от своей первой метки вдоль
+ * одной из четырёх осей, поэтому противоположные направления не просматриваются
+ */
+public class FullScanWinDetector implements WinDetector {
+
+    // Оси задаются первыми четырьмя направлениями, противоположные получаем сменой знака
+    private static final int AXIS_COUNT = Direction.count() / 2;
+
+    private final int lineLength;
+    private final boolean overlineWins;
+
+    /**
+     * Создаёт стратегию с заданной длиной выигрышной линии; линия длиннее выигрышной
+     * тоже приносит победу
+     *
+     * @param lineLength длина выигрышной линии
+     *
+     * @throws IllegalArgumentException если длина линии не положительна
+     */
+    public FullScanWinDetector(int lineLength) {
+        this(lineLength, true);
+    }
+
+    /**
+     * Создаёт стратегию с заданной длиной выигрышной линии
+     *
+     * @param lineLength длина выигрышной линии
+     * @param overlineWins true, если линия длиннее выигрышной тоже приносит победу
+     *
+     * @throws IllegalArgumentException если длина линии не положительна
+     */
+    public FullScanWinDetector(int lineLength, boolean overlineWins) {
+        if (lineLength <= 0) {
+            throw new IllegalArgumentException("Длина выигрышной линии должна быть положительной");
+        }
+        this.lineLength = lineLength;
+        this.overlineWins = overlineWins;
+    }
+
+    /**
+     * Просматривает все метки поля, не учитывая позицию последнего хода
+     *
+     * @param field игровое поле
+     * @param placed ячейка последнего хода (не используется)
+     * @return победивший игрок или null, если победителя пока нет
+     */
+    @Override
+    public Player winnerAfter(GameField field, Cell placed) {
+        for(Label label : field.labels()) {
+            Cell cell = label.cell();
+            for(int axis = 0; axis < AXIS_COUNT; axis++) {
+                Label before = field.label(cell.x() - Direction.dx(axis), cell.y() - Direction.dy(axis));
+                if (before != null && before.owner().equals(label.owner())) {
+                    continue;
+                }
+                List<Label> line = field.labelLine(cell.x(), cell.y(), Direction.byIndex(axis));
+
+                if(overlineWins ? line.size() >= lineLength : line.size() == lineLength) {
+                    return line.get(0).owner();
+                }
+            }
+        }
+
+        return null;
+    }
+}
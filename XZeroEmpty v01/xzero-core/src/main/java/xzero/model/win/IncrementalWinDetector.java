@@ -0,0 +1,100 @@
+package xzero.model.win;
+
+import xzero.model.Cell;
+import xzero.model.GameField;
+import xzero.model.Player;
+import xzero.model.labels.Label;
+import xzero.model.navigation.Direction;
+
+/**
+ * Определение победителя только по четырём осям, проходящим через ячейку последнего хода.
+ * Линия, появившаяся после хода, обязательно содержит новую метку, поэтому результат
+ * совпадает с полным просмотром поля, а стоимость хода не зависит от размеров поля.
+ * В варианте с точной длиной линия длиннее выигрышной победы не приносит; для этого
+ * достаточно того же обхода, так как в каждую сторону просматривается не больше L ячеек
+ */
+public class IncrementalWinDetector implements WinDetector {
+
+    // Оси задаются первыми четырьмя направлениями (восток, северо-восток, север, северо-запад);
+    // противоположные направления получаем сменой знака смещений
+    private static final int AXIS_COUNT = Direction.count() / 2;
+
+    private final int lineLength;
+    private final boolean overlineWins;
+
+    /**
+     * Создаёт стратегию с заданной длиной выигрышной линии; линия длиннее выигрышной
+     * тоже приносит победу
+     *
+     * @param lineLength длина выигрышной линии
+     *
+     * @throws IllegalArgumentException если длина линии не положительна
+     */
+    public IncrementalWinDetector(int lineLength) {
+        this(lineLength, true);
+    }
+
+    /**
+     * Создаёт стратегию с заданной длиной выигрышной линии
+     *
+     * @param lineLength длина выигрышной линии
+     * @param overlineWins true, если линия длиннее выигрышной тоже приносит победу
+     *
+     * @throws IllegalArgumentException если длина линии не положительна
+     */
+    public IncrementalWinDetector(int lineLength, boolean overlineWins) {
+        if (lineLength <= 0) {
+            throw new IllegalArgumentException("Длина выигрышной линии должна быть положительной");
+        }
+        this.lineLength = lineLength;
+        this.overlineWins = overlineWins;
+    }
+
+    /**
+     * Подсчитывает длины серий владельца новой метки по каждой оси через ячейку хода
+     *
+     * @param field игровое поле
+     * @param placed ячейка, в которую только что помещена метка
+     * @return владелец новой метки, если она замкнула линию, иначе null
+     */
+    @Override
+    public Player winnerAfter(GameField field, Cell placed) {
+        if (placed == null || placed.label() == null) {
+            return null;
+        }
+        Player owner = placed.label().owner();
+
+        for (int axis = 0; axis < AXIS_COUNT; axis++) {
+            int dx = Direction.dx(axis);
+            int dy = Direction.dy(axis);
+
+            int run = 1;
+            run += runLength(field, placed, dx, dy, owner);
+            run += runLength(field, placed, -dx, -dy, owner);
+
+            if (overlineWins ? run >= lineLength : run == lineLength) {
+                return owner;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Считает подряд идущие метки владельца от ячейки хода в одну сторону оси
+     */
+    private int runLength(GameField field, Cell from, int dx, int dy, Player owner) {
+        int run = 0;
+        int x = from.x() + dx;
+        int y = from.y() + dy;
+        while (run < lineLength && field.containsRange(x, y)) {
+            Label l = field.label(x, y);
+            if (l == null || !l.owner().equals(owner)) {
+                break;
+            }
+            run++;
+            x += dx;
+            y += dy;
+        }
+        return run;
+    }
+}
@@ -0,0 +1,19 @@
+package xzero.model.win;
+
+/**
+ * Виды непрерывных серий меток одного владельца, которые учитывает индекс шаблонов.
+ * Длины отсчитываются от длины выигрышной линии L: «четвёрка» — серия из L - 1 меток,
+ * «тройка» — из L - 2; открытый конец серии — пустая ячейка поля сразу за её краем
+ */
+public enum LinePattern {
+    /** Серия длиной не меньше L */
+    LINE,
+    /** Серия длиной ровно L */
+    EXACT_LINE,
+    /** Серия длиной L - 1 с двумя открытыми концами */
+    OPEN_FOUR,
+    /** Серия длиной L - 1 ровно с одним открытым концом */
+    CLOSED_FOUR,
+    /** Серия длиной L - 2 с двумя открытыми концами */
+    OPEN_THREE,
+}
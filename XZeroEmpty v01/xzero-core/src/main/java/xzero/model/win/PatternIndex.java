@@ -0,0 +1,310 @@
+package xzero.model.win;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import xzero.model.GameField;
+import xzero.model.Player;
+import xzero.model.labels.HiddenLabel;
+import xzero.model.labels.Label;
+import xzero.model.navigation.Direction;
+
+/**
+ * Индекс шаблонов поля: для каждого владельца хранится количество максимальных серий
+ * по каждой из четырёх осей, разложенное по длине и числу открытых концов. Индекс
+ * обновляется полем при каждой установке и снятии метки: пересчитываются только серии,
+ * проходящие через изменённую ячейку или примыкающие к ней, поэтому вопросы вида
+ * «есть ли у кого-нибудь открытая четвёрка» решаются обращением к счётчику.
+ * <p>
+ * Серия принадлежит владельцу меток (owner), а не игроку, который их поставил, поэтому
+ * делегированная метка продлевает линию своего логического владельца. Скрытая метка
+ * тоже засчитывается настоящему владельцу, как и при определении победы; серии, в которых
+ * есть скрытые метки, дополнительно исключаются из «известных» счётчиков, доступных
+ * игрокам до конца партии. Серии длиннее L учитываются одним счётчиком длины L + 1
+ */
+public final class PatternIndex {
+
+    // Оси задаются первыми четырьмя направлениями, противоположные получаем сменой знака
+    private static final int AXIS_COUNT = Direction.count() / 2;
+
+    private final int _lineLength;
+    private final int _cap;
+    private final Map<Player, int[]> _counts = new LinkedHashMap<>();
+    private final Map<Player, int[]> _knownCounts = new LinkedHashMap<>();
+
+    // Описание последней посчитанной серии; заполняется методом measure
+    private Player _runOwner;
+    private int _runLength;
+    private int _runOpenEnds;
+    private boolean _runHidden;
+
+    /**
+     * Создаёт пустой индекс для линий заданной длины
+     *
+     * @param lineLength длина выигрышной линии
+     *
+     * @throws IllegalArgumentException если длина линии не положительна
+     */
+    public PatternIndex(int lineLength) {
+        if (lineLength <= 0) {
+            throw new IllegalArgumentException("Длина выигрышной линии должна быть положительной");
+        }
+        _lineLength = lineLength;
+        _cap = lineLength + 1;
+    }
+
+    /**
+     * Длина выигрышной линии, от которой отсчитываются шаблоны
+     *
+     * @return длина линии
+     */
+    public int lineLength() {
+        return _lineLength;
+    }
+
+    // ------------------------------- Запросы -------------------------------------
+    /**
+     * Количество серий владельца, соответствующих шаблону
+     *
+     * @param owner владелец меток
+     * @param pattern шаблон
+     * @return количество серий по всем осям
+     */
+    public int count(Player owner, LinePattern pattern) {
+        return count(_counts.get(owner), pattern);
+    }
+
+    /**
+     * Количество серий владельца, соответствующих шаблону и не содержащих скрытых меток,
+     * то есть видимых всем игрокам
+     *
+     * @param owner владелец меток
+     * @param pattern шаблон
+     * @return количество серий по всем осям
+     */
+    public int knownCount(Player owner, LinePattern pattern) {
+        return count(_knownCounts.get(owner), pattern);
+    }
+
+    /**
+     * Количество серий владельца с точной длиной и числом открытых концов
+     *
+     * @param owner владелец меток
+     * @param length длина серии от 1 до L + 1; значение L + 1 означает «длиннее L»
+     * @param openEnds число открытых концов от 0 до 2; для серий длиннее L всегда 0
+     * @return количество серий по всем осям
+     */
+    public int runCount(Player owner, int length, int openEnds) {
+        int[] counts = _counts.get(owner);
+        if (counts == null || length < 1 || length > _cap || openEnds < 0 || openEnds > 2) {
+            return 0;
+        }
+        return counts[slot(length, openEnds)];
+    }
+
+    /**
+     * Возвращает владельца, у которого есть серия, соответствующая шаблону
+     *
+     * @param pattern шаблон
+     * @return владелец серии или null, если таких серий нет
+     */
+    public Player ownerWith(LinePattern pattern) {
+        for (Map.Entry<Player, int[]> entry : _counts.entrySet()) {
+            if (count(entry.getValue(), pattern) > 0) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    private int count(int[] counts, LinePattern pattern) {
+        if (counts == null) {
+            return 0;
+        }
+        switch (pattern) {
+            case LINE: {
+                int sum = 0;
+                for (int length = _lineLength; length <= _cap; length++) {
+                    sum += counts[slot(length, 0)] + counts[slot(length, 1)] + counts[slot(length, 2)];
+                }
+                return sum;
+            }
+            case EXACT_LINE:
+                return counts[slot(_lineLength, 0)] + counts[slot(_lineLength, 1)] + counts[slot(_lineLength, 2)];
+            case OPEN_FOUR:
+                return _lineLength > 1 ? counts[slot(_lineLength - 1, 2)] : 0;
+            case CLOSED_FOUR:
+                return _lineLength > 1 ? counts[slot(_lineLength - 1, 1)] : 0;
+            case OPEN_THREE:
+                return _lineLength > 2 ? counts[slot(_lineLength - 2, 2)] : 0;
+            default:
+                return 0;
+        }
+    }
+
+    // ------------------------------ Обновление -----------------------------------
+    /**
+     * Учитывает изменение содержимого одной ячейки. Остальные ячейки читаются с поля,
+     * а содержимое изменённой ячейки до и после изменения передаётся явно, поэтому метод
+     * можно вызывать как до, так и после записи в поле
+     *
+     * @param field игровое поле
+     * @param x номер столбца изменённой ячейки
+     * @param y номер строки изменённой ячейки
+     * @param before метка в ячейке до изменения или null
+     * @param after метка в ячейке после изменения или null
+     */
+    public void update(GameField field, int x, int y, Label before, Label after) {
+        for (int axis = 0; axis < AXIS_COUNT; axis++) {
+            int dx = Direction.dx(axis);
+            int dy = Direction.dy(axis);
+            adjustAround(field, x, y, dx, dy, before, -1);
+            adjustAround(field, x, y, dx, dy, after, +1);
+        }
+    }
+
+    /**
+     * Пересчитывает индекс по всем меткам поля
+     *
+     * @param field игровое поле
+     */
+    public void rebuild(GameField field) {
+        clear();
+        for (Label label : field.labels()) {
+            int x = label.cell().x();
+            int y = label.cell().y();
+            Player owner = label.owner();
+            for (int axis = 0; axis < AXIS_COUNT; axis++) {
+                int dx = Direction.dx(axis);
+                int dy = Direction.dy(axis);
+                // Серия учитывается один раз — от своей первой ячейки
+                if (owner != ownerAt(field, x - dx, y - dy, x, y, label)) {
+                    measure(field, x, y, dx, dy, x, y, label);
+                    add(+1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Удаляет все счётчики
+     */
+    public void clear() {
+        _counts.clear();
+        _knownCounts.clear();
+    }
+
+    /**
+     * Добавляет или вычитает серии, проходящие через ячейку (x, y) и её соседей по оси,
+     * в состоянии поля, где ячейка (x, y) содержит метку center
+     */
+    private void adjustAround(GameField field, int x, int y, int dx, int dy, Label center, int sign) {
+        Player prev = ownerAt(field, x - dx, y - dy, x, y, center);
+        Player mid = center == null ? null : center.owner();
+        Player next = ownerAt(field, x + dx, y + dy, x, y, center);
+
+        if (prev != null) {
+            measure(field, x - dx, y - dy, dx, dy, x, y, center);
+            add(sign);
+        }
+        if (mid != null && mid != prev) {
+            measure(field, x, y, dx, dy, x, y, center);
+            add(sign);
+        }
+        if (next != null && next != mid) {
+            measure(field, x + dx, y + dy, dx, dy, x, y, center);
+            add(sign);
+        }
+    }
+
+    /**
+     * Измеряет серию, проходящую через ячейку (x, y) вдоль оси; ячейка (cx, cy) считается
+     * содержащей метку center. Длина серий длиннее L измеряется не дальше L + 1 ячеек
+     * в каждую сторону, и такие серии попадают в общий счётчик без открытых концов; скрытая
+     * метка ищется по всей серии, чтобы признак не зависел от ячейки, с которой начат просмотр
+     */
+    private void measure(GameField field, int x, int y, int dx, int dy, int cx, int cy, Label center) {
+        Label start = labelAt(field, x, y, cx, cy, center);
+        Player owner = start.owner();
+        boolean hidden = start instanceof HiddenLabel;
+
+        int back = 0;
+        int bx = x - dx;
+        int by = y - dy;
+        Label l;
+        while (back < _cap && (l = labelAt(field, bx, by, cx, cy, center)) != null && l.owner() == owner) {
+            hidden |= l instanceof HiddenLabel;
+            back++;
+            bx -= dx;
+            by -= dy;
+        }
+        int forward = 0;
+        int fx = x + dx;
+        int fy = y + dy;
+        while (forward < _cap && (l = labelAt(field, fx, fy, cx, cy, center)) != null && l.owner() == owner) {
+            hidden |= l instanceof HiddenLabel;
+            forward++;
+            fx += dx;
+            fy += dy;
+        }
+
+        _runOwner = owner;
+        _runLength = 1 + back + forward;
+        if (_runLength >= _cap) {
+            while (!hidden && (l = labelAt(field, bx, by, cx, cy, center)) != null && l.owner() == owner) {
+                hidden = l instanceof HiddenLabel;
+                bx -= dx;
+                by -= dy;
+            }
+            while (!hidden && (l = labelAt(field, fx, fy, cx, cy, center)) != null && l.owner() == owner) {
+                hidden = l instanceof HiddenLabel;
+                fx += dx;
+                fy += dy;
+            }
+            _runLength = _cap;
+            _runOpenEnds = 0;
+            _runHidden = hidden;
+            return;
+        }
+        _runOpenEnds = (isOpen(field, bx, by, cx, cy, center) ? 1 : 0)
+                + (isOpen(field, fx, fy, cx, cy, center) ? 1 : 0);
+        _runHidden = hidden;
+    }
+
+    private void add(int sign) {
+        int slot = slot(_runLength, _runOpenEnds);
+        counts(_counts, _runOwner)[slot] += sign;
+        if (!_runHidden) {
+            counts(_knownCounts, _runOwner)[slot] += sign;
+        }
+    }
+
+    private int[] counts(Map<Player, int[]> map, Player owner) {
+        int[] counts = map.get(owner);
+        if (counts == null) {
+            counts = new int[(_cap + 1) * 3];
+            map.put(owner, counts);
+        }
+        return counts;
+    }
+
+    private static int slot(int length, int openEnds) {
+        return length * 3 + openEnds;
+    }
+
+    private static Label labelAt(GameField field, int x, int y, int cx, int cy, Label center) {
+        if (x == cx && y == cy) {
+            return center;
+        }
+        return field.containsRange(x, y) ? field.label(x, y) : null;
+    }
+
+    private static Player ownerAt(GameField field, int x, int y, int cx, int cy, Label center) {
+        Label l = labelAt(field, x, y, cx, cy, center);
+        return l == null ? null : l.owner();
+    }
+
+    private static boolean isOpen(GameField field, int x, int y, int cx, int cy, Label center) {
+        return field.containsRange(x, y) && labelAt(field, x, y, cx, cy, center) == null;
+    }
+}
@@ -0,0 +1,83 @@
+package xzero.model.win;
+
+import xzero.model.Cell;
+import xzero.model.GameField;
+import xzero.model.Player;
+
+/**
+ * Определение победителя по индексу шаблонов поля: наличие линии проверяется чтением
+ * счётчика, а не просмотром осей. Индекс для длины линии стратегии подключается к полю
+ * заранее, через attach; сама проверка поле не меняет
+ */
+public class PatternWinDetector implements WinDetector {
+
+    private final int lineLength;
+    private final LinePattern winning;
+
+    /**
+     * Создаёт стратегию с заданной длиной выигрышной линии; линия длиннее выигрышной
+     * тоже приносит победу
+     *
+     * @param lineLength длина выигрышной линии
+     *
+     * @throws IllegalArgumentException если длина линии не положительна
+     */
+    public PatternWinDetector(int lineLength) {
+        this(lineLength, true);
+    }
+
+    /**
+     * Создаёт стратегию с заданной длиной выигрышной линии
+     *
+     * @param lineLength длина выигрышной линии
+     * @param overlineWins true, если линия длиннее выигрышной тоже приносит победу
+     *
+     * @throws IllegalArgumentException если длина линии не положительна
+     */
+    public PatternWinDetector(int lineLength, boolean overlineWins) {
+        if (lineLength <= 0) {
+            throw new IllegalArgumentException("Длина выигрышной линии должна быть положительной");
+        }
+        this.lineLength = lineLength;
+        this.winning = overlineWins ? LinePattern.LINE : LinePattern.EXACT_LINE;
+    }
+
+    /**
+     * Подключает к полю индекс шаблонов для длины линии стратегии, если подходящего
+     * индекса у поля нет
+     *
+     * @param field игровое поле
+     */
+    @Override
+    public void attach(GameField field) {
+        PatternIndex index = field.patternIndex();
+        if (index == null || index.lineLength() != lineLength) {
+            field.setPatternIndex(new PatternIndex(lineLength));
+        }
+    }
+
+    /**
+     * Проверяет линию владельца новой метки, а если ячейка хода неизвестна — линии всех владельцев
+     *
+     * @param field игровое поле
+     * @param placed ячейка, в которую только что помещена метка, или null
+     * @return победивший игрок или null, если победителя пока нет
+     *
+     * @throws IllegalStateException если к полю не подключён индекс шаблонов для длины линии стратегии
+     */
+    @Override
+    public Player winnerAfter(GameField field, Cell placed) {
+        PatternIndex index = field.patternIndex();
+        if (index == null || index.lineLength() != lineLength) {
+            throw new IllegalStateException("К полю не подключён индекс шаблонов для линии длины " + lineLength);
+        }
+
+        if (placed != null && placed.label() != null) {
+            Player owner = placed.label().owner();
+            if (index.count(owner, winning) > 0) {
+                return owner;
+            }
+        }
+        return index.ownerWith(winning);
+    }
+}
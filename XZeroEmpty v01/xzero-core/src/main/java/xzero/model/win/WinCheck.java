@@ -0,0 +1,13 @@
+package xzero.model.win;
+
+/**
+ * Способы проверки победы, из которых модель выбирает стратегию определения победителя
+ */
+public enum WinCheck {
+    /** Просмотр осей, проходящих через последний ход */
+    INCREMENTAL,
+    /** Полный просмотр поля; нужен для сверки результатов */
+    FULL_SCAN,
+    /** Чтение счётчиков индекса шаблонов, подключённого к полю */
+    PATTERN
+}
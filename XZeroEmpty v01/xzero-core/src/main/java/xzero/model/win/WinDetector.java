@@ -0,0 +1,30 @@
+package xzero.model.win;
+
+import xzero.model.Cell;
+import xzero.model.GameField;
+import xzero.model.Player;
+
+/**
+ * Стратегия определения победителя после очередного хода
+ */
+public interface WinDetector {
+
+    /**
+     * Определяет победителя после размещения метки в указанной ячейке
+     *
+     * @param field игровое поле
+     * @param placed ячейка, в которую только что помещена метка, или null, если она неизвестна
+     * @return победивший игрок или null, если победителя пока нет
+     */
+    Player winnerAfter(GameField field, Cell placed);
+
+    /**
+     * Подготавливает поле к проверкам этой стратегией; модель вызывает метод при выборе
+     * стратегии и в начале каждой партии. Стратегиям, которые читают только метки поля,
+     * подготовка не нужна
+     *
+     * @param field игровое поле
+     */
+    default void attach(GameField field) {
+    }
+}
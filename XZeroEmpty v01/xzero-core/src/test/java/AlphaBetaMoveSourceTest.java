@@ -0,0 +1,143 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import xzero.model.GameField;
+import xzero.model.Rules;
+import xzero.model.ai.AlphaBetaMoveSource;
+import xzero.model.engine.GameEngine;
+import xzero.model.engine.Move;
+import xzero.model.engine.MoveResult;
+import xzero.model.labels.LabelType;
+import xzero.model.setup.GridFieldInitializer;
+import xzero.model.simulation.RandomMoveSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AlphaBetaMoveSource: перебор с альфа-бета отсечением")
+class AlphaBetaMoveSourceTest {
+
+    private GameEngine engine;
+    private AlphaBetaMoveSource ai;
+
+    @BeforeEach
+    void setup() {
+        engine = new GameEngine();
+        engine.start();
+        ai = new AlphaBetaMoveSource(2000, 4);
+    }
+
+    @Test
+    @DisplayName("Тест №1: на пустом поле выбирается центральная ячейка")
+    void emptyBoardCenter() {
+        assertEquals(Move.place(3, 3, LabelType.NORMAL), ai.nextMove(engine));
+    }
+
+    @Test
+    @DisplayName("Тест №2: незавершённая линия из четырёх меток доводится до победы")
+    void completesOwnLine() {
+        for (int x = 1; x <= 4; x++) {
+            engine.place(x, 1);
+            engine.place(x == 4 ? 1 : x, x == 4 ? 5 : 3);
+        }
+        Move move = ai.nextMove(engine);
+        assertEquals(Move.place(5, 1, LabelType.NORMAL), move);
+        assertEquals(MoveResult.WIN, engine.apply(move));
+    }
+
+    @Test
+    @DisplayName("Тест №3: линия соперника из четырёх меток блокируется")
+    void blocksOpponentLine() {
+        for (int x = 1; x <= 3; x++) {
+            engine.place(x, 1);
+            engine.place(x, 3);
+        }
+        engine.place(4, 1);
+        assertEquals(Move.place(5, 1, LabelType.NORMAL), ai.nextMove(engine));
+    }
+
+    @Test
+    @DisplayName("Тест №4: делегированная метка соперника учитывается в линии её владельца")
+    void delegatedLabelCountsForOwner() {
+        for (int x = 1; x <= 3; x++) {
+            engine.place(x, 1);
+            if (x < 3) {
+                engine.place(x, 3);
+            }
+        }
+        engine.apply(Move.place(4, 1, LabelType.DELEGATED));
+        Move move = ai.nextMove(engine);
+        assertEquals(Move.place(5, 1, LabelType.NORMAL), move);
+        assertEquals(MoveResult.WIN, engine.apply(move));
+    }
+
+    @Test
+    @DisplayName("Тест №5: в режиме скрытых меток собственные метки ставятся скрытыми")
+    void hiddenLabelsMode() {
+        ai.setHiddenLabels(true);
+        assertEquals(LabelType.HIDDEN, ai.nextMove(engine).labelType());
+    }
+
+    @Test
+    @DisplayName("Тест №6: бюджет времени ограничивает поиск на большом поле")
+    void timeBudgetRespected() {
+        GameEngine large = new GameEngine(new GameField(), new GridFieldInitializer(19, 19));
+        large.start();
+        large.place(10, 10);
+        large.place(11, 11);
+        AlphaBetaMoveSource limited = new AlphaBetaMoveSource(50, 40);
+
+        long started = System.nanoTime();
+        Move move = limited.nextMove(large);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertTrue(elapsedMillis < 1000, "поиск занял " + elapsedMillis + " мс");
+        assertTrue(limited.lastDepth() < 40);
+        assertNotEquals(MoveResult.ILLEGAL, large.apply(move));
+    }
+
+    @Test
+    @DisplayName("Тест №7: партия против случайного игрока состоит только из допустимых ходов")
+    void playsLegalGame() {
+        RandomMoveSource random = new RandomMoveSource(7, 0.2);
+        engine.model().players().get(0).setMoveSource(ai);
+        engine.model().players().get(1).setMoveSource(random);
+
+        MoveResult result = MoveResult.CONTINUE;
+        while (result != MoveResult.WIN && !engine.isFieldFull()) {
+            result = engine.playTurn();
+            assertNotEquals(MoveResult.ILLEGAL, result);
+        }
+        assertTrue(engine.isFinished() || engine.isFieldFull());
+    }
+
+    @Test
+    @DisplayName("Тест №8: длина победной линии берётся из правил партии")
+    void lineLengthFromRules() {
+        GameEngine short4 = new GameEngine(new Rules(7, 7, 4, 1, true));
+        short4.start();
+        for (int x = 1; x <= 3; x++) {
+            short4.place(x, 1);
+            short4.place(x * 2 - 1, 7);
+        }
+        Move move = ai.nextMove(short4);
+        assertEquals(Move.place(4, 1, LabelType.NORMAL), move);
+        assertEquals(MoveResult.WIN, short4.apply(move));
+    }
+
+    @Test
+    @DisplayName("Тест №9: без победы длинной линии перебор не считает её победной")
+    void exactLineFromRules() {
+        GameEngine exact = new GameEngine(new Rules(9, 9, 5, 1, false));
+        exact.start();
+        int[][] own = { {1, 1}, {2, 1}, {3, 1}, {4, 1}, {6, 1}, {7, 2}, {7, 3}, {7, 4}, {7, 5} };
+        int[][] other = { {1, 9}, {3, 9}, {5, 9}, {7, 9}, {9, 9}, {1, 7}, {3, 7}, {5, 7}, {9, 7} };
+        for (int i = 0; i < own.length; i++) {
+            assertEquals(MoveResult.CONTINUE, exact.place(own[i][0], own[i][1]));
+            assertEquals(MoveResult.CONTINUE, exact.place(other[i][0], other[i][1]));
+        }
+        Move move = ai.nextMove(exact);
+        assertNotEquals(Move.place(5, 1, LabelType.NORMAL), move);
+        assertEquals(7, move.x());
+        assertEquals(MoveResult.WIN, exact.apply(move));
+    }
+}
@@ -0,0 +1,195 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import xzero.model.GameModel;
+import xzero.model.events.AsyncEventBus;
+import xzero.model.events.BackPressure;
+import xzero.model.events.GameEvent;
+import xzero.model.events.GameListener;
+import xzero.model.events.PlayerActionEvent;
+import xzero.model.events.PlayerActionListener;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AsyncEventBus: асинхронная доставка событий пачками")
+class AsyncEventBusTest {
+
+    private static GameEvent exchanged(String name) {
+        return new GameEvent(name);
+    }
+
+    private static List<Object> recordSources(AsyncEventBus bus) {
+        List<Object> sources = Collections.synchronizedList(new ArrayList<>());
+        bus.addGameListener(new GameListener() {
+            @Override
+            public void gameFinished(GameEvent event) {
+                sources.add(event.getSource());
+            }
+
+            @Override
+            public void playerExchanged(GameEvent event) {
+                sources.add(event.getSource());
+            }
+        });
+        return sources;
+    }
+
+    @Test
+    @DisplayName("Тест №1: события доставляются в порядке возникновения")
+    void eventsDeliveredInOrder() {
+        try (AsyncEventBus bus = new AsyncEventBus(16, 4, BackPressure.BLOCK)) {
+            List<Object> sources = recordSources(bus);
+            List<Object> expected = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                bus.playerExchanged(exchanged("e" + i));
+                expected.add("e" + i);
+            }
+            assertTrue(bus.awaitIdle(5, TimeUnit.SECONDS));
+            assertEquals(expected, sources);
+            assertEquals(0, bus.droppedCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Тест №2: медленный слушатель не задерживает поток, порождающий события")
+    void slowListenerDoesNotBlockPublisher() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        try (AsyncEventBus bus = new AsyncEventBus(4, 1, BackPressure.DROP_NEWEST)) {
+            List<Object> sources = recordSources(bus);
+            bus.addGameListener(new GameListener() {
+                @Override
+                public void gameFinished(GameEvent event) {
+                }
+
+                @Override
+                public void playerExchanged(GameEvent event) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            for (int i = 0; i < 20; i++) {
+                bus.playerExchanged(exchanged("e" + i));
+            }
+            assertTrue(bus.droppedCount() > 0);
+            release.countDown();
+            assertTrue(bus.awaitIdle(5, TimeUnit.SECONDS));
+            assertEquals("e0", sources.get(0));
+            assertEquals(20, sources.size() + bus.droppedCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Тест №3: при вытеснении старых событий доставляются последние")
+    void dropOldestKeepsNewest() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        try (AsyncEventBus bus = new AsyncEventBus(3, 3, BackPressure.DROP_OLDEST)) {
+            bus.addGameListener(new GameListener() {
+                @Override
+                public void gameFinished(GameEvent event) {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+
+                @Override
+                public void playerExchanged(GameEvent event) {
+                }
+            });
+            List<Object> sources = recordSources(bus);
+            bus.gameFinished(exchanged("first"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 10; i++) {
+                bus.playerExchanged(exchanged("e" + i));
+            }
+            assertEquals(3, bus.pendingCount());
+            assertEquals(7, bus.droppedCount());
+            release.countDown();
+            assertTrue(bus.awaitIdle(5, TimeUnit.SECONDS));
+            assertEquals(List.of("first", "e7", "e8", "e9"), sources);
+        }
+    }
+
+    @Test
+    @DisplayName("Тест №4: слушатель пачек получает все события, пачки не больше заданного размера")
+    void batchesRespectMaxSize() {
+        try (AsyncEventBus bus = new AsyncEventBus(64, 8, BackPressure.BLOCK)) {
+            List<Object> sources = new ArrayList<>();
+            List<Integer> sizes = new ArrayList<>();
+            bus.addBatchListener(events -> {
+                sizes.add(events.size());
+                events.forEach(e -> sources.add(e.getSource()));
+            });
+            for (int i = 0; i < 200; i++) {
+                bus.playerExchanged(exchanged("e" + i));
+            }
+            assertTrue(bus.awaitIdle(5, TimeUnit.SECONDS));
+            assertEquals(200, sources.size());
+            assertEquals("e199", sources.get(199));
+            assertTrue(sizes.stream().allMatch(size -> size >= 1 && size <= 8));
+        }
+    }
+
+    @Test
+    @DisplayName("Тест №5: шина, подключённая к модели, пересылает события партии")
+    void busForwardsModelEvents() {
+        GameModel model = new GameModel();
+        try (AsyncEventBus bus = new AsyncEventBus(32, 8, BackPressure.BLOCK)) {
+            model.addGameListener(bus);
+            model.addPlayerActionListener(bus);
+            List<String> log = Collections.synchronizedList(new ArrayList<>());
+            bus.addGameListener(new GameListener() {
+                @Override
+                public void gameFinished(GameEvent event) {
+                    log.add("finished " + event.player().name());
+                }
+
+                @Override
+                public void playerExchanged(GameEvent event) {
+                    log.add("turn " + event.player().name());
+                }
+            });
+            bus.addPlayerActionListener(new PlayerActionListener() {
+                @Override
+                public void labelIsPlaced(PlayerActionEvent event) {
+                    log.add("placed " + event.player().name());
+                }
+
+                @Override
+                public void labelIsReceived(PlayerActionEvent event) {
+                }
+            });
+
+            model.start();
+            model.activePlayer().setLabelTo(new Point(1, 1));
+            assertTrue(bus.awaitIdle(5, TimeUnit.SECONDS));
+            assertEquals(List.of("turn X", "placed X", "turn O"), log);
+        }
+    }
+
+    @Test
+    @DisplayName("Тест №6: закрытие доставляет принятые события и запрещает новые")
+    void closeDrainsQueue() {
+        AsyncEventBus bus = new AsyncEventBus(128, 16, BackPressure.BLOCK);
+        List<Object> sources = recordSources(bus);
+        for (int i = 0; i < 100; i++) {
+            bus.playerExchanged(exchanged("e" + i));
+        }
+        bus.close();
+        assertEquals(100, sources.size());
+        assertThrows(IllegalStateException.class, () -> bus.playerExchanged(exchanged("late")));
+        assertThrows(IllegalArgumentException.class, () -> new AsyncEventBus(0, 1, BackPressure.BLOCK));
+    }
+}
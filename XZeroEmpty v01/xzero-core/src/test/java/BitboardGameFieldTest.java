@@ -0,0 +1,163 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import xzero.model.BitboardGameField;
+import xzero.model.Cell;
+import xzero.model.GameField;
+import xzero.model.GameModel;
+import xzero.model.Player;
+import xzero.model.events.GameEvent;
+import xzero.model.events.GameListener;
+import xzero.model.factory.CellFactory;
+import xzero.model.factory.LabelFactory;
+import xzero.model.labels.Label;
+import xzero.model.labels.NormalLabel;
+import xzero.model.navigation.Direction;
+import xzero.model.setup.GridFieldInitializer;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BitboardGameField: битовые карты занятости и владельцев")
+class BitboardGameFieldTest {
+
+    private GameField makeField(int w, int h) {
+        GameField f = new BitboardGameField();
+        new GridFieldInitializer(w, h).prepare(f, new CellFactory());
+        return f;
+    }
+
+    @Test
+    @DisplayName("Тест №1: установка и чтение метки по позиции")
+    void setAndReadLabel() {
+        GameField f = makeField(70, 3);
+        Label l = new NormalLabel(new Player(f, "X"));
+        f.setLabel(new Point(65, 2), l);
+        assertSame(l, f.label(new Point(65, 2)));
+        assertNull(f.label(new Point(64, 2)));
+        assertNull(f.label(new Point(71, 2)));
+    }
+
+    @Test
+    @DisplayName("Тест №2: запрет установки за пределами поля и в занятую ячейку")
+    void setLabelRestrictions() {
+        GameField f = makeField(3, 3);
+        Player p = new Player(f, "X");
+        assertThrows(IndexOutOfBoundsException.class, () -> f.setLabel(new Point(4, 1), new NormalLabel(p)));
+        f.setLabel(new Point(1, 1), new NormalLabel(p));
+        assertThrows(IllegalStateException.class, () -> f.setLabel(new Point(1, 1), new NormalLabel(p)));
+    }
+
+    @Test
+    @DisplayName("Тест №3: labelLine учитывает владельца и границы поля")
+    void labelLineUsesOwnerBoards() {
+        GameField f = makeField(6, 6);
+        Player x = new Player(f, "X");
+        Player o = new Player(f, "O");
+        for (int i = 1; i <= 4; i++) {
+            f.setLabel(new Point(i, i), new NormalLabel(x));
+        }
+        f.setLabel(new Point(5, 5), new NormalLabel(o));
+
+        assertEquals(4, f.labelLine(new Point(1, 1), Direction.southEast()).size());
+        assertEquals(4, f.labelLine(new Point(4, 4), Direction.northWest()).size());
+        assertEquals(1, f.labelLine(new Point(5, 5), Direction.southEast()).size());
+        assertTrue(f.labelLine(new Point(6, 6), Direction.east()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Тест №4: labels() перебирает только занятые ячейки")
+    void labelsReturnsOccupiedOnly() {
+        GameField f = makeField(100, 100);
+        Player p = new Player(f, "X");
+        f.setLabel(new Point(1, 1), new NormalLabel(p));
+        f.setLabel(new Point(100, 100), new NormalLabel(p));
+
+        List<Label> labels = f.labels();
+        assertEquals(2, labels.size());
+        assertThrows(UnsupportedOperationException.class, () -> labels.add(new NormalLabel(p)));
+    }
+
+    @Test
+    @DisplayName("Тест №5: удаление метки из ячейки сбрасывает биты")
+    void removeLabelClearsBits() {
+        GameField f = makeField(3, 3);
+        Player p = new Player(f, "X");
+        Label l = new NormalLabel(p);
+        f.setLabel(new Point(2, 2), l);
+
+        Cell cell = l.cell();
+        cell.removeLabel();
+
+        assertNull(f.label(new Point(2, 2)));
+        assertTrue(f.labels().isEmpty());
+        assertDoesNotThrow(() -> f.setLabel(new Point(2, 2), new NormalLabel(p)));
+    }
+
+    @Test
+    @DisplayName("Тест №6: setSize сохраняет ячейки и метки в новых границах")
+    void setSizeKeepsCellsInRange() {
+        GameField f = makeField(4, 4);
+        Player p = new Player(f, "X");
+        f.setLabel(new Point(2, 3), new NormalLabel(p));
+        f.setLabel(new Point(4, 4), new NormalLabel(p));
+
+        f.setSize(3, 3);
+
+        assertNotNull(f.label(new Point(2, 3)));
+        assertEquals(1, f.labels().size());
+        assertThrows(IndexOutOfBoundsException.class, () -> f.setLabel(new Point(4, 4), new NormalLabel(p)));
+    }
+
+    @Test
+    @DisplayName("Тест №7: clear очищает ячейки и метки")
+    void clearRemovesEverything() {
+        GameField f = makeField(2, 2);
+        f.setLabel(new Point(1, 1), new NormalLabel(new Player(f, "X")));
+        f.clear();
+        assertTrue(f.labels().isEmpty());
+        assertThrows(IllegalStateException.class,
+                () -> f.setLabel(new Point(1, 1), new NormalLabel(new Player(f, "X"))));
+    }
+
+    @Test
+    @DisplayName("Тест №8: модель игры определяет победителя на битовом поле")
+    void gameModelWorksOnBitboardField() {
+        GameModel model = new GameModel(new BitboardGameField(), new CellFactory(), new LabelFactory(),
+                new GridFieldInitializer(9, 9));
+        AtomicReference<Player> winnerRef = new AtomicReference<>();
+        model.addGameListener(new GameListener() {
+            public void gameFinished(GameEvent event) { winnerRef.set(event.player()); }
+            public void playerExchanged(GameEvent event) {}
+        });
+        model.start();
+
+        for (int y = 1; y <= 5; y++) {
+            model.activePlayer().setLabelTo(new Point(3, y));
+            if (y < 5) {
+                model.activePlayer().setLabelTo(new Point(4, y));
+            }
+        }
+
+        assertNotNull(winnerRef.get());
+        assertEquals("X", winnerRef.get().name());
+    }
+
+    @Test
+    @DisplayName("Тест №9: clearLabels снимает метки и очищает битовые карты, сохраняя ячейки")
+    void clearLabelsResetsBits() {
+        GameField f = makeField(4, 4);
+        Player p = new Player(f, "X");
+        f.setLabel(1, 1, new NormalLabel(p));
+        f.setLabel(4, 4, new NormalLabel(p));
+
+        f.clearLabels();
+
+        assertTrue(f.labels().isEmpty());
+        assertNull(f.label(1, 1));
+        assertTrue(f.isFilled());
+        assertTrue(f.labelLine(4, 4, Direction.byIndex(0)).isEmpty());
+    }
+}
@@ -0,0 +1,169 @@
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import xzero.model.BitboardGameField;
+import xzero.model.BoardSnapshot;
+import xzero.model.GameField;
+import xzero.model.GameModel;
+import xzero.model.GamePosition;
+import xzero.model.Player;
+import xzero.model.Rules;
+import xzero.model.SparseGameField;
+import xzero.model.engine.GameEngine;
+import xzero.model.factory.CellFactory;
+import xzero.model.factory.LabelFactory;
+import xzero.model.engine.Move;
+import xzero.model.labels.DelegatedLabel;
+import xzero.model.labels.LabelType;
+import xzero.model.setup.GridFieldInitializer;
+import xzero.model.setup.SparseFieldInitializer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BoardSnapshot: неизменяемые снимки расстановки меток")
+class BoardSnapshotTest {
+
+    private GameEngine engine;
+    private List<Player> players;
+
+    @BeforeEach
+    void setup() {
+        engine = new GameEngine(new BitboardGameField(), new GridFieldInitializer(5, 5));
+        engine.start();
+        players = engine.model().players();
+    }
+
+    @Test
+    @DisplayName("Тест №1: снимок хранит владельца, автора и тип каждой метки")
+    void snapshotEncodesLabels() {
+        engine.place(1, 1);
+        engine.apply(Move.place(2, 2, LabelType.DELEGATED));
+        engine.apply(Move.place(3, 3, LabelType.HIDDEN));
+
+        BoardSnapshot snapshot = BoardSnapshot.of(engine.field(), players);
+
+        assertEquals(3, snapshot.labelCount());
+        assertEquals(0, snapshot.owner(1, 1));
+        assertEquals(LabelType.NORMAL, snapshot.labelType(1, 1));
+        assertEquals(0, snapshot.owner(2, 2));
+        assertEquals(1, snapshot.placedBy(2, 2));
+        assertEquals(LabelType.DELEGATED, snapshot.labelType(2, 2));
+        assertEquals(LabelType.HIDDEN, snapshot.labelType(3, 3));
+        assertTrue(snapshot.isEmpty(5, 5));
+        assertEquals(-1, snapshot.owner(5, 5));
+        assertNull(snapshot.labelType(5, 5));
+    }
+
+    @Test
+    @DisplayName("Тест №2: снимок с ходом не меняет исходный снимок")
+    void withLabelIsCopyOnWrite() {
+        BoardSnapshot empty = BoardSnapshot.empty(5, 5);
+        BoardSnapshot next = empty.withLabel(2, 4, 1, 1, LabelType.NORMAL);
+
+        assertTrue(empty.isEmpty(2, 4));
+        assertEquals(0, empty.labelCount());
+        assertEquals(1, next.owner(2, 4));
+        assertEquals(1, next.labelCount());
+        assertEquals(empty, next.withoutLabel(2, 4));
+        assertSame(next, next.withoutLabel(1, 1));
+        assertThrows(IllegalArgumentException.class, () -> next.withLabel(2, 4, 0, 0, LabelType.NORMAL));
+        assertThrows(IllegalArgumentException.class, () -> next.withLabel(6, 1, 0, 0, LabelType.NORMAL));
+    }
+
+    @Test
+    @DisplayName("Тест №3: снимок, снятый с поля, равен снимку, собранному по тем же ходам")
+    void snapshotEqualsDerived() {
+        engine.place(1, 1);
+        engine.place(5, 5);
+
+        BoardSnapshot derived = BoardSnapshot.empty(5, 5)
+                .withLabel(1, 1, 0, 0, LabelType.NORMAL)
+                .withLabel(5, 5, 1, 1, LabelType.NORMAL);
+
+        BoardSnapshot taken = BoardSnapshot.of(engine.field(), players);
+        assertEquals(derived, taken);
+        assertEquals(derived.hashCode(), taken.hashCode());
+    }
+
+    @Test
+    @DisplayName("Тест №4: восстановление возвращает поле к расстановке снимка")
+    void restoreRoundTrip() {
+        engine.place(1, 1);
+        engine.apply(Move.place(2, 1, LabelType.DELEGATED));
+        BoardSnapshot saved = BoardSnapshot.of(engine.field(), players);
+
+        engine.place(3, 3);
+        engine.place(4, 4);
+        saved.restoreInto(engine.field(), players);
+
+        assertEquals(saved, BoardSnapshot.of(engine.field(), players));
+        assertNull(engine.field().label(3, 3));
+        assertInstanceOf(DelegatedLabel.class, engine.field().label(2, 1));
+        assertSame(players.get(0), engine.field().label(2, 1).owner());
+        assertSame(players.get(1), engine.field().label(2, 1).getPlacedBy());
+        assertEquals(2, engine.field().labels().size());
+    }
+
+    @Test
+    @DisplayName("Тест №5: снимок переносится на поле другой реализации того же размера")
+    void restoreIntoOtherField() {
+        engine.place(2, 3);
+        BoardSnapshot saved = BoardSnapshot.of(engine.field(), players);
+
+        GameField plain = new GameField();
+        new GridFieldInitializer(5, 5).prepare(plain, new CellFactory());
+        saved.restoreInto(plain, players);
+
+        assertSame(players.get(0), plain.label(2, 3).owner());
+        assertEquals(saved, BoardSnapshot.of(plain, players));
+        assertThrows(IllegalArgumentException.class,
+                () -> BoardSnapshot.empty(4, 4).restoreInto(plain, players));
+    }
+
+    @Test
+    @DisplayName("Тест №6: номера всех восьми игроков помещаются в упакованную ячейку")
+    void eightPlayersFitIntoCell() {
+        GameEngine big = new GameEngine(Rules.standard().withBoardSize(9, 2).withPlayerCount(Rules.MAX_PLAYERS));
+        big.start();
+        for (int i = 0; i < Rules.MAX_PLAYERS; i++) {
+            big.place(i + 1, 1);
+        }
+        BoardSnapshot snapshot = BoardSnapshot.of(big.field(), big.model().players());
+        assertEquals(Rules.MAX_PLAYERS, BoardSnapshot.MAX_PLAYERS);
+        assertEquals(7, snapshot.owner(8, 1));
+        assertEquals(7, snapshot.placedBy(8, 1));
+        assertEquals(LabelType.NORMAL, snapshot.labelType(8, 1));
+        assertEquals(0, snapshot.owner(1, 1));
+        assertTrue(snapshot.isEmpty(9, 1));
+    }
+
+    @Test
+    @DisplayName("Тест №7: снимок и позиция партии на неограниченном поле хранят отрицательные координаты")
+    void sparseFieldSnapshot() {
+        GameModel sparse = new GameModel(new SparseGameField(), new CellFactory(), new LabelFactory(),
+                new SparseFieldInitializer());
+        sparse.start();
+        sparse.activePlayer().setLabelTo(-5, -7);
+        sparse.activePlayer().setLabelTo(3, 4);
+
+        GamePosition position = sparse.position();
+        BoardSnapshot snapshot = position.board();
+        assertEquals(0, snapshot.owner(-5, -7));
+        assertEquals(1, snapshot.owner(3, 4));
+        assertTrue(snapshot.isEmpty(0, 0));
+        assertEquals(snapshot, BoardSnapshot.of(sparse.field(), sparse.players()));
+        assertEquals(snapshot.hashCode(), BoardSnapshot.of(sparse.field(), sparse.players()).hashCode());
+
+        sparse.activePlayer().setLabelTo(-6, -7);
+        sparse.activePlayer().setLabelTo(100, 100);
+        sparse.restore(position);
+        assertNull(sparse.field().label(-6, -7));
+        assertNull(sparse.field().label(100, 100));
+        assertNotNull(sparse.field().label(-5, -7));
+        assertEquals(2, sparse.field().labels().size());
+
+        assertThrows(IllegalArgumentException.class, () -> snapshot.restoreInto(engine.field(), players));
+    }
+}
@@ -86,4 +86,37 @@ class DirectionTest {
         Direction base = Direction.southEast();
         assertEquals(base.anticlockwise(), base.leftword());
     }
+
+    @Test
+    @DisplayName("Тест №11: направления и смещения не создаются заново")
+    void directionsAreInterned() {
+        assertSame(Direction.north(), Direction.north());
+        assertSame(Direction.northEast(), Direction.north().clockwise());
+        assertSame(Direction.south(), Direction.north().opposite());
+        assertSame(Direction.east().shift(), Direction.east().shift());
+        assertSame(Direction.west(), Direction.west().clone());
+    }
+
+    @Test
+    @DisplayName("Тест №12: таблицы смещений совпадают со смещениями направлений")
+    void deltaTablesMatchShifts() {
+        for (int i = 0; i < Direction.count(); i++) {
+            Direction d = Direction.byIndex(i);
+            assertEquals(i, d.index());
+            assertEquals(d.shift().byHorizontal(), Direction.dx(i));
+            assertEquals(d.shift().byVertical(), Direction.dy(i));
+            assertEquals(d.dx(), Direction.dx(i));
+            assertEquals(d.dy(), Direction.dy(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Тест №13: восемь поворотов по часовой стрелке возвращают исходное направление")
+    void fullTurnReturnsToStart() {
+        Direction d = Direction.southWest();
+        for (int i = 0; i < Direction.count(); i++) {
+            d = d.rightword();
+        }
+        assertSame(Direction.southWest(), d);
+    }
 }
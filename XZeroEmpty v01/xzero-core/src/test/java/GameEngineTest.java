@@ -0,0 +1,151 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import xzero.model.BitboardGameField;
+import xzero.model.GameField;
+import xzero.model.Player;
+import xzero.model.engine.GameEngine;
+import xzero.model.engine.Move;
+import xzero.model.engine.MoveResult;
+import xzero.model.labels.LabelType;
+import xzero.model.setup.GridFieldInitializer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GameEngine: ходы без интерфейса и синхронные результаты")
+class GameEngineTest {
+
+    private GameEngine engine;
+
+    @BeforeEach
+    void setup() {
+        engine = new GameEngine();
+        engine.start();
+    }
+
+    @Test
+    @DisplayName("Тест №1: обычный ход продолжает игру и передаёт ход")
+    void placeContinuesGame() {
+        Player first = engine.activePlayer();
+        assertEquals(MoveResult.CONTINUE, engine.place(1, 1));
+        assertNotSame(first, engine.activePlayer());
+        assertEquals(1, engine.moveCount());
+    }
+
+    @Test
+    @DisplayName("Тест №2: занятая ячейка и позиция вне поля отклоняются без исключений")
+    void illegalPlacementRejected() {
+        engine.place(1, 1);
+        Player active = engine.activePlayer();
+        assertEquals(MoveResult.ILLEGAL, engine.place(1, 1));
+        assertEquals(MoveResult.ILLEGAL, engine.place(6, 1));
+        assertSame(active, engine.activePlayer());
+        assertEquals(1, engine.moveCount());
+    }
+
+    @Test
+    @DisplayName("Тест №3: линия из пяти меток завершает партию")
+    void winReported() {
+        for (int x = 1; x <= 4; x++) {
+            assertEquals(MoveResult.CONTINUE, engine.place(x, 1));
+            assertEquals(MoveResult.CONTINUE, engine.place(x, 2));
+        }
+        assertEquals(MoveResult.WIN, engine.place(5, 1));
+        assertTrue(engine.isFinished());
+        assertEquals("X", engine.winner().name());
+        assertThrows(IllegalStateException.class, () -> engine.place(5, 5));
+        assertThrows(IllegalStateException.class, () -> engine.pass());
+    }
+
+    @Test
+    @DisplayName("Тест №4: пас расходует лимит, повторный пас отклоняется")
+    void passLimit() {
+        Player first = engine.activePlayer();
+        assertEquals(MoveResult.CONTINUE, engine.pass());
+        engine.place(1, 1);
+        assertSame(first, engine.activePlayer());
+        assertEquals(MoveResult.ILLEGAL, engine.pass());
+    }
+
+    @Test
+    @DisplayName("Тест №5: выбор делегированной метки ставит метку сопернику")
+    void selectLabelType() {
+        Player first = engine.activePlayer();
+        engine.selectLabelType(LabelType.DELEGATED);
+        engine.place(2, 2);
+        assertNotSame(first, engine.field().label(2, 2).owner());
+    }
+
+    @Test
+    @DisplayName("Тест №6: новая партия сбрасывает победителя и счётчик ходов")
+    void restartResetsState() {
+        GameEngine big = new GameEngine(new BitboardGameField(), new GridFieldInitializer(20, 20));
+        big.start();
+        for (int y = 1; y <= 4; y++) {
+            big.place(10, y);
+            big.place(11, y);
+        }
+        assertEquals(MoveResult.WIN, big.place(10, 5));
+
+        big.start();
+        assertFalse(big.isFinished());
+        assertNull(big.winner());
+        assertEquals(0, big.moveCount());
+        assertNull(big.field().label(10, 5));
+    }
+
+    @Test
+    @DisplayName("Тест №7: отмена и повтор поддерживают счётчики ходов")
+    void undoRedoKeepsCounters() {
+        engine.place(1, 1);
+        engine.pass();
+        assertEquals(2, engine.moveCount());
+
+        assertTrue(engine.undo());
+        assertTrue(engine.undo());
+        assertFalse(engine.undo());
+        assertEquals(0, engine.moveCount());
+
+        assertEquals(MoveResult.CONTINUE, engine.redo());
+        assertEquals(MoveResult.CONTINUE, engine.redo());
+        assertEquals(MoveResult.ILLEGAL, engine.redo());
+        assertEquals(2, engine.moveCount());
+        assertNotNull(engine.field().label(1, 1));
+    }
+
+    @Test
+    @DisplayName("Тест №8: недопустимый ход не меняет выбранный тип метки")
+    void illegalMoveKeepsLabelType() {
+        engine.place(1, 1);
+        Player active = engine.activePlayer();
+
+        assertEquals(MoveResult.ILLEGAL, engine.apply(Move.place(1, 1, LabelType.DELEGATED)));
+        assertEquals(MoveResult.ILLEGAL, engine.apply(Move.place(0, 9, LabelType.DELEGATED)));
+        assertSame(active, engine.activePlayer());
+        assertEquals(LabelType.NORMAL, engine.model().activeLabelType());
+    }
+
+    @Test
+    @DisplayName("Тест №9: позиция без ячейки отклоняется как недопустимый ход")
+    void missingCellRejected() {
+        GameEngine holed = new GameEngine(new GameField(), (field, cells) -> {
+            field.clear();
+            field.setSize(5, 5);
+            for (int y = 1; y <= 5; y++) {
+                for (int x = 1; x <= 5; x++) {
+                    if (x != 3 || y != 3) {
+                        field.setCell(x, y, cells.createCell());
+                    }
+                }
+            }
+        });
+        holed.start();
+        Player active = holed.activePlayer();
+
+        assertEquals(MoveResult.ILLEGAL, holed.place(3, 3));
+        assertEquals(MoveResult.ILLEGAL, holed.apply(Move.place(3, 3, LabelType.DELEGATED)));
+        assertSame(active, holed.activePlayer());
+        assertEquals(0, holed.moveCount());
+        assertEquals(MoveResult.CONTINUE, holed.place(2, 3));
+    }
+}
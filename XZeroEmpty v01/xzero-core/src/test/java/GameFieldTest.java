@@ -3,12 +3,17 @@ import org.junit.jupiter.api.Test;
 import xzero.model.Cell;
 import xzero.model.GameField;
 import xzero.model.Player;
+import xzero.model.factory.CellFactory;
 import xzero.model.labels.Label;
 import xzero.model.labels.NormalLabel;
 import xzero.model.navigation.Direction;
+import xzero.model.setup.GridFieldInitializer;
 
 import java.awt.Point;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -266,4 +271,236 @@ class GameFieldTest {
         assertEquals(2, labels.size());
         assertTrue(labels.stream().allMatch(l -> l.owner().equals(p)));
     }
+
+    @Test
+    @DisplayName("Тест №22: перегрузки с координатами и индексом адресуют ту же ячейку")
+    void primitiveOverloadsMatchPointApi() {
+        GameField f = makeField(4, 3);
+        Player p = new Player(f, "X");
+        Label l = labelFor(f, p);
+        f.setLabel(3, 2, l);
+
+        int index = f.index(3, 2);
+        assertEquals(6, index);
+        assertEquals(3, f.x(index));
+        assertEquals(2, f.y(index));
+        assertSame(l, f.label(new Point(3, 2)));
+        assertSame(l, f.label(3, 2));
+        assertSame(l, f.label(index));
+        assertTrue(f.containsIndex(index));
+        assertFalse(f.containsIndex(12));
+        assertFalse(f.containsRange(5, 1));
+    }
+
+    @Test
+    @DisplayName("Тест №23: установка метки по индексу и линия от индекса")
+    void setLabelByIndexAndLine() {
+        GameField f = makeField(4, 1);
+        Player p = new Player(f, "X");
+        for (int x = 1; x <= 3; x++) {
+            f.setLabel(f.index(x, 1), labelFor(f, p));
+        }
+        assertEquals(3, f.labelLine(0, Direction.east()).size());
+        assertEquals(3, f.labelLine(3, 1, Direction.west()).size());
+        assertThrows(IndexOutOfBoundsException.class, () -> f.setLabel(4, labelFor(f, p)));
+        assertThrows(IndexOutOfBoundsException.class, () -> f.setLabel(0, 1, labelFor(f, p)));
+    }
+
+    @Test
+    @DisplayName("Тест №24: setCell за пределами поля запрещён")
+    void setCellOutOfRange() {
+        GameField f = makeField(2, 2);
+        assertThrows(IndexOutOfBoundsException.class, () -> f.setCell(3, 1, new Cell()));
+    }
+
+    @Test
+    @DisplayName("Тест №25: setSize сохраняет метки в пределах новых границ")
+    void setSizeKeepsCellsInRange() {
+        GameField f = makeField(3, 3);
+        Label l = labelFor(f, new Player(f, "X"));
+        f.setLabel(2, 2, l);
+        f.setSize(2, 4);
+        assertSame(l, f.label(2, 2));
+        assertNull(f.label(2, 4));
+    }
+
+    @Test
+    @DisplayName("Тест №26: clearLabels снимает метки, поставленные, снятые и поставленные вновь")
+    void clearLabelsAfterRepeatedPlacement() {
+        GameField f = new GameField();
+        new GridFieldInitializer(3, 3).prepare(f, new CellFactory());
+        Player p = new Player(f, "X");
+        for (int i = 0; i < 40; i++) {
+            Label label = new NormalLabel(p);
+            f.setLabel(2, 2, label);
+            label.cell().removeLabel();
+        }
+        f.setLabel(2, 2, new NormalLabel(p));
+        f.setLabel(1, 3, new NormalLabel(p));
+
+        f.clearLabels();
+
+        assertTrue(f.labels().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Тест №27: isFilled истинно только когда ячейки есть во всех позициях")
+    void isFilledTracksCells() {
+        GameField f = new GameField();
+        f.setSize(2, 1);
+        assertFalse(f.isFilled());
+        f.setCell(1, 1, new Cell());
+        assertFalse(f.isFilled());
+        f.setCell(2, 1, new Cell());
+        assertTrue(f.isFilled());
+        f.setSize(1, 1);
+        assertTrue(f.isFilled());
+        f.clear();
+        assertFalse(f.isFilled());
+    }
+
+    @Test
+    @DisplayName("Тест №28: labelsOf возвращает метки владельца и следит за установкой и снятием меток")
+    void labelsOfFollowsChanges() {
+        GameField f = makeField(4, 4);
+        Player x = new Player(f, "X");
+        Player o = new Player(f, "O");
+        Label a = labelFor(f, x);
+        Label b = labelFor(f, x);
+        f.setLabel(1, 1, a);
+        f.setLabel(4, 4, b);
+        f.setLabel(2, 2, labelFor(f, o));
+
+        assertEquals(2, f.labelCountOf(x));
+        assertEquals(List.of(a, b), f.labelsOf(x));
+        List<Label> before = f.labelsOf(x);
+
+        a.cell().removeLabel();
+        assertEquals(List.of(b), f.labelsOf(x));
+        assertEquals(2, before.size());
+        assertEquals(1, f.labelCountOf(o));
+        assertThrows(UnsupportedOperationException.class, () -> f.labelsOf(x).add(a));
+    }
+
+    @Test
+    @DisplayName("Тест №29: индекс владельцев учитывает замену ячеек, изменение размеров и очистку поля")
+    void labelIndexFollowsCells() {
+        GameField f = makeField(3, 3);
+        Player p = new Player(f, "X");
+        f.setLabel(3, 3, labelFor(f, p));
+        f.setLabel(1, 1, labelFor(f, p));
+
+        Cell filled = new Cell();
+        filled.placeLabel(labelFor(f, p));
+        f.setCell(2, 2, filled);
+        f.setCell(1, 1, new Cell());
+        assertEquals(2, f.labelCountOf(p));
+
+        f.setSize(2, 2);
+        assertEquals(List.of(filled.label()), f.labelsOf(p));
+
+        f.clear();
+        assertEquals(0, f.labelCountOf(p));
+        assertTrue(f.labelsOf(p).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Тест №30: forEachLabelOf перебирает метки владельца без построения списка")
+    void forEachLabelOfVisitsOwnLabels() {
+        GameField f = makeField(3, 1);
+        Player x = new Player(f, "X");
+        Player o = new Player(f, "O");
+        f.setLabel(1, 1, labelFor(f, x));
+        f.setLabel(2, 1, labelFor(f, o));
+        f.setLabel(3, 1, labelFor(f, x));
+
+        int[] visited = new int[1];
+        f.forEachLabelOf(x, label -> {
+            assertSame(x, label.owner());
+            visited[0]++;
+        });
+        assertEquals(2, visited[0]);
+
+        Cell detached = new Cell();
+        detached.setField(f);
+        detached.placeLabel(labelFor(f, x));
+        assertEquals(2, f.labelCountOf(x));
+    }
+
+    @Test
+    @DisplayName("Тест №31: labels возвращает снимок, который не меняется при последующих ходах")
+    void labelsSnapshotIsStable() {
+        GameField f = makeField(3, 3);
+        Player p = new Player(f, "X");
+        f.setLabel(1, 1, labelFor(f, p));
+        List<Label> first = f.labels();
+        assertSame(first, f.labels());
+
+        f.setLabel(2, 2, labelFor(f, p));
+        List<Label> second = f.labels();
+        f.label(1, 1).cell().removeLabel();
+
+        assertEquals(1, first.size());
+        assertEquals(2, second.size());
+        assertEquals(1, f.labels().size());
+    }
+
+    @Test
+    @DisplayName("Тест №32: labels можно читать из другого потока во время установки меток")
+    void labelsReadConcurrently() throws Exception {
+        GameField f = makeField(40, 40);
+        Player p = new Player(f, "X");
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread reader = new Thread(() -> {
+            try {
+                int last = 0;
+                while (!done.get()) {
+                    List<Label> labels = f.labels();
+                    assertTrue(labels.size() >= last);
+                    assertTrue(labels.stream().allMatch(l -> l != null && l.owner() == p));
+                    last = labels.size();
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        reader.start();
+        for (int y = 1; y <= 40; y++) {
+            for (int x = 1; x <= 40; x++) {
+                f.setLabel(x, y, labelFor(f, p));
+            }
+        }
+        done.set(true);
+        reader.join();
+
+        assertNull(failure.get());
+        assertEquals(1600, f.labels().size());
+    }
+
+    @Test
+    @DisplayName("Тест №33: ячейка покидает индекс меток раньше, чем из неё снимается метка")
+    void cellLeavesIndexBeforeLabelRemoved() {
+        GameField f = makeField(3, 3);
+        Player p = new Player(f, "X");
+        f.setLabel(1, 1, labelFor(f, p));
+        AtomicReference<List<Label>> seen = new AtomicReference<>();
+        AtomicInteger seenCount = new AtomicInteger();
+        Label probe = new NormalLabel(p) {
+            @Override
+            public void unsetCell() {
+                seen.set(f.labels());
+                seenCount.set(f.labelCountOf(p));
+                super.unsetCell();
+            }
+        };
+        f.setLabel(2, 2, probe);
+
+        f.label(2, 2).cell().removeLabel();
+
+        assertEquals(1, seenCount.get());
+        assertEquals(1, seen.get().size());
+        assertNotNull(seen.get().get(0));
+    }
 }
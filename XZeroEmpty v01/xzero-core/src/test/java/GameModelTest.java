@@ -0,0 +1,632 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import xzero.model.BoardSnapshot;
+import xzero.model.GameField;
+import xzero.model.GameModel;
+import xzero.model.GamePosition;
+import xzero.model.Player;
+import xzero.model.Rules;
+import xzero.model.engine.GameEngine;
+import xzero.model.events.GameEvent;
+import xzero.model.events.GameListener;
+import xzero.model.events.PlayerActionEvent;
+import xzero.model.events.PlayerActionListener;
+import xzero.model.factory.CellFactory;
+import xzero.model.factory.LabelFactory;
+import xzero.model.labels.Label;
+import xzero.model.labels.LabelType;
+import xzero.model.labels.SecretLabel;
+import xzero.model.setup.GridFieldInitializer;
+import xzero.model.turn.OpponentPolicy;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GameModel: старт, очередность ходов, события, пас и победа")
+class GameModelTest {
+
+    private GameModel model;
+
+    @BeforeEach
+    void setup() {
+        model = new GameModel();
+        model.start();
+    }
+
+    @Test
+    @DisplayName("Тест №1: после старта активный игрок получает метку нужного типа")
+    void activePlayerGetsLabelOnStart() {
+        Label label = model.activePlayer().activeLabel();
+        assertNotNull(label);
+        assertEquals(model.activePlayer(), label.owner());
+        assertEquals(model.activePlayer().name(), label.symbol());
+    }
+
+    @Test
+    @DisplayName("Тест №2: событие playerExchanged приходит при старте")
+    void playerExchangedOnStart() {
+        AtomicReference<Player> last = new AtomicReference<>();
+        model.addGameListener(new GameListener() {
+            public void gameFinished(GameEvent event) {}
+            public void playerExchanged(GameEvent event) { last.set(event.player()); }
+        });
+        model.start();
+        assertNotNull(last.get());
+    }
+
+    @Test
+    @DisplayName("Тест №3: после установки метки ход переходит другому игроку")
+    void turnChangesAfterPlacement() {
+        Player first = model.activePlayer();
+        Point p = new Point(1, 1);
+        model.activePlayer().setLabelTo(p);
+        Player second = model.activePlayer();
+        assertNotSame(first, second);
+        assertNotNull(model.activePlayer().activeLabel());
+    }
+
+    @Test
+    @DisplayName("Тест №4: пас отдаёт ход противнику с его типом метки")
+    void passGivesOpponentLabelWithOwnType() {
+        // Передаём ход первому игроку сопернику и настраиваем его тип метки
+        model.activePlayer().setLabelTo(new Point(1, 1)); // переходим ко второму игроку
+        model.setActiveLabelType(LabelType.HIDDEN);
+        Label opponentLabel = model.activePlayer().activeLabel();
+
+        model.passTurn(); // ход возвращается первому игроку
+
+        assertEquals("?", opponentLabel.symbol());
+        assertEquals("X", model.activePlayer().activeLabel().symbol());
+        assertEquals(model.activePlayer(), model.activePlayer().activeLabel().owner());
+    }
+
+    @Test
+    @DisplayName("Тест №5: пас уменьшает лимит и второй пас с тем же игроком запрещён")
+    void passLimitEnforced() {
+        Player p = model.activePlayer();
+
+        model.passTurn();
+        model.activePlayer().setLabelTo(new Point(1, 1));
+
+        assertSame(p, model.activePlayer());
+        assertThrows(IllegalStateException.class, () -> model.passTurn());
+    }
+
+    @Test
+    @DisplayName("Тест №6: лимит паса сбрасывается при новой игре")
+    void passLimitResetsOnNewGame() {
+        model.passTurn();
+        model.start();
+        assertDoesNotThrow(() -> model.passTurn());
+    }
+
+    @Test
+    @DisplayName("Тест №7: событие labelIsReceived проксируется активному игроку")
+    void labelIsReceivedProxied() {
+        AtomicInteger cnt = new AtomicInteger();
+        model.addPlayerActionListener(new PlayerActionListener() {
+            public void labelIsPlaced(PlayerActionEvent event) {}
+            public void labelIsReceived(PlayerActionEvent event) { cnt.incrementAndGet(); }
+        });
+        model.start();
+        assertTrue(cnt.get() >= 1);
+    }
+
+    @Test
+    @DisplayName("Тест №8: событие labelisPlaced проксируется при ходе активного игрока")
+    void labelIsPlacedProxied() {
+        AtomicInteger cnt = new AtomicInteger();
+        model.addPlayerActionListener(new PlayerActionListener() {
+            public void labelIsPlaced(PlayerActionEvent event) { cnt.incrementAndGet(); }
+            public void labelIsReceived(PlayerActionEvent event) {}
+        });
+        model.activePlayer().setLabelTo(new Point(1, 1));
+        assertEquals(1, cnt.get());
+    }
+
+    @Test
+    @DisplayName("Тест №9: победа фиксируется при линии из 5 меток")
+    void winnerDetected() {
+        AtomicReference<Player> winnerRef = new AtomicReference<>();
+        model.addGameListener(new GameListener() {
+            public void gameFinished(GameEvent event) { winnerRef.set(event.player()); }
+            public void playerExchanged(GameEvent event) {}
+        });
+
+        for (int x = 1; x <= 5; x++) {
+            Player cur = model.activePlayer();
+            cur.setLabelTo(new Point(x, 1));
+            if (x < 5) {
+                model.activePlayer().setLabelTo(new Point(x, 2));
+            }
+        }
+        assertNotNull(winnerRef.get());
+    }
+
+    @Test
+    @DisplayName("Тест №10: защита от паса без активной метки")
+    void passWithoutActiveLabelThrows() {
+        model.activePlayer().takeActiveLabel();
+        assertThrows(IllegalStateException.class, () -> model.passTurn());
+    }
+
+    @Test
+    @DisplayName("Тест №11: выбор скрытого типа метки обновляет активную метку")
+    void setActiveLabelTypeUpdatesLabel() {
+        model.setActiveLabelType(LabelType.HIDDEN);
+        Label label = model.activePlayer().activeLabel();
+        assertEquals("?", label.symbol());
+        assertEquals(model.activePlayer(), label.owner());
+    }
+
+    @Test
+    @DisplayName("Тест №12: метод passesLeftFor возвращает актуальный остаток")
+    void passesLeftForReturnsActualValue() {
+        Player p = model.activePlayer();
+        assertEquals(1, model.passesLeftFor(p));
+        model.passTurn();
+        model.activePlayer().setLabelTo(new Point(1, 1));
+        assertEquals(0, model.passesLeftFor(p));
+    }
+
+    @Test
+    @DisplayName("Тест №13: выбор типа метки привязан к игроку и сохраняется между ходами")
+    void labelTypeStoredPerPlayer() {
+        model.setActiveLabelType(LabelType.HIDDEN);
+        assertEquals(LabelType.HIDDEN, model.activeLabelType());
+
+        model.activePlayer().setLabelTo(new Point(1, 1)); // переходим к другому игроку
+        assertEquals(LabelType.NORMAL, model.activeLabelType());
+
+        model.activePlayer().setLabelTo(new Point(2, 1)); // возвращаемся к первому
+        assertEquals(LabelType.HIDDEN, model.activeLabelType());
+        assertEquals("?", model.activePlayer().activeLabel().symbol());
+    }
+
+    @Test
+    @DisplayName("Тест №14: setActiveLabelType не принимает null")
+    void cannotSetNullLabelType() {
+        assertThrows(IllegalArgumentException.class, () -> model.setActiveLabelType(null));
+    }
+
+    @Test
+    @DisplayName("Тест №15: passesLeftFor возвращает 0 для неизвестного игрока")
+    void passesLeftForUnknownPlayerIsZero() {
+        assertEquals(0, model.passesLeftFor(new Player(model.field(), "Z")));
+    }
+
+    @Test
+    @DisplayName("Тест №16: старт сбрасывает выбранные типы меток обоих игроков")
+    void startResetsLabelTypes() {
+        model.setActiveLabelType(LabelType.HIDDEN);
+        model.activePlayer().setLabelTo(new Point(1, 1));
+        model.setActiveLabelType(LabelType.DELEGATED);
+
+        model.start();
+
+        assertEquals(LabelType.NORMAL, model.activeLabelType());
+        assertEquals(model.activePlayer(), model.activePlayer().activeLabel().owner());
+        model.activePlayer().setLabelTo(new Point(1, 2));
+        assertEquals(LabelType.NORMAL, model.activeLabelType());
+    }
+
+    @Test
+    @DisplayName("Тест №17: лимит пасов расходуется только у передающего игрока")
+    void passConsumesOnlyCurrentPlayerLimit() {
+        Player first = model.activePlayer();
+        model.passTurn();
+
+        Player second = model.activePlayer();
+        assertEquals(1, model.passesLeftFor(second));
+
+        second.setLabelTo(new Point(1, 1));
+        assertEquals(0, model.passesLeftFor(first));
+        assertEquals(1, model.passesLeftFor(second));
+    }
+
+    @Test
+    @DisplayName("Тест №18: смена типа метки выдаёт новую активную метку")
+    void changingLabelTypeReissuesActiveLabel() {
+        Label currentLabel = model.activePlayer().activeLabel();
+        model.setActiveLabelType(LabelType.HIDDEN);
+        Label refreshed = model.activePlayer().activeLabel();
+
+        assertNotSame(currentLabel, refreshed);
+        assertEquals("?", refreshed.symbol());
+    }
+
+    @Test
+    @DisplayName("Тест №19: повторный старт очищает поле и создаёт новое")
+    void startResetsFieldState() {
+        model.activePlayer().setLabelTo(new Point(1, 1));
+        model.start();
+
+        assertEquals(5, model.field().width());
+        assertEquals(5, model.field().height());
+        assertNull(model.field().label(new Point(1, 1)));
+    }
+
+    @Test
+    @DisplayName("Тест №20: после двух ходов ход возвращается первому игроку")
+    void turnCyclesBetweenPlayers() {
+        Player first = model.activePlayer();
+        model.activePlayer().setLabelTo(new Point(1, 1));
+        model.activePlayer().setLabelTo(new Point(1, 2));
+        assertSame(first, model.activePlayer());
+    }
+
+    @Test
+    @DisplayName("Тест №21: passTurn генерирует playerExchanged")
+    void passTurnFiresPlayerExchanged() {
+        AtomicInteger cnt = new AtomicInteger();
+        model.addGameListener(new GameListener() {
+            public void gameFinished(GameEvent event) {}
+            public void playerExchanged(GameEvent event) { cnt.incrementAndGet(); }
+        });
+
+        int before = cnt.get();
+        model.passTurn();
+        assertEquals(before + 1, cnt.get());
+    }
+
+    @Test
+    @DisplayName("Тест №22: делегированная метка принадлежит сопернику")
+    void delegatedLabelBelongsToOpponent() {
+        model.setActiveLabelType(LabelType.DELEGATED);
+        Label label = model.activePlayer().activeLabel();
+
+        assertNotEquals(model.activePlayer(), label.owner());
+        assertEquals("O", label.owner().name());
+    }
+
+    @Test
+    @DisplayName("Тест №23: при передаче хода активируется тип метки нового игрока")
+    void passTurnRestoresNextPlayerLabelType() {
+        model.setActiveLabelType(LabelType.HIDDEN);
+        model.passTurn();
+
+        assertEquals(LabelType.NORMAL, model.activeLabelType());
+        assertEquals("O", model.activePlayer().activeLabel().symbol());
+    }
+
+    @Test
+    @DisplayName("Тест №24: рестарт возвращает лимит пасов обоим игрокам")
+    void restartRestoresPassesForAll() {
+        Player first = model.activePlayer();
+        model.passTurn();
+        model.activePlayer().setLabelTo(new Point(1, 1));
+        model.start();
+
+        assertEquals(1, model.passesLeftFor(first));
+        assertEquals(1, model.passesLeftFor(model.activePlayer()));
+    }
+
+    @Test
+    @DisplayName("Тест №25: победа определяется по диагонали из пяти меток")
+    void winnerDetectedOnDiagonal() {
+        AtomicReference<Player> winnerRef = new AtomicReference<>();
+        model.addGameListener(new GameListener() {
+            public void gameFinished(GameEvent event) { winnerRef.set(event.player()); }
+            public void playerExchanged(GameEvent event) {}
+        });
+
+        for (int i = 1; i <= 5; i++) {
+            Player current = model.activePlayer();
+            current.setLabelTo(new Point(i, i));
+            if (i < 5) {
+                model.activePlayer().setLabelTo(new Point(i, 5));
+            }
+        }
+
+        assertNotNull(winnerRef.get());
+        assertEquals("X", winnerRef.get().name());
+    }
+
+    @Test
+    @DisplayName("Тест №26: отмена хода снимает метку и возвращает ход сделавшему его игроку")
+    void undoRemovesLabelAndRestoresTurn() {
+        Player first = model.activePlayer();
+        first.setLabelTo(new Point(2, 2));
+
+        model.undo();
+
+        assertNull(model.field().label(new Point(2, 2)));
+        assertSame(first, model.activePlayer());
+        assertNotNull(first.activeLabel());
+        assertFalse(model.canUndo());
+        assertTrue(model.canRedo());
+    }
+
+    @Test
+    @DisplayName("Тест №27: отмена паса возвращает лимит пасов")
+    void undoPassRestoresPassLimit() {
+        Player first = model.activePlayer();
+        model.passTurn();
+        assertEquals(0, model.passesLeftFor(first));
+
+        model.undo();
+
+        assertSame(first, model.activePlayer());
+        assertEquals(1, model.passesLeftFor(first));
+        assertNotNull(first.activeLabel());
+    }
+
+    @Test
+    @DisplayName("Тест №28: отмена победного хода снимает признак завершения, повтор возвращает его")
+    void undoAndRedoWinningMove() {
+        for (int x = 1; x <= 4; x++) {
+            model.activePlayer().setLabelTo(new Point(x, 1));
+            model.activePlayer().setLabelTo(new Point(x, 2));
+        }
+        model.activePlayer().setLabelTo(new Point(5, 1));
+        assertTrue(model.isFinished());
+
+        model.undo();
+        assertFalse(model.isFinished());
+        assertEquals("X", model.activePlayer().name());
+
+        model.redo();
+        assertTrue(model.isFinished());
+        assertEquals("X", model.winner().name());
+    }
+
+    @Test
+    @DisplayName("Тест №29: повтор восстанавливает тип метки, а новый ход отбрасывает отменённые")
+    void redoRestoresTypeAndNewMoveClearsRedo() {
+        model.activePlayer().setLabelTo(new Point(1, 1));
+        model.setActiveLabelType(LabelType.DELEGATED);
+        model.activePlayer().setLabelTo(new Point(3, 3));
+        model.undo();
+        model.undo();
+
+        model.redo();
+        model.redo();
+        assertEquals("X", model.field().label(new Point(3, 3)).owner().name());
+        assertEquals(LabelType.DELEGATED, model.history().labelType(1));
+
+        model.undo();
+        model.activePlayer().setLabelTo(new Point(4, 4));
+        assertFalse(model.canRedo());
+        assertEquals(2, model.history().size());
+    }
+
+    @Test
+    @DisplayName("Тест №30: новая партия очищает историю ходов")
+    void startClearsHistory() {
+        model.activePlayer().setLabelTo(new Point(1, 1));
+        model.start();
+        assertFalse(model.canUndo());
+        assertThrows(IllegalStateException.class, () -> model.undo());
+        assertThrows(IllegalStateException.class, () -> model.redo());
+    }
+
+    @Test
+    @DisplayName("Тест №31: правила задают размер поля, длину линии и лимит пасов")
+    void rulesConfigureModel() {
+        Rules rules = Rules.standard().withBoardSize(4, 3).withLineLength(3).withPassLimit(2);
+        GameModel custom = new GameModel(rules);
+        custom.start();
+        assertSame(rules, custom.rules());
+        assertEquals(4, custom.field().width());
+        assertEquals(3, custom.field().height());
+        assertEquals(2, custom.passesLeftFor(custom.activePlayer()));
+
+        for (int x = 1; x <= 3; x++) {
+            custom.activePlayer().setLabelTo(new Point(x, 1));
+            if (x < 3) {
+                custom.activePlayer().setLabelTo(new Point(x, 3));
+            }
+        }
+        assertEquals("X", custom.winner().name());
+    }
+
+    @Test
+    @DisplayName("Тест №32: при точной длине линия длиннее выигрышной не завершает партию")
+    void exactLengthRulesIgnoreOverline() {
+        GameModel custom = new GameModel(new Rules(7, 2, 3, 1, false));
+        custom.start();
+        for (int x : new int[] { 1, 2, 4, 5 }) {
+            custom.activePlayer().setLabelTo(new Point(x, 1));
+            custom.activePlayer().setLabelTo(new Point(x, 2));
+        }
+        custom.activePlayer().setLabelTo(new Point(3, 1));
+        assertFalse(custom.isFinished());
+
+        custom.setFullScanWinCheck(true);
+        custom.activePlayer().setLabelTo(new Point(7, 2));
+        assertFalse(custom.isFinished());
+    }
+
+    @Test
+    @DisplayName("Тест №33: правила проверяют параметры и сравниваются по значению")
+    void rulesValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new Rules(0, 5, 5, 1, true));
+        assertThrows(IllegalArgumentException.class, () -> new Rules(5, 5, 0, 1, true));
+        assertThrows(IllegalArgumentException.class, () -> new Rules(5, 5, 5, -1, true));
+        assertThrows(IllegalArgumentException.class, () -> new GameModel((Rules) null));
+        assertEquals(Rules.standard(), new Rules(5, 5, 5, 1, true));
+        assertNotEquals(Rules.standard(), Rules.standard().withOverlineWins(false));
+    }
+
+    @Test
+    @DisplayName("Тест №34: партия на четырёх игроков передаёт ход по кругу")
+    void fourPlayersTakeTurns() {
+        GameModel custom = new GameModel(Rules.standard().withBoardSize(8, 8).withPlayerCount(4));
+        custom.start();
+        assertEquals(4, custom.players().size());
+        for (int i = 0; i < 4; i++) {
+            Player player = custom.players().get(i);
+            assertEquals(i, player.id());
+            assertEquals(i, custom.indexOf(player));
+            assertSame(player, custom.activePlayer());
+            assertEquals(player.name(), player.activeLabel().symbol());
+            custom.activePlayer().setLabelTo(new Point(i + 1, 1));
+        }
+        assertSame(custom.players().get(0), custom.activePlayer());
+        assertEquals(-1, custom.indexOf(model.activePlayer()));
+    }
+
+    @Test
+    @DisplayName("Тест №35: делегированная метка достаётся противнику по правилу из правил партии")
+    void delegatedLabelFollowsOpponentPolicy() {
+        Rules rules = Rules.standard().withBoardSize(8, 8).withPlayerCount(3);
+        GameModel next = new GameModel(rules);
+        next.start();
+        next.setActiveLabelType(LabelType.DELEGATED);
+        assertSame(next.players().get(1), next.activePlayer().activeLabel().owner());
+        assertSame(next.players().get(0), next.opponentOf(next.players().get(2)));
+
+        GameModel previous = new GameModel(rules.withOpponentPolicy(OpponentPolicy.PREVIOUS));
+        previous.start();
+        previous.setActiveLabelType(LabelType.DELEGATED);
+        assertSame(previous.players().get(2), previous.activePlayer().activeLabel().owner());
+        assertSame(previous.players().get(1), previous.opponentOf(previous.players().get(2)));
+    }
+
+    @Test
+    @DisplayName("Тест №36: правила ограничивают количество игроков")
+    void playerCountValidation() {
+        assertThrows(IllegalArgumentException.class, () -> Rules.standard().withPlayerCount(1));
+        assertThrows(IllegalArgumentException.class,
+                () -> Rules.standard().withPlayerCount(Rules.MAX_PLAYERS + 1));
+        assertThrows(IllegalArgumentException.class, () -> Rules.standard().withOpponentPolicy(null));
+        assertEquals(Rules.MAX_PLAYERS, new GameModel(Rules.standard().withPlayerCount(Rules.MAX_PLAYERS))
+                .players().size());
+        assertNotEquals(Rules.standard(), Rules.standard().withPlayerCount(3));
+    }
+
+    @Test
+    @DisplayName("Тест №37: в режиме повторного использования смена игрока не создаёт новых событий")
+    void reusableGameEvents() {
+        GameModel custom = new GameModel();
+        custom.setReusableEvents(true);
+        List<GameEvent> events = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        custom.addGameListener(new GameListener() {
+            @Override
+            public void gameFinished(GameEvent event) {
+            }
+
+            @Override
+            public void playerExchanged(GameEvent event) {
+                events.add(event);
+                names.add(event.player().name());
+            }
+        });
+        custom.start();
+        custom.activePlayer().setLabelTo(new Point(1, 1));
+        custom.activePlayer().setLabelTo(new Point(2, 2));
+
+        assertEquals(List.of("X", "O", "X"), names);
+        assertSame(events.get(0), events.get(2));
+        assertTrue(custom.players().stream().allMatch(Player::reusableEvents));
+        assertTrue(new GameEngine().model().reusableEvents());
+        assertFalse(model.reusableEvents());
+    }
+
+    @Test
+    @DisplayName("Тест №38: слушатель может отписаться и подписать другого прямо во время оповещения")
+    void listenersChangeDuringFiring() {
+        List<String> log = new ArrayList<>();
+        GameListener late = new GameListener() {
+            @Override
+            public void gameFinished(GameEvent event) {
+            }
+
+            @Override
+            public void playerExchanged(GameEvent event) {
+                log.add("late " + event.player().name());
+            }
+        };
+        model.addGameListener(new GameListener() {
+            @Override
+            public void gameFinished(GameEvent event) {
+            }
+
+            @Override
+            public void playerExchanged(GameEvent event) {
+                log.add("once " + event.player().name());
+                model.removeGameListener(this);
+                model.addGameListener(late);
+            }
+        });
+
+        model.activePlayer().setLabelTo(new Point(1, 1));
+        model.activePlayer().setLabelTo(new Point(2, 2));
+        assertEquals(List.of("once O", "late X"), log);
+    }
+
+    @Test
+    @DisplayName("Тест №39: восстановление позиции возвращает поле, пасы и очередь, ходы после неё можно повторить")
+    void restorePosition() {
+        model.activePlayer().setLabelTo(new Point(1, 1));
+        GamePosition position = model.position();
+        BoardSnapshot board = BoardSnapshot.of(model.field(), model.players());
+
+        model.passTurn();
+        model.setActiveLabelType(LabelType.HIDDEN);
+        model.activePlayer().setLabelTo(new Point(2, 2));
+        model.activePlayer().setLabelTo(new Point(3, 3));
+
+        model.restore(position);
+        assertEquals(board, BoardSnapshot.of(model.field(), model.players()));
+        assertEquals("O", model.activePlayer().name());
+        assertEquals(1, model.passesLeftFor(model.activePlayer()));
+        assertNotNull(model.activePlayer().activeLabel());
+        assertEquals(1, model.history().size());
+        assertEquals(3, model.history().redoSize());
+
+        model.redo();
+        model.redo();
+        assertEquals(LabelType.HIDDEN, model.history().labelType(2));
+        assertThrows(IllegalArgumentException.class, () -> new GameModel().restore(position));
+    }
+
+    @Test
+    @DisplayName("Тест №40: восстановление позиции создаёт метки фабрикой модели")
+    void restoreUsesModelLabelFactory() {
+        List<Label> created = new ArrayList<>();
+        LabelFactory factory = new LabelFactory() {
+            @Override
+            public Label createLabel(Player owner, LabelType type) {
+                Label label = super.createLabel(owner, type);
+                created.add(label);
+                return label;
+            }
+        };
+        GameModel custom = new GameModel(new GameField(), new CellFactory(), factory,
+                new GridFieldInitializer(5, 5));
+        custom.start();
+        GamePosition start = custom.position();
+        custom.activePlayer().setLabelTo(new Point(1, 1));
+        custom.activePlayer().setLabelTo(new Point(2, 2));
+        GamePosition position = custom.position();
+
+        custom.restore(start);
+        assertNull(custom.field().label(1, 1));
+        created.clear();
+        custom.restore(position);
+        assertTrue(created.contains(custom.field().label(1, 1)));
+        assertTrue(created.contains(custom.field().label(2, 2)));
+    }
+
+    @Test
+    @DisplayName("Тест №41: повтор ставит метку в режиме секретности отменённого хода")
+    void redoRestoresSecretMode() {
+        model.setSecretModeEnabled(true);
+        model.activePlayer().setLabelTo(new Point(1, 1));
+        model.undo();
+        model.setSecretModeEnabled(false);
+
+        model.redo();
+        assertTrue(model.history().isSecret(0));
+        assertFalse(model.secretModeEnabled());
+        assertFalse(model.activePlayer().activeLabel() instanceof SecretLabel);
+    }
+}
@@ -138,4 +138,50 @@ class GridFieldInitializerTest {
         initializer.prepare(field, new CellFactory());
         assertTrue(field.labels().isEmpty());
     }
+
+    @Test
+    @DisplayName("Тест №9: в режиме повторного использования ячейки поля того же размера сохраняются")
+    void reuseKeepsCellsAndClearsLabels() {
+        GameField field = new GameField();
+        GridFieldInitializer initializer = new GridFieldInitializer(3, 3, true);
+        initializer.prepare(field, new CellFactory());
+        Player p = new Player(field, "P");
+        field.setLabel(2, 2, new NormalLabel(p));
+        field.setLabel(3, 1, new NormalLabel(p));
+
+        AtomicInteger counter = new AtomicInteger();
+        CellFactory countingFactory = new CellFactory() {
+            @Override
+            public Cell createCell() {
+                counter.incrementAndGet();
+                return super.createCell();
+            }
+        };
+        initializer.prepare(field, countingFactory);
+
+        assertEquals(0, counter.get());
+        assertTrue(field.labels().isEmpty());
+        assertDoesNotThrow(() -> field.setLabel(2, 2, new NormalLabel(p)));
+    }
+
+    @Test
+    @DisplayName("Тест №10: повторное использование не применяется к полю другого размера или без ячеек")
+    void reuseFallsBackToFullPreparation() {
+        GameField field = new GameField();
+        AtomicInteger counter = new AtomicInteger();
+        CellFactory countingFactory = new CellFactory() {
+            @Override
+            public Cell createCell() {
+                counter.incrementAndGet();
+                return super.createCell();
+            }
+        };
+
+        new GridFieldInitializer(5, 5, true).prepare(field, countingFactory);
+        assertEquals(25, counter.get());
+
+        new GridFieldInitializer(2, 2, true).prepare(field, countingFactory);
+        assertEquals(29, counter.get());
+        assertEquals(2, field.width());
+    }
 }
@@ -0,0 +1,89 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import xzero.model.events.ListenerList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ListenerList: список слушателей с копированием при записи")
+class ListenerListTest {
+
+    @Test
+    @DisplayName("Тест №1: слушатели хранятся в порядке регистрации, null пропускается")
+    void addAndRemoveKeepOrder() {
+        ListenerList<Runnable> list = new ListenerList<>(Runnable.class);
+        Runnable a = () -> { };
+        Runnable b = () -> { };
+        Runnable c = () -> { };
+        list.add(a);
+        list.add(null);
+        list.add(b);
+        list.add(c);
+        assertArrayEquals(new Runnable[] { a, b, c }, list.listeners());
+
+        assertTrue(list.remove(b));
+        assertFalse(list.remove(b));
+        assertArrayEquals(new Runnable[] { a, c }, list.listeners());
+        list.remove(a);
+        list.remove(c);
+        assertTrue(list.isEmpty());
+        assertEquals(0, list.size());
+    }
+
+    @Test
+    @DisplayName("Тест №2: изменение списка не затрагивает уже полученный массив")
+    void snapshotUnaffectedByChanges() {
+        ListenerList<Runnable> list = new ListenerList<>(Runnable.class);
+        List<String> calls = new ArrayList<>();
+        Runnable second = () -> calls.add("second");
+        list.add(() -> {
+            calls.add("first");
+            list.remove(second);
+            list.add(() -> calls.add("third"));
+        });
+        list.add(second);
+
+        for (Runnable listener : list.listeners()) {
+            listener.run();
+        }
+        assertEquals(List.of("first", "second"), calls);
+        assertEquals(2, list.size());
+    }
+
+    @Test
+    @DisplayName("Тест №3: одновременная регистрация из нескольких потоков не теряет слушателей")
+    void concurrentAddsAreNotLost() throws InterruptedException {
+        ListenerList<Runnable> list = new ListenerList<>(Runnable.class);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                for (Runnable listener : list.listeners()) {
+                    listener.run();
+                }
+            }
+        });
+        reader.start();
+
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    Runnable temporary = () -> { };
+                    list.add(temporary);
+                    list.add(() -> { });
+                    list.remove(temporary);
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        running.set(false);
+        reader.join();
+        assertEquals(writers.length * 500, list.size());
+    }
+}
@@ -0,0 +1,127 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import xzero.model.GameField;
+import xzero.model.Rules;
+import xzero.model.ai.MctsMoveSource;
+import xzero.model.engine.GameEngine;
+import xzero.model.engine.Move;
+import xzero.model.engine.MoveResult;
+import xzero.model.labels.LabelType;
+import xzero.model.setup.GridFieldInitializer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MctsMoveSource: параллельный поиск по дереву Монте-Карло")
+class MctsMoveSourceTest {
+
+    private GameEngine engine;
+    private MctsMoveSource mcts;
+
+    @BeforeEach
+    void setup() {
+        engine = new GameEngine();
+        engine.start();
+        mcts = new MctsMoveSource(4, 1, 10_000);
+        mcts.setMaxPlayouts(30_000);
+        mcts.setSeed(11);
+    }
+
+    @AfterEach
+    void teardown() {
+        mcts.close();
+    }
+
+    @Test
+    @DisplayName("Тест №1: незавершённая линия из четырёх меток доводится до победы")
+    void completesOwnLine() {
+        for (int x = 1; x <= 4; x++) {
+            engine.place(x, 1);
+            engine.place(x == 4 ? 1 : x, x == 4 ? 5 : 3);
+        }
+        Move move = mcts.nextMove(engine);
+        assertEquals(Move.place(5, 1, LabelType.NORMAL), move);
+        assertEquals(MoveResult.WIN, engine.apply(move));
+    }
+
+    @Test
+    @DisplayName("Тест №2: линия соперника из четырёх меток блокируется")
+    void blocksOpponentLine() {
+        for (int x = 1; x <= 3; x++) {
+            engine.place(x, 1);
+            engine.place(x, 3);
+        }
+        engine.place(4, 1);
+        assertEquals(Move.place(5, 1, LabelType.NORMAL), mcts.nextMove(engine));
+    }
+
+    @Test
+    @DisplayName("Тест №3: количество и скорость доигрываний доступны после хода")
+    void playoutMetrics() {
+        mcts.nextMove(engine);
+        assertEquals(30_000, mcts.lastPlayouts());
+        assertTrue(mcts.lastPlayoutsPerSecond() > 0);
+    }
+
+    @Test
+    @DisplayName("Тест №4: несколько независимых деревьев на большом поле дают допустимый ход в пределах бюджета")
+    void rootParallelLargeBoard() {
+        GameEngine large = new GameEngine(new GameField(), new GridFieldInitializer(19, 19));
+        large.start();
+        large.place(10, 10);
+        try (MctsMoveSource rootParallel = new MctsMoveSource(4, 2, 100)) {
+            long started = System.nanoTime();
+            Move move = rootParallel.nextMove(large);
+            long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+            assertTrue(elapsedMillis < 2000, "поиск занял " + elapsedMillis + " мс");
+            assertTrue(rootParallel.lastPlayouts() > 0);
+            assertEquals(MoveResult.CONTINUE, large.apply(move));
+        }
+    }
+
+    @Test
+    @DisplayName("Тест №5: деревьев не может быть больше, чем рабочих потоков")
+    void treesLimitedByThreads() {
+        assertThrows(IllegalArgumentException.class, () -> new MctsMoveSource(2, 3, 100));
+        assertThrows(IllegalArgumentException.class, () -> new MctsMoveSource(0, 1, 100));
+    }
+
+    @Test
+    @DisplayName("Тест №6: пул потоков служит нескольким ходам и завершается при закрытии")
+    void poolReusedUntilClosed() {
+        mcts.setMaxPlayouts(500);
+        assertEquals(MoveResult.CONTINUE, engine.apply(mcts.nextMove(engine)));
+        assertEquals(MoveResult.CONTINUE, engine.apply(mcts.nextMove(engine)));
+
+        mcts.close();
+        assertThrows(IllegalStateException.class, () -> mcts.nextMove(engine));
+    }
+
+    @Test
+    @DisplayName("Тест №7: длина победной линии и победа длинной линии берутся из правил партии")
+    void lineFromRules() {
+        GameEngine short4 = new GameEngine(new Rules(7, 7, 4, 1, true));
+        short4.start();
+        for (int x = 1; x <= 3; x++) {
+            short4.place(x, 1);
+            short4.place(x * 2 - 1, 7);
+        }
+        Move move = mcts.nextMove(short4);
+        assertEquals(Move.place(4, 1, LabelType.NORMAL), move);
+        assertEquals(MoveResult.WIN, short4.apply(move));
+
+        GameEngine exact = new GameEngine(new Rules(9, 9, 5, 1, false));
+        exact.start();
+        int[][] own = { {1, 1}, {2, 1}, {3, 1}, {4, 1}, {6, 1}, {7, 2}, {7, 3}, {7, 4}, {7, 5} };
+        int[][] other = { {1, 9}, {3, 9}, {5, 9}, {7, 9}, {9, 9}, {1, 7}, {3, 7}, {5, 7}, {9, 7} };
+        for (int i = 0; i < own.length; i++) {
+            exact.place(own[i][0], own[i][1]);
+            exact.place(other[i][0], other[i][1]);
+        }
+        move = mcts.nextMove(exact);
+        assertEquals(7, move.x());
+        assertEquals(MoveResult.WIN, exact.apply(move));
+    }
+}
@@ -0,0 +1,177 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import xzero.model.GameField;
+import xzero.model.GameModel;
+import xzero.model.MoveHistory;
+import xzero.model.Rules;
+import xzero.model.SparseGameField;
+import xzero.model.engine.GameEngine;
+import xzero.model.factory.CellFactory;
+import xzero.model.factory.LabelFactory;
+import xzero.model.labels.LabelType;
+import xzero.model.record.GameRecord;
+import xzero.model.record.MoveLog;
+import xzero.model.record.ReplayEngine;
+import xzero.model.setup.GridFieldInitializer;
+import xzero.model.setup.SparseFieldInitializer;
+import xzero.model.turn.OpponentPolicy;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MoveLog: двоичный журнал партий с дописыванием")
+class MoveLogTest {
+
+    @TempDir
+    Path dir;
+
+    private static GameModel playedGame() {
+        GameModel model = new GameModel();
+        model.start();
+        model.activePlayer().setLabelTo(new Point(1, 1));
+        model.passTurn();
+        model.setSecretModeEnabled(true);
+        model.setActiveLabelType(LabelType.HIDDEN);
+        model.activePlayer().setLabelTo(new Point(2, 2));
+        model.setSecretModeEnabled(false);
+        for (int x = 2; x <= 5; x++) {
+            model.activePlayer().setLabelTo(new Point(x, 1));
+            if (x < 5) {
+                model.activePlayer().setLabelTo(new Point(x, 3));
+            }
+        }
+        return model;
+    }
+
+    @Test
+    @DisplayName("Тест №1: партия читается после повторного открытия так же, как была записана")
+    void roundTrip() throws IOException {
+        Path file = dir.resolve("games.xzl");
+        GameModel model = playedGame();
+        MoveHistory history = model.history();
+        long offset;
+        try (MoveLog log = MoveLog.open(file)) {
+            offset = log.append(model);
+        }
+
+        try (MoveLog log = MoveLog.open(file)) {
+            assertEquals(1, log.gameCount());
+            GameRecord game = log.read(offset);
+            assertEquals(model.rules(), game.rules());
+            assertEquals(model.indexOf(model.winner()), game.winnerIndex());
+            assertEquals(history.size(), game.moveCount());
+            for (int i = 0; i < history.size(); i++) {
+                assertEquals(history.record(i), game.move(i));
+            }
+            assertTrue(game.isPass(1));
+            assertTrue(game.isSecret(2));
+            assertEquals(LabelType.HIDDEN, game.labelType(2));
+            assertEquals(2, game.x(2));
+            assertFalse(game.isSecret(3));
+            assertEquals(log.endOffset(), game.nextOffset());
+        }
+    }
+
+    @Test
+    @DisplayName("Тест №2: партии в разных участках файла перебираются по смещениям")
+    void manyGamesAcrossSegments() throws IOException {
+        Path file = dir.resolve("many.xzl");
+        Rules rules = Rules.standard().withBoardSize(7, 7).withPlayerCount(3)
+                .withOpponentPolicy(OpponentPolicy.PREVIOUS);
+        List<Long> offsets = new ArrayList<>();
+        try (MoveLog log = MoveLog.open(file, 128)) {
+            for (int game = 0; game < 50; game++) {
+                GameModel model = new GameModel(rules);
+                model.start();
+                for (int i = 0; i <= game % 7; i++) {
+                    model.activePlayer().setLabelTo(new Point(i + 1, game % 7 + 1));
+                }
+                offsets.add(log.append(model));
+            }
+        }
+        try (MoveLog log = MoveLog.open(file, 128)) {
+            assertEquals(50, log.gameCount());
+            long offset = log.firstOffset();
+            for (int game = 0; game < 50; game++) {
+                assertEquals(offsets.get(game), offset);
+                GameRecord record = log.read(offset);
+                assertEquals(rules, record.rules());
+                assertEquals(game % 7 + 1, record.moveCount());
+                assertEquals(game % 7 % 3, record.playerIndex(record.moveCount() - 1));
+                offset = record.nextOffset();
+            }
+            assertEquals(log.endOffset(), offset);
+
+            GameModel extra = new GameModel(rules);
+            extra.start();
+            assertEquals(offset, log.append(extra));
+            assertEquals(0, log.read(offset).moveCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Тест №3: журнал отклоняет чужие файлы, неверные смещения и работу после закрытия")
+    void rejectsInvalidUse() throws IOException {
+        Path foreign = dir.resolve("foreign.bin");
+        Files.write(foreign, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+        assertThrows(IOException.class, () -> MoveLog.open(foreign));
+
+        MoveLog log = MoveLog.open(dir.resolve("log.xzl"));
+        long offset = log.append(playedGame());
+        assertThrows(IllegalArgumentException.class, () -> log.read(offset + 4));
+        assertThrows(IllegalArgumentException.class, () -> log.read(log.endOffset()));
+        log.close();
+        assertThrows(IllegalStateException.class, () -> log.read(offset));
+        assertThrows(IllegalArgumentException.class, () -> MoveLog.open(dir.resolve("x.xzl"), 0));
+    }
+
+    @Test
+    @DisplayName("Тест №4: в журнал записываются фактический размер поля и признак неограниченного поля")
+    void recordsActualBoardSize() throws IOException {
+        GameEngine engine = new GameEngine(new GameField(), new GridFieldInitializer(10, 10, true));
+        engine.start();
+        for (int y = 6; y <= 9; y++) {
+            engine.place(9, y);
+            engine.place(10, y);
+        }
+        engine.place(9, 10);
+        assertTrue(engine.isFinished());
+
+        GameEngine sparse = new GameEngine(new GameModel(new SparseGameField(), new CellFactory(),
+                new LabelFactory(), new SparseFieldInitializer()));
+        sparse.start();
+        for (int x = -300; x < -296; x++) {
+            sparse.place(x, -40);
+            sparse.place(x, 40);
+        }
+        sparse.place(-296, -40);
+        assertTrue(sparse.isFinished());
+
+        try (MoveLog log = MoveLog.open(dir.resolve("games.xzl"))) {
+            GameRecord game = log.read(log.append(engine.model()));
+            assertEquals(10, game.rules().width());
+            assertEquals(10, game.rules().height());
+            assertFalse(game.isSparseField());
+            assertEquals(-1, new ReplayEngine(game).validate());
+
+            GameRecord sparseGame = log.read(log.append(sparse.model()));
+            assertTrue(sparseGame.isSparseField());
+            assertEquals(-300, sparseGame.x(0));
+            ReplayEngine replay = new ReplayEngine(sparseGame);
+            assertEquals(-1, replay.validate());
+            assertTrue(replay.model().field() instanceof SparseGameField);
+            assertEquals("X", replay.model().winner().name());
+
+            replay.seek(3);
+            assertNotNull(replay.model().field().label(-299, -40));
+            assertNull(replay.model().field().label(-299, 40));
+        }
+    }
+}
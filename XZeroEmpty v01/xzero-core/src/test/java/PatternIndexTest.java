@@ -0,0 +1,215 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import xzero.model.GameField;
+import xzero.model.Player;
+import xzero.model.factory.CellFactory;
+import xzero.model.labels.DelegatedLabel;
+import xzero.model.labels.HiddenLabel;
+import xzero.model.labels.Label;
+import xzero.model.labels.NormalLabel;
+import xzero.model.setup.GridFieldInitializer;
+import xzero.model.win.FullScanWinDetector;
+import xzero.model.win.LinePattern;
+import xzero.model.win.PatternIndex;
+import xzero.model.win.PatternWinDetector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PatternIndex: счётчики серий с открытыми концами")
+class PatternIndexTest {
+
+    private GameField makeField(int w, int h) {
+        GameField f = new GameField();
+        new GridFieldInitializer(w, h).prepare(f, new CellFactory());
+        return f;
+    }
+
+    private PatternIndex attach(GameField f) {
+        f.setPatternIndex(new PatternIndex(5));
+        return f.patternIndex();
+    }
+
+    @Test
+    @DisplayName("Тест №1: открытая четвёрка превращается в закрытую после блокирующего хода")
+    void openFourBecomesClosed() {
+        GameField f = makeField(10, 10);
+        PatternIndex index = attach(f);
+        Player x = new Player(f, "X");
+        Player o = new Player(f, "O");
+        for (int i = 3; i <= 6; i++) {
+            f.setLabel(i, 5, new NormalLabel(x));
+        }
+        assertEquals(1, index.count(x, LinePattern.OPEN_FOUR));
+        assertEquals(0, index.count(x, LinePattern.CLOSED_FOUR));
+
+        f.setLabel(7, 5, new NormalLabel(o));
+        assertEquals(0, index.count(x, LinePattern.OPEN_FOUR));
+        assertEquals(1, index.count(x, LinePattern.CLOSED_FOUR));
+
+        f.label(7, 5).cell().removeLabel();
+        assertEquals(1, index.count(x, LinePattern.OPEN_FOUR));
+    }
+
+    @Test
+    @DisplayName("Тест №2: край поля закрывает серию, ход в середину объединяет две серии")
+    void edgesAndMerging() {
+        GameField f = makeField(10, 10);
+        PatternIndex index = attach(f);
+        Player x = new Player(f, "X");
+        f.setLabel(1, 1, new NormalLabel(x));
+        f.setLabel(2, 1, new NormalLabel(x));
+        f.setLabel(4, 1, new NormalLabel(x));
+        f.setLabel(5, 1, new NormalLabel(x));
+        assertEquals(1, index.runCount(x, 2, 1));
+        assertEquals(1, index.runCount(x, 2, 2));
+
+        f.setLabel(3, 1, new NormalLabel(x));
+        assertEquals(1, index.count(x, LinePattern.LINE));
+        assertEquals(0, index.runCount(x, 2, 1));
+        assertSame(x, index.ownerWith(LinePattern.LINE));
+    }
+
+    @Test
+    @DisplayName("Тест №3: делегированная метка продлевает серию логического владельца")
+    void delegatedLabelCountsForOwner() {
+        GameField f = makeField(10, 10);
+        PatternIndex index = attach(f);
+        Player x = new Player(f, "X");
+        Player o = new Player(f, "O");
+        f.setLabel(4, 4, new NormalLabel(o));
+        f.setLabel(5, 5, new NormalLabel(o));
+        Label delegated = new DelegatedLabel(o);
+        delegated.setPlacedBy(x);
+        f.setLabel(6, 6, delegated);
+
+        assertEquals(1, index.count(o, LinePattern.OPEN_THREE));
+        assertEquals(0, index.count(x, LinePattern.OPEN_THREE));
+    }
+
+    @Test
+    @DisplayName("Тест №4: серии со скрытыми метками не попадают в известные счётчики")
+    void hiddenLabelsExcludedFromKnownCounts() {
+        GameField f = makeField(10, 10);
+        PatternIndex index = attach(f);
+        Player x = new Player(f, "X");
+        f.setLabel(2, 8, new NormalLabel(x));
+        f.setLabel(3, 8, new HiddenLabel(x));
+        f.setLabel(4, 8, new NormalLabel(x));
+
+        assertEquals(1, index.count(x, LinePattern.OPEN_THREE));
+        assertEquals(0, index.knownCount(x, LinePattern.OPEN_THREE));
+
+        f.label(3, 8).cell().removeLabel();
+        assertEquals(0, index.count(x, LinePattern.OPEN_THREE));
+        assertEquals(8, index.runCount(x, 1, 2));
+    }
+
+    @Test
+    @DisplayName("Тест №5: счётчики после случайных ходов и отмен совпадают с пересчётом с нуля")
+    void incrementalMatchesRebuild() {
+        Random rnd = new Random(7);
+        for (int game = 0; game < 20; game++) {
+            GameField f = makeField(9, 9);
+            PatternIndex index = attach(f);
+            Player[] players = { new Player(f, "X"), new Player(f, "O") };
+            List<Label> placed = new ArrayList<>();
+            for (int move = 0; move < 60; move++) {
+                if (!placed.isEmpty() && rnd.nextInt(4) == 0) {
+                    placed.remove(rnd.nextInt(placed.size())).cell().removeLabel();
+                    continue;
+                }
+                int x = 1 + rnd.nextInt(9);
+                int y = 1 + rnd.nextInt(9);
+                if (f.label(x, y) == null) {
+                    Player p = players[rnd.nextInt(2)];
+                    Label l = rnd.nextBoolean() ? new NormalLabel(p) : new HiddenLabel(p);
+                    f.setLabel(x, y, l);
+                    placed.add(l);
+                }
+            }
+
+            PatternIndex fresh = new PatternIndex(5);
+            fresh.rebuild(f);
+            for (Player p : players) {
+                for (int length = 1; length <= 6; length++) {
+                    for (int open = 0; open <= 2; open++) {
+                        assertEquals(fresh.runCount(p, length, open), index.runCount(p, length, open));
+                    }
+                }
+                for (LinePattern pattern : LinePattern.values()) {
+                    assertEquals(fresh.knownCount(p, pattern), index.knownCount(p, pattern));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Тест №6: стратегия по индексу шаблонов совпадает с полным просмотром поля")
+    void patternDetectorMatchesFullScan() {
+        Random rnd = new Random(11);
+        for (int game = 0; game < 30; game++) {
+            GameField f = makeField(8, 8);
+            Player[] players = { new Player(f, "X"), new Player(f, "O") };
+            PatternWinDetector detector = new PatternWinDetector(4);
+            detector.attach(f);
+            for (int move = 0; move < 64; move++) {
+                int x = 1 + rnd.nextInt(8);
+                int y = 1 + rnd.nextInt(8);
+                if (f.label(x, y) != null) {
+                    continue;
+                }
+                Label l = new NormalLabel(players[move % 2]);
+                f.setLabel(x, y, l);
+                Player expected = new FullScanWinDetector(4).winnerAfter(f, l.cell());
+                assertSame(expected, detector.winnerAfter(f, l.cell()));
+                if (expected != null) {
+                    break;
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Тест №7: после очистки и повторной подготовки поля индекс пересчитывается")
+    void indexRebuiltAfterClear() {
+        GameField f = makeField(6, 6);
+        PatternIndex index = attach(f);
+        Player x = new Player(f, "X");
+        f.setLabel(2, 2, new NormalLabel(x));
+        f.setLabel(3, 3, new NormalLabel(x));
+
+        new GridFieldInitializer(6, 6).prepare(f, new CellFactory());
+        assertSame(index, f.patternIndex());
+        assertEquals(0, index.runCount(x, 2, 2));
+        f.setLabel(4, 4, new NormalLabel(x));
+        assertEquals(4, index.runCount(x, 1, 2));
+    }
+
+    @Test
+    @DisplayName("Тест №8: серия длиннее L со скрытой меткой не попадает в известные счётчики")
+    void hiddenLabelInOverlineExcludedFromKnownCounts() {
+        GameField f = makeField(12, 12);
+        PatternIndex index = attach(f);
+        Player x = new Player(f, "X");
+        f.setLabel(1, 6, new HiddenLabel(x));
+        for (int i = 2; i <= 9; i++) {
+            f.setLabel(i, 6, new NormalLabel(x));
+        }
+
+        assertEquals(1, index.runCount(x, 6, 0));
+        assertEquals(1, index.count(x, LinePattern.LINE));
+        assertEquals(0, index.knownCount(x, LinePattern.LINE));
+
+        PatternIndex fresh = new PatternIndex(5);
+        fresh.rebuild(f);
+        assertEquals(0, fresh.knownCount(x, LinePattern.LINE));
+
+        f.label(1, 6).cell().removeLabel();
+        assertEquals(1, index.count(x, LinePattern.LINE));
+        assertEquals(1, index.knownCount(x, LinePattern.LINE));
+    }
+}
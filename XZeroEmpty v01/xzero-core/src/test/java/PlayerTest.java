@@ -9,6 +9,8 @@ import xzero.model.labels.Label;
 import xzero.model.labels.NormalLabel;
 
 import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -254,4 +256,63 @@ class PlayerTest {
         p.setActiveLabel(labelFor(f, p));
         assertThrows(IndexOutOfBoundsException.class, () -> p.setLabelTo(new Point(3, 3)));
     }
+
+    @Test
+    @DisplayName("Тест №18: в режиме повторного использования игрок передаёт слушателям одно событие")
+    void reusableEventsShareOneObject() {
+        GameField f = preparedField(3, 3);
+        Player p = new Player(f, "X");
+        p.setReusableEvents(true);
+        List<PlayerActionEvent> events = new ArrayList<>();
+        List<Label> labels = new ArrayList<>();
+        p.addPlayerActionListener(new PlayerActionListener() {
+            @Override
+            public void labelIsPlaced(PlayerActionEvent e) {
+                events.add(e);
+                labels.add(e.label());
+            }
+
+            @Override
+            public void labelIsReceived(PlayerActionEvent e) {
+                events.add(e);
+                labels.add(e.label());
+            }
+        });
+
+        Label first = labelFor(f, p);
+        p.setActiveLabel(first);
+        p.setLabelTo(new Point(1, 1));
+        Label second = labelFor(f, p);
+        p.setActiveLabel(second);
+
+        assertEquals(3, events.size());
+        assertSame(events.get(0), events.get(1));
+        assertSame(events.get(0), events.get(2));
+        assertEquals(List.of(first, first, second), labels);
+        assertNull(events.get(0).label());
+    }
+
+    @Test
+    @DisplayName("Тест №19: вложенное оповещение получает отдельное событие")
+    void nestedFiringGetsOwnEvent() {
+        GameField f = preparedField(3, 3);
+        Player p = new Player(f, "X");
+        p.setReusableEvents(true);
+        List<Label> seen = new ArrayList<>();
+        p.addPlayerActionListener(new PlayerActionListener() {
+            @Override
+            public void labelIsPlaced(PlayerActionEvent e) {
+                p.setActiveLabel(labelFor(f, p));
+                seen.add(e.label());
+            }
+
+            @Override
+            public void labelIsReceived(PlayerActionEvent e) {
+            }
+        });
+        Label placed = labelFor(f, p);
+        p.setActiveLabel(placed);
+        p.setLabelTo(new Point(2, 2));
+        assertSame(placed, seen.get(0));
+    }
 }
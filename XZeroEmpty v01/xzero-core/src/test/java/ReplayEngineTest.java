@@ -0,0 +1,154 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import xzero.model.BoardSnapshot;
+import xzero.model.GameModel;
+import xzero.model.MoveRecord;
+import xzero.model.Player;
+import xzero.model.Rules;
+import xzero.model.labels.LabelType;
+import xzero.model.record.GameRecord;
+import xzero.model.record.MoveLog;
+import xzero.model.record.ReplayEngine;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReplayEngine: воспроизведение партии с переходом к любому ходу")
+class ReplayEngineTest {
+
+    private static final Rules RULES = Rules.standard().withBoardSize(9, 9).withLineLength(9).withPassLimit(3);
+
+    /**
+     * Играет случайную партию и запоминает снимок поля после каждого хода
+     */
+    private static long[] randomGame(long seed, List<BoardSnapshot> boards) {
+        Random rnd = new Random(seed);
+        GameModel model = new GameModel(RULES);
+        model.start();
+        boards.add(BoardSnapshot.of(model.field(), model.players()));
+        while (!model.isFinished() && model.history().size() < 70) {
+            Player active = model.activePlayer();
+            if (model.passesLeftFor(active) > 0 && rnd.nextInt(10) == 0) {
+                model.passTurn();
+            } else {
+                model.setSecretModeEnabled(rnd.nextInt(5) == 0);
+                model.setActiveLabelType(LabelType.values()[rnd.nextInt(LabelType.values().length)]);
+                int x;
+                int y;
+                do {
+                    x = 1 + rnd.nextInt(9);
+                    y = 1 + rnd.nextInt(9);
+                } while (model.field().label(x, y) != null);
+                active.setLabelTo(x, y);
+            }
+            boards.add(BoardSnapshot.of(model.field(), model.players()));
+        }
+        long[] moves = new long[model.history().size()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = model.history().record(i);
+        }
+        return moves;
+    }
+
+    private static BoardSnapshot board(ReplayEngine replay) {
+        return BoardSnapshot.of(replay.model().field(), replay.model().players());
+    }
+
+    @Test
+    @DisplayName("Тест №1: переходы вперёд и назад дают те же позиции, что и исходная партия")
+    void seekMatchesOriginalGame() {
+        List<BoardSnapshot> boards = new ArrayList<>();
+        long[] moves = randomGame(3, boards);
+        ReplayEngine replay = new ReplayEngine(RULES, moves, 8);
+
+        Random rnd = new Random(5);
+        for (int i = 0; i < 200; i++) {
+            int target = rnd.nextInt(moves.length + 1);
+            replay.seek(target);
+            assertEquals(target, replay.position());
+            assertEquals(boards.get(target), board(replay), "после хода " + target);
+        }
+        replay.seek(moves.length);
+        assertEquals(-1, replay.validate());
+    }
+
+    @Test
+    @DisplayName("Тест №2: партия из журнала воспроизводится до того же итога")
+    void replayFromLog(@TempDir Path dir) throws IOException {
+        GameModel model = new GameModel();
+        model.start();
+        int[][] cells = { { 1, 1 }, { 1, 2 }, { 2, 1 }, { 2, 2 }, { 3, 1 }, { 3, 2 }, { 4, 1 }, { 4, 2 }, { 5, 1 } };
+        for (int[] cell : cells) {
+            model.activePlayer().setLabelTo(cell[0], cell[1]);
+        }
+        assertTrue(model.isFinished());
+
+        GameRecord record;
+        try (MoveLog log = MoveLog.open(dir.resolve("games.xzl"))) {
+            record = log.read(log.append(model));
+        }
+        ReplayEngine replay = new ReplayEngine(record);
+        replay.seek(replay.moveCount());
+        assertTrue(replay.model().isFinished());
+        assertEquals(record.winnerIndex(), replay.model().indexOf(replay.model().winner()));
+
+        replay.seek(4);
+        assertFalse(replay.model().isFinished());
+        assertEquals("X", replay.model().activePlayer().name());
+    }
+
+    @Test
+    @DisplayName("Тест №3: недопустимые ходы обнаруживаются, воспроизведение останавливается перед ними")
+    void illegalMovesDetected() {
+        long[] occupied = {
+                MoveRecord.placement(1, 1, LabelType.NORMAL, false, 0),
+                MoveRecord.placement(1, 1, LabelType.NORMAL, false, 1),
+        };
+        ReplayEngine replay = new ReplayEngine(RULES, occupied, 4);
+        assertEquals(1, replay.validate());
+        assertEquals(1, replay.position());
+        assertThrows(IllegalStateException.class, () -> replay.seek(2));
+
+        long[] wrongPlayer = { MoveRecord.placement(1, 1, LabelType.NORMAL, false, 1) };
+        assertEquals(0, new ReplayEngine(RULES, wrongPlayer, 4).validate());
+
+        long[] outside = { MoveRecord.placement(10, 1, LabelType.NORMAL, false, 0) };
+        assertEquals(0, new ReplayEngine(RULES, outside, 4).validate());
+
+        long[] passes = {
+                MoveRecord.pass(0), MoveRecord.pass(1),
+                MoveRecord.pass(0), MoveRecord.pass(1),
+                MoveRecord.pass(0), MoveRecord.pass(1),
+                MoveRecord.pass(0),
+        };
+        assertEquals(6, new ReplayEngine(RULES, passes, 4).validate());
+    }
+
+    @Test
+    @DisplayName("Тест №4: ход после завершения партии недопустим")
+    void moveAfterWinRejected() {
+        Rules rules = Rules.standard().withLineLength(2);
+        long[] moves = {
+                MoveRecord.placement(1, 1, LabelType.NORMAL, false, 0),
+                MoveRecord.placement(1, 2, LabelType.NORMAL, false, 1),
+                MoveRecord.placement(2, 1, LabelType.NORMAL, false, 0),
+                MoveRecord.placement(2, 2, LabelType.NORMAL, false, 1),
+        };
+        ReplayEngine replay = new ReplayEngine(rules, moves, 1);
+        assertEquals(3, replay.validate());
+        assertTrue(replay.model().isFinished());
+        replay.seek(1);
+        assertFalse(replay.model().isFinished());
+        replay.next();
+        replay.next();
+        assertTrue(replay.model().isFinished());
+        assertThrows(IllegalStateException.class, replay::next);
+        assertThrows(IllegalArgumentException.class, () -> replay.seek(5));
+    }
+}
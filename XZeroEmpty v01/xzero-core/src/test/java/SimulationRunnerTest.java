@@ -0,0 +1,66 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import xzero.model.BitboardGameField;
+import xzero.model.engine.GameEngine;
+import xzero.model.engine.Move;
+import xzero.model.setup.GridFieldInitializer;
+import xzero.model.simulation.RandomMoveSource;
+import xzero.model.simulation.SimulationRunner;
+import xzero.model.simulation.SimulationStats;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SimulationRunner: параллельный прогон независимых партий")
+class SimulationRunnerTest {
+
+    private SimulationRunner runner() {
+        return new SimulationRunner(
+                () -> new GameEngine(new BitboardGameField(), new GridFieldInitializer(7, 7)),
+                (game, player) -> new RandomMoveSource(game * 31 + player, 0.05));
+    }
+
+    @Test
+    @DisplayName("Тест №1: каждая партия заканчивается победой, ничьей или прерыванием")
+    void everyGameIsCounted() {
+        SimulationStats stats = runner().run(200, 4);
+        assertEquals(200, stats.games());
+        assertEquals(200, stats.winsOf(0) + stats.winsOf(1) + stats.draws() + stats.aborted());
+        assertEquals(0, stats.illegalMoves());
+        assertTrue(stats.moves() >= stats.passes());
+    }
+
+    @Test
+    @DisplayName("Тест №2: параллельный прогон совпадает с последовательным")
+    void parallelMatchesSequential() {
+        SimulationRunner runner = runner();
+        SimulationStats sequential = runner.runSequential(300);
+        assertEquals(sequential, runner.run(300, 8));
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            assertEquals(sequential, runner.run(300, executor, 17));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Тест №3: бот, делающий только недопустимые ходы, прерывает партию")
+    void illegalMovesAbortGame() {
+        SimulationRunner runner = new SimulationRunner(GameEngine::new, (game, player) -> e -> Move.place(0, 0));
+        SimulationStats stats = runner.runSequential(2);
+        assertEquals(2, stats.aborted());
+        assertTrue(stats.illegalMoves() > 0);
+    }
+
+    @Test
+    @DisplayName("Тест №4: некорректные параметры прогона отклоняются")
+    void invalidArgumentsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new SimulationRunner(null, null));
+        assertThrows(IllegalArgumentException.class, () -> runner().run(-1, 2));
+        assertThrows(IllegalArgumentException.class, () -> runner().run(10, 0));
+    }
+}
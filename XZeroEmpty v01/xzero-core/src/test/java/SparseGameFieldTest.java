@@ -0,0 +1,169 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import xzero.model.GameField;
+import xzero.model.GameModel;
+import xzero.model.Player;
+import xzero.model.SparseGameField;
+import xzero.model.ai.AlphaBetaMoveSource;
+import xzero.model.ai.MctsMoveSource;
+import xzero.model.engine.GameEngine;
+import xzero.model.engine.Move;
+import xzero.model.engine.MoveResult;
+import xzero.model.factory.CellFactory;
+import xzero.model.factory.LabelFactory;
+import xzero.model.labels.Label;
+import xzero.model.labels.NormalLabel;
+import xzero.model.navigation.Direction;
+import xzero.model.setup.SparseFieldInitializer;
+import xzero.model.simulation.RandomMoveSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SparseGameField: неограниченное поле с ленивыми блоками ячеек")
+class SparseGameFieldTest {
+
+    private SparseGameField field;
+    private Player player;
+
+    @BeforeEach
+    void setup() {
+        field = new SparseGameField();
+        player = new Player(field, "X");
+    }
+
+    @Test
+    @DisplayName("Тест №1: метки ставятся в далёкие позиции, в том числе с отрицательными координатами")
+    void placesAnywhere() {
+        field.setLabel(-10_000, 20_000, new NormalLabel(player));
+        field.setLabel(0, 0, new NormalLabel(player));
+
+        assertNotNull(field.label(-10_000, 20_000));
+        assertNotNull(field.label(0, 0));
+        assertNull(field.label(1, 0));
+        assertEquals(2, field.labels().size());
+        assertEquals(2, field.chunkCount());
+    }
+
+    @Test
+    @DisplayName("Тест №2: ячейки создаются только при установке меток")
+    void cellsCreatedLazily() {
+        assertNull(field.label(10, 10));
+        assertEquals(0, field.chunkCount());
+        assertTrue(field.labels().isEmpty());
+        assertFalse(field.isFilled());
+    }
+
+    @Test
+    @DisplayName("Тест №3: линия меток проходит через границу блоков")
+    void labelLineCrossesChunks() {
+        for (int x = -2; x <= 2; x++) {
+            field.setLabel(x, 63 + x, new NormalLabel(player));
+        }
+        List<Label> line = field.labelLine(-2, 61, Direction.byIndex(7));
+        assertEquals(5, line.size());
+        assertEquals(3, field.chunkCount());
+    }
+
+    @Test
+    @DisplayName("Тест №4: удаление метки освобождает ячейку, clearLabels снимает все метки")
+    void removeAndClearLabels() {
+        field.setLabel(64, 64, new NormalLabel(player));
+        field.setLabel(-64, -64, new NormalLabel(player));
+        field.label(64, 64).cell().removeLabel();
+        assertEquals(1, field.labelCount());
+        assertEquals(1, field.labels().size());
+
+        field.clearLabels();
+        assertEquals(0, field.labelCount());
+        assertTrue(field.labels().isEmpty());
+        assertDoesNotThrow(() -> field.setLabel(-64, -64, new NormalLabel(player)));
+    }
+
+    @Test
+    @DisplayName("Тест №5: координаты за пределами диапазона отклоняются, упакованные индексы покрывают весь диапазон")
+    void limitsEnforced() {
+        int limit = SparseGameField.COORDINATE_LIMIT;
+        assertTrue(field.containsRange(-limit, limit));
+        assertFalse(field.containsRange(limit + 1, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> field.setLabel(limit + 1, 0, new NormalLabel(player)));
+
+        assertEquals(0, field.index(-limit, -limit));
+        assertEquals(-limit, field.x(0));
+        assertEquals(-limit, field.y(0));
+        int last = field.index(limit, limit);
+        assertTrue(field.containsIndex(last));
+        assertFalse(field.containsIndex(last + 1));
+        assertFalse(field.containsIndex(-1));
+
+        int index = field.index(-3, 7);
+        assertEquals(-3, field.x(index));
+        assertEquals(7, field.y(index));
+        assertNull(field.label(index));
+        field.setLabel(index, new NormalLabel(player));
+        assertSame(field.label(-3, 7), field.label(index));
+        assertEquals(1, field.labelLine(index, Direction.byIndex(0)).size());
+        assertThrows(IndexOutOfBoundsException.class, () -> field.setLabel(-1, new NormalLabel(player)));
+    }
+
+    @Test
+    @DisplayName("Тест №6: партия на неограниченном поле определяет победу, поддерживает отмену и не заполняется")
+    void gameOnSparseField() {
+        GameModel model = new GameModel(field, new CellFactory(), new LabelFactory(), new SparseFieldInitializer());
+        GameEngine engine = new GameEngine(model);
+        engine.start();
+
+        for (int x = -1000; x < -996; x++) {
+            assertEquals(MoveResult.CONTINUE, engine.place(x, -500));
+            assertEquals(MoveResult.CONTINUE, engine.place(x, 500));
+        }
+        assertFalse(engine.isFieldFull());
+        assertEquals(MoveResult.WIN, engine.place(-996, -500));
+        assertEquals("X", engine.winner().name());
+
+        assertTrue(engine.undo());
+        assertNull(field.label(-996, -500));
+        assertFalse(engine.isFinished());
+
+        model.setFullScanWinCheck(true);
+        assertEquals(MoveResult.WIN, engine.redo());
+    }
+
+    @Test
+    @DisplayName("Тест №7: SparseFieldInitializer отклоняет ограниченное поле")
+    void initializerRejectsBoundedField() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SparseFieldInitializer().prepare(new GameField(), new CellFactory()));
+    }
+
+    @Test
+    @DisplayName("Тест №8: случайный бот и поиск ИИ выбирают ходы на неограниченном поле")
+    void moveSourcesPlayOnSparseField() {
+        GameEngine engine = new GameEngine(
+                new GameModel(field, new CellFactory(), new LabelFactory(), new SparseFieldInitializer()));
+        engine.start();
+
+        Move random = new RandomMoveSource(1, 0).nextMove(engine);
+        assertTrue(field.containsRange(random.x(), random.y()));
+
+        Move first = new AlphaBetaMoveSource(100, 2).nextMove(engine);
+        assertEquals(0, first.x());
+        assertEquals(0, first.y());
+
+        for (int x = -1000; x < -997; x++) {
+            engine.place(x, -500);
+            engine.place(x + 5, -490);
+        }
+        Move block = new AlphaBetaMoveSource(500, 4).nextMove(engine);
+        assertEquals(-500, block.y());
+        assertTrue(block.x() == -997 || block.x() == -1001);
+
+        try (MctsMoveSource mcts = new MctsMoveSource(2, 100)) {
+            mcts.setSeed(7);
+            Move move = mcts.nextMove(engine);
+            assertTrue(move.isPass() || field.containsRange(move.x(), move.y()) && field.label(move.x(), move.y()) == null);
+        }
+    }
+}
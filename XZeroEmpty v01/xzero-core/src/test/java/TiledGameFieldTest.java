@@ -0,0 +1,124 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import xzero.model.GameModel;
+import xzero.model.Player;
+import xzero.model.TiledGameField;
+import xzero.model.engine.GameEngine;
+import xzero.model.engine.MoveResult;
+import xzero.model.factory.CellFactory;
+import xzero.model.factory.LabelFactory;
+import xzero.model.labels.Label;
+import xzero.model.labels.NormalLabel;
+import xzero.model.navigation.Direction;
+import xzero.model.setup.GridFieldInitializer;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TiledGameField: хранение поля плитками с масками занятости")
+class TiledGameFieldTest {
+
+    private TiledGameField makeField(int w, int h) {
+        TiledGameField f = new TiledGameField();
+        new GridFieldInitializer(w, h).prepare(f, new CellFactory());
+        return f;
+    }
+
+    @Test
+    @DisplayName("Тест №1: метки читаются по координатам и по упакованному индексу")
+    void setAndReadLabel() {
+        TiledGameField f = makeField(20, 11);
+        Label l = new NormalLabel(new Player(f, "X"));
+        f.setLabel(17, 9, l);
+        assertSame(l, f.label(17, 9));
+        assertSame(l, f.label(f.index(17, 9)));
+        assertNull(f.label(16, 9));
+        assertNull(f.label(21, 9));
+        assertTrue(f.isFilled());
+        assertEquals(1, f.labelCount());
+    }
+
+    @Test
+    @DisplayName("Тест №2: перебор меток затрагивает только непустые плитки")
+    void labelsSkipEmptyTiles() {
+        TiledGameField f = makeField(1000, 1000);
+        Player p = new Player(f, "X");
+        f.setLabel(1, 1, new NormalLabel(p));
+        f.setLabel(8, 8, new NormalLabel(p));
+        f.setLabel(999, 1000, new NormalLabel(p));
+        assertEquals(3, f.labels().size());
+        assertEquals(2, f.occupiedTileCount());
+
+        f.label(999, 1000).cell().removeLabel();
+        assertEquals(1, f.occupiedTileCount());
+        assertEquals(2, p.labels().size());
+    }
+
+    @Test
+    @DisplayName("Тест №3: линия меток проходит через границы плиток и обрывается на чужой метке")
+    void labelLineAcrossTiles() {
+        TiledGameField f = makeField(30, 30);
+        Player x = new Player(f, "X");
+        Player o = new Player(f, "O");
+        for (int i = 6; i <= 10; i++) {
+            f.setLabel(i, i, new NormalLabel(x));
+        }
+        f.setLabel(11, 11, new NormalLabel(o));
+
+        List<Label> line = f.labelLine(6, 6, Direction.byIndex(7));
+        assertEquals(5, line.size());
+        assertSame(f.label(10, 10), line.get(4));
+        assertEquals(1, f.labelLine(11, 11, Direction.byIndex(7)).size());
+        assertTrue(f.labelLine(12, 12, Direction.byIndex(7)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Тест №4: изменение размеров сохраняет ячейки и метки в новых границах")
+    void resizeKeepsLabels() {
+        TiledGameField f = makeField(10, 10);
+        Player p = new Player(f, "X");
+        f.setLabel(3, 3, new NormalLabel(p));
+        f.setLabel(10, 10, new NormalLabel(p));
+
+        f.setSize(20, 5);
+        assertNotNull(f.label(3, 3));
+        assertNull(f.label(10, 10));
+        assertEquals(1, f.labelCount());
+        assertFalse(f.isFilled());
+    }
+
+    @Test
+    @DisplayName("Тест №5: повторная подготовка поля снимает метки, не пересоздавая ячейки")
+    void clearLabelsOnReuse() {
+        TiledGameField f = new TiledGameField();
+        GridFieldInitializer init = new GridFieldInitializer(40, 40, true);
+        init.prepare(f, new CellFactory());
+        Player p = new Player(f, "X");
+        f.setLabel(33, 2, new NormalLabel(p));
+        f.setLabel(2, 33, new NormalLabel(p));
+
+        init.prepare(f, new CellFactory());
+        assertEquals(0, f.labelCount());
+        assertTrue(f.labels().isEmpty());
+        assertEquals(0, f.occupiedTileCount());
+        assertDoesNotThrow(() -> f.setLabel(33, 2, new NormalLabel(p)));
+    }
+
+    @Test
+    @DisplayName("Тест №6: партия на поле из плиток определяет победу при полной проверке поля")
+    void gameOnTiledField() {
+        TiledGameField f = new TiledGameField();
+        GameModel model = new GameModel(f, new CellFactory(), new LabelFactory(), new GridFieldInitializer(12, 12));
+        model.setFullScanWinCheck(true);
+        GameEngine engine = new GameEngine(model);
+        engine.start();
+
+        for (int x = 5; x < 9; x++) {
+            assertEquals(MoveResult.CONTINUE, engine.place(x, 7));
+            assertEquals(MoveResult.CONTINUE, engine.place(x, 1));
+        }
+        assertEquals(MoveResult.WIN, engine.place(9, 7));
+        assertEquals("X", engine.winner().name());
+    }
+}
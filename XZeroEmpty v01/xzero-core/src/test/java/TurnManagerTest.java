@@ -148,4 +148,62 @@ class TurnManagerTest {
         manager.advanceToNextPlayer();
         assertEquals(LabelType.NORMAL, manager.activeLabelType());
     }
+
+    @Test
+    @DisplayName("Тест №15: setActiveIndex делает активным игрока с указанным номером")
+    void setActiveIndexSelectsPlayer() {
+        TurnManager manager = new TurnManager(players(), 1);
+        manager.setActiveIndex(0);
+        assertEquals("A", manager.activePlayer().name());
+        assertEquals(0, manager.activeIndex());
+        assertThrows(IllegalArgumentException.class, () -> manager.setActiveIndex(2));
+    }
+
+    @Test
+    @DisplayName("Тест №16: returnPassOfActive возвращает израсходованный пас, но не сверх лимита")
+    void returnPassRestoresLimit() {
+        TurnManager manager = new TurnManager(players(), 1);
+        manager.consumePassOfActive();
+        manager.returnPassOfActive();
+        assertEquals(1, manager.passesLeftFor(manager.activePlayer()));
+        assertThrows(IllegalStateException.class, manager::returnPassOfActive);
+    }
+
+    @Test
+    @DisplayName("Тест №17: ход переходит по кругу между несколькими игроками")
+    void rotationOverManyPlayers() {
+        GameField field = new GameField();
+        List<Player> players = new ArrayList<>();
+        for (String name : new String[] { "A", "B", "C", "D" }) {
+            players.add(new Player(field, name));
+        }
+        TurnManager manager = new TurnManager(players, 1);
+        manager.resetForNewGame();
+
+        StringBuilder order = new StringBuilder();
+        for (int i = 0; i < 6; i++) {
+            order.append(manager.activePlayer().name());
+            manager.advanceToNextPlayer();
+        }
+        assertEquals("ABCDAB", order.toString());
+        assertEquals(4, manager.playerCount());
+        assertSame(players.get(2), manager.playerAt(2));
+    }
+
+    @Test
+    @DisplayName("Тест №18: состояние игрока без номера находится просмотром списка")
+    void stateLookupWithoutIds() {
+        List<Player> players = players();
+        TurnManager manager = new TurnManager(players, 2);
+        manager.resetForNewGame();
+        manager.advanceToNextPlayer();
+        manager.consumePassOfActive();
+        manager.setActiveLabelType(LabelType.HIDDEN);
+
+        assertEquals(-1, players.get(1).id());
+        assertEquals(1, manager.passesLeftFor(players.get(1)));
+        assertEquals(LabelType.HIDDEN, manager.labelTypeFor(players.get(1)));
+        assertEquals(2, manager.passesLeftFor(players.get(0)));
+        assertNull(manager.labelTypeFor(new Player(new GameField(), "C")));
+    }
 }
@@ -0,0 +1,190 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import xzero.model.GameField;
+import xzero.model.GameModel;
+import xzero.model.Player;
+import xzero.model.events.GameEvent;
+import xzero.model.events.GameListener;
+import xzero.model.factory.CellFactory;
+import xzero.model.labels.Label;
+import xzero.model.labels.NormalLabel;
+import xzero.model.setup.GridFieldInitializer;
+import xzero.model.win.FullScanWinDetector;
+import xzero.model.win.IncrementalWinDetector;
+import xzero.model.win.PatternWinDetector;
+import xzero.model.win.WinCheck;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("WinDetector: проверка осей последнего хода и полный просмотр поля")
+class WinDetectorTest {
+
+    private GameField makeField(int w, int h) {
+        GameField f = new GameField();
+        new GridFieldInitializer(w, h).prepare(f, new CellFactory());
+        return f;
+    }
+
+    @Test
+    @DisplayName("Тест №1: длина линии должна быть положительной")
+    void constructorRejectsNonPositiveLength() {
+        assertThrows(IllegalArgumentException.class, () -> new IncrementalWinDetector(0));
+        assertThrows(IllegalArgumentException.class, () -> new FullScanWinDetector(-1));
+    }
+
+    @Test
+    @DisplayName("Тест №2: линия находится, если последний ход лёг в её середину")
+    void lineDetectedThroughMiddle() {
+        GameField f = makeField(7, 7);
+        Player p = new Player(f, "X");
+        for (int i : new int[] { 1, 2, 4, 5 }) {
+            f.setLabel(new Point(i, 7 - i), new NormalLabel(p));
+        }
+        Label last = new NormalLabel(p);
+        f.setLabel(new Point(3, 4), last);
+
+        assertSame(p, new IncrementalWinDetector(5).winnerAfter(f, last.cell()));
+        assertSame(p, new FullScanWinDetector(5).winnerAfter(f, last.cell()));
+    }
+
+    @Test
+    @DisplayName("Тест №3: без информации о ходе стратегия по осям победителя не находит")
+    void unknownCellGivesNoWinner() {
+        GameField f = makeField(3, 3);
+        assertNull(new IncrementalWinDetector(3).winnerAfter(f, null));
+    }
+
+    @Test
+    @DisplayName("Тест №4: обе стратегии дают одинаковый результат на случайных партиях")
+    void strategiesAgreeOnRandomGames() {
+        IncrementalWinDetector incremental = new IncrementalWinDetector(5);
+        FullScanWinDetector fullScan = new FullScanWinDetector(5);
+        Random random = new Random(42);
+
+        for (int game = 0; game < 50; game++) {
+            GameField f = makeField(9, 9);
+            Player[] players = { new Player(f, "X"), new Player(f, "O") };
+            List<Point> free = new ArrayList<>();
+            for (int y = 1; y <= 9; y++) {
+                for (int x = 1; x <= 9; x++) {
+                    free.add(new Point(x, y));
+                }
+            }
+            Collections.shuffle(free, random);
+
+            for (int move = 0; move < free.size(); move++) {
+                Label l = new NormalLabel(players[move % 2]);
+                f.setLabel(free.get(move), l);
+
+                Player expected = fullScan.winnerAfter(f, l.cell());
+                assertSame(expected, incremental.winnerAfter(f, l.cell()));
+                if (expected != null) {
+                    break;
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Тест №5: модель определяет победителя и в режиме полного просмотра")
+    void modelFullScanSwitch() {
+        GameModel model = new GameModel();
+        model.setFullScanWinCheck(true);
+        AtomicReference<Player> winnerRef = new AtomicReference<>();
+        model.addGameListener(new GameListener() {
+            public void gameFinished(GameEvent event) { winnerRef.set(event.player()); }
+            public void playerExchanged(GameEvent event) {}
+        });
+        model.start();
+
+        for (int x = 1; x <= 5; x++) {
+            model.activePlayer().setLabelTo(new Point(x, 3));
+            if (x < 5) {
+                model.activePlayer().setLabelTo(new Point(x, 4));
+            }
+        }
+        assertEquals("X", winnerRef.get().name());
+    }
+
+    @Test
+    @DisplayName("Тест №6: в варианте с точной длиной линия длиннее выигрышной победы не приносит")
+    void exactLengthRejectsOverline() {
+        GameField f = makeField(9, 3);
+        Player p = new Player(f, "X");
+        for (int x : new int[] { 1, 2, 4, 5, 6 }) {
+            f.setLabel(new Point(x, 2), new NormalLabel(p));
+        }
+        Label last = new NormalLabel(p);
+        f.setLabel(new Point(3, 2), last);
+
+        assertNull(new IncrementalWinDetector(5, false).winnerAfter(f, last.cell()));
+        assertNull(new FullScanWinDetector(5, false).winnerAfter(f, last.cell()));
+        PatternWinDetector pattern = new PatternWinDetector(5, false);
+        pattern.attach(f);
+        assertNull(pattern.winnerAfter(f, last.cell()));
+        assertSame(p, new IncrementalWinDetector(5).winnerAfter(f, last.cell()));
+        assertSame(p, new FullScanWinDetector(6, false).winnerAfter(f, last.cell()));
+    }
+
+    @Test
+    @DisplayName("Тест №7: стратегии с точной длиной согласованы на случайных партиях")
+    void exactStrategiesAgreeOnRandomGames() {
+        Random random = new Random(5);
+        for (int game = 0; game < 40; game++) {
+            GameField f = makeField(7, 7);
+            IncrementalWinDetector incremental = new IncrementalWinDetector(4, false);
+            FullScanWinDetector fullScan = new FullScanWinDetector(4, false);
+            PatternWinDetector pattern = new PatternWinDetector(4, false);
+            pattern.attach(f);
+            Player[] players = { new Player(f, "X"), new Player(f, "O") };
+            List<Point> free = new ArrayList<>();
+            for (int y = 1; y <= 7; y++) {
+                for (int x = 1; x <= 7; x++) {
+                    free.add(new Point(x, y));
+                }
+            }
+            Collections.shuffle(free, random);
+
+            for (int move = 0; move < free.size(); move++) {
+                Label l = new NormalLabel(players[move % 2]);
+                f.setLabel(free.get(move), l);
+
+                Player expected = incremental.winnerAfter(f, l.cell());
+                assertSame(expected, pattern.winnerAfter(f, l.cell()));
+                if (expected != null) {
+                    assertSame(expected, fullScan.winnerAfter(f, l.cell()));
+                    break;
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Тест №8: модель проверяет победу по индексу шаблонов, подключённому заранее")
+    void modelPatternCheck() {
+        GameModel model = new GameModel();
+        model.setWinCheck(WinCheck.PATTERN);
+        assertNotNull(model.field().patternIndex());
+        model.start();
+
+        for (int x = 1; x <= 4; x++) {
+            model.activePlayer().setLabelTo(new Point(x, 3));
+            model.activePlayer().setLabelTo(new Point(x, 4));
+        }
+        assertNull(model.winner());
+        model.activePlayer().setLabelTo(new Point(5, 3));
+        assertEquals("X", model.winner().name());
+
+        GameField f = makeField(5, 5);
+        PatternWinDetector detached = new PatternWinDetector(5);
+        assertThrows(IllegalStateException.class, () -> detached.winnerAfter(f, null));
+        assertNull(f.patternIndex());
+    }
+}
@@ -0,0 +1,50 @@
+package xzero.view;
+
+import java.util.function.Consumer;
+import javax.swing.JCheckBoxMenuItem;
+import javax.swing.JMenu;
+import javax.swing.JMenuBar;
+import javax.swing.JMenuItem;
+
+/**
+ * Меню управления игровым процессом с основными действиями
+ */
+public class GameMenu extends JMenuBar {
+
+    private final JMenuItem newItem = new JMenuItem("New");
+
+    /**
+     * Создаёт меню игры с действиями запуска новой игры, выбора компьютерного соперника
+     * и выхода из приложения
+     *
+     * @param onNewGame обработчик запуска новой игры
+     * @param onComputerOpponentChange обработчик включения компьютерного соперника
+     */
+    public GameMenu(Runnable onNewGame, Consumer<Boolean> onComputerOpponentChange) {
+        JMenu fileMenu = new JMenu("Игра");
+
+        newItem.addActionListener(e -> onNewGame.run());
+        fileMenu.add(newItem);
+
+        JCheckBoxMenuItem computerItem = new JCheckBoxMenuItem("Computer plays O");
+        computerItem.addActionListener(e -> onComputerOpponentChange.accept(computerItem.isSelected()));
+        fileMenu.add(computerItem);
+
+        fileMenu.addSeparator();
+
+        JMenuItem exitItem = new JMenuItem("Exit");
+        exitItem.addActionListener(e -> System.exit(0));
+        fileMenu.add(exitItem);
+
+        add(fileMenu);
+    }
+
+    /**
+     * Разрешает или запрещает запуск новой игры
+     *
+     * @param enabled true — новую игру можно начать
+     */
+    public void setNewGameEnabled(boolean enabled) {
+        newItem.setEnabled(enabled);
+    }
+}
@@ -1,12 +1,19 @@
 package xzero.view;
 
 import java.awt.Point;
+import java.util.concurrent.ExecutionException;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 import javax.swing.Box;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 
 import xzero.model.GameModel;
 import xzero.model.Player;
+import xzero.model.ai.AlphaBetaMoveSource;
+import xzero.model.engine.GameEngine;
+import xzero.model.engine.Move;
+import xzero.model.engine.MoveSource;
 import xzero.model.events.GameEvent;
 import xzero.model.events.GameListener;
 import xzero.model.events.PlayerActionEvent;
@@ -19,9 +26,17 @@ import xzero.model.labels.LabelType;
  */
 public class GamePanel extends JFrame {
 
+    private static final long COMPUTER_MOVE_MILLIS = 500;
+    private static final int COMPUTER_SEARCH_DEPTH = 8;
+
     private final GameModel model = new GameModel();
+    private final GameEngine engine = new GameEngine(model);
     private final FieldPanel fieldPanel = new FieldPanel(model, this::handleCellClick);
     private final InfoPanel infoPanel = new InfoPanel(this::handleLabelTypeChange, this::handlePassRequest, this::handleSecretModeChange);
+    private final GameMenu gameMenu = new GameMenu(this::startNewGame, this::handleComputerOpponentChange);
+
+    // Поиск хода компьютера, выполняемый в фоновом потоке; null, если компьютер не думает
+    private SwingWorker<Move, Void> computerTurn;
 
     /**
      * Создаёт главное окно игры, инициализируя интерфейс и подписки на события модели
@@ -32,7 +47,7 @@ public class GamePanel extends JFrame {
         model.addGameListener(new GameObserver());
         model.addPlayerActionListener(new PlayerObserver());
 
-        setJMenuBar(new GameMenu(this::startNewGame));
+        setJMenuBar(gameMenu);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 
         Box mainBox = Box.createVerticalBox();
@@ -60,12 +75,15 @@ public class GamePanel extends JFrame {
     }
 
     /**
-     * Обрабатывает клик по ячейке и передаёт действие активному игроку
+     * Обрабатывает клик по ячейке и передаёт действие активному игроку; клики, пришедшие
+     * во время хода компьютера, игнорируются
      *
      * @param position позиция ячейки, по которой был выполнен клик
      */
     private void handleCellClick(Point position) {
-        model.activePlayer().setLabelTo(position);
+        if (isHumanTurn()) {
+            model.activePlayer().setLabelTo(position);
+        }
     }
 
     /**
@@ -90,7 +108,89 @@ public class GamePanel extends JFrame {
      * Обрабатывает запрос на передачу хода и передаёт его в модель
      */
     private void handlePassRequest() {
-        model.passTurn();
+        if (isHumanTurn()) {
+            model.passTurn();
+        }
+    }
+
+    /**
+     * Передаёт управление вторым игроком компьютеру или возвращает его человеку
+     *
+     * @param enabled true — вторым игроком управляет компьютер
+     */
+    private void handleComputerOpponentChange(boolean enabled) {
+        Player computer = model.players().get(1);
+        computer.setMoveSource(enabled ? new AlphaBetaMoveSource(COMPUTER_MOVE_MILLIS, COMPUTER_SEARCH_DEPTH) : null);
+        scheduleComputerTurn();
+    }
+
+    /**
+     * Планирует ход компьютера, если сейчас ходит игрок, управляемый компьютером. Ход ищется
+     * в фоновом потоке, а выполняется в потоке обработки событий; пока компьютер думает,
+     * поле, панель и запуск новой игры недоступны, поэтому модель не меняется
+     */
+    private void scheduleComputerTurn() {
+        SwingUtilities.invokeLater(() -> {
+            if (computerTurn != null || model.isFinished() || model.activePlayer().activeLabel() == null) {
+                return;
+            }
+            Player player = model.activePlayer();
+            MoveSource source = player.moveSource();
+            if (source == null) {
+                return;
+            }
+
+            setInteractionEnabled(false);
+            gameMenu.setNewGameEnabled(false);
+            computerTurn = new SwingWorker<Move, Void>() {
+                @Override
+                protected Move doInBackground() {
+                    return source.nextMove(engine);
+                }
+
+                @Override
+                protected void done() {
+                    computerTurn = null;
+                    gameMenu.setNewGameEnabled(true);
+                    Move move = computerMove(this);
+                    if (!model.isFinished() && model.activePlayer() == player && player.moveSource() == source) {
+                        engine.apply(move);
+                    } else {
+                        setInteractionEnabled(isHumanTurn());
+                        scheduleComputerTurn();
+                    }
+                }
+            };
+            computerTurn.execute();
+        });
+    }
+
+    /**
+     * Возвращает ход, найденный компьютером
+     *
+     * @param worker завершённый поиск хода
+     * @return найденный ход
+     *
+     * @throws IllegalStateException если поиск хода завершился ошибкой
+     */
+    private static Move computerMove(SwingWorker<Move, Void> worker) {
+        try {
+            return worker.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ошибка при поиске хода компьютера", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Поиск хода компьютера прерван", e);
+        }
+    }
+
+    /**
+     * Признак хода человека: компьютер не думает, а активным игроком не управляет стратегия
+     *
+     * @return true, если действия пользователя относятся к его собственному ходу
+     */
+    private boolean isHumanTurn() {
+        return computerTurn == null && !model.isFinished() && model.activePlayer().moveSource() == null;
     }
 
     /**
@@ -128,7 +228,7 @@ public class GamePanel extends JFrame {
         public void labelIsReceived(PlayerActionEvent event) {
             drawLabelOnInfoPanel(event.label());
             drawPassesOnInfoPanel(event.player());
-            setInteractionEnabled(true);
+            setInteractionEnabled(isHumanTurn());
         }
     }
 
@@ -162,6 +262,7 @@ public class GamePanel extends JFrame {
             infoPanel.setSecretMode(model.secretModeEnabled());
             drawPlayerOnInfoPanel(event.player());
             drawPassesOnInfoPanel(event.player());
+            scheduleComputerTurn();
         }
     }
 